@@ -1,6 +1,7 @@
 package fi.vm.yti.codelist.api.api;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.MultivaluedMap;
 
 import org.springframework.stereotype.Component;
 
@@ -11,6 +12,9 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class ApiUtils {
 
+    private static final String QUERY_PARAMETER_CURSOR = "cursor";
+    private static final String QUERY_PARAMETER_FROM = "from";
+
     private final PublicApiServiceProperties publicApiServiceProperties;
     private final FrontendProperties frontendProperties;
 
@@ -53,6 +57,58 @@ public class ApiUtils {
         return builder.toString();
     }
 
+    public String createNextCursorPageUrl(final String apiVersion,
+                                         final String apiPath,
+                                         final MultivaluedMap<String, String> encodedQueryParameters,
+                                         final String cursor) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(createBaseUrl());
+        builder.append(publicApiServiceProperties.getContextPath());
+        builder.append(API_BASE_PATH);
+        builder.append("/");
+        builder.append(apiVersion);
+        builder.append(apiPath);
+        builder.append("/");
+        builder.append("?");
+        encodedQueryParameters.forEach((name, values) -> {
+            if (!QUERY_PARAMETER_CURSOR.equals(name) && !QUERY_PARAMETER_FROM.equals(name)) {
+                values.forEach(value -> {
+                    builder.append(name);
+                    builder.append("=");
+                    builder.append(value != null ? value : "");
+                    builder.append("&");
+                });
+            }
+        });
+        builder.append(QUERY_PARAMETER_CURSOR);
+        builder.append("=");
+        builder.append(cursor);
+
+        return builder.toString();
+    }
+
+    public String createChangesPageUrl(final String apiVersion,
+                                       final String apiPath,
+                                       final Integer pageSize,
+                                       final String watermark) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(createBaseUrl());
+        builder.append(publicApiServiceProperties.getContextPath());
+        builder.append(API_BASE_PATH);
+        builder.append("/");
+        builder.append(apiVersion);
+        builder.append(apiPath);
+        builder.append("/");
+        builder.append("?watermark=");
+        builder.append(watermark);
+        if (pageSize != null) {
+            builder.append("&pageSize=");
+            builder.append(pageSize);
+        }
+
+        return builder.toString();
+    }
+
     public String createCodeRegistryUrl(final String codeRegistryCodeValue) {
         return createResourceUrl(API_PATH_CODEREGISTRIES, codeRegistryCodeValue);
     }
@@ -0,0 +1,22 @@
+package fi.vm.yti.codelist.api.api;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@XmlRootElement
+@Schema(name = "ChangesResponseWrapper", description = "Response wrapper for the integration change feed with a resumable watermark.")
+@XmlType(propOrder = { "meta", "watermark", "results" })
+public class ChangesResponseWrapper<T> extends ResponseWrapper<T> {
+
+    private String watermark;
+
+    public String getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(final String watermark) {
+        this.watermark = watermark;
+    }
+}
@@ -9,6 +9,7 @@ import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.filter.EncodingFilter;
 import org.springframework.stereotype.Component;
 
+import fi.vm.yti.codelist.api.exception.exceptionmapping.RejectedExecutionExceptionMapper;
 import fi.vm.yti.codelist.api.exception.exceptionmapping.UncaughtExceptionMapper;
 import fi.vm.yti.codelist.api.exception.exceptionmapping.YtiCodeListExceptionMapper;
 import fi.vm.yti.codelist.api.filter.CacheFilter;
@@ -66,6 +67,7 @@ public class JerseyConfig extends ResourceConfig {
 
         // ExceptionMappers
         register(YtiCodeListExceptionMapper.class);
+        register(RejectedExecutionExceptionMapper.class);
         register(UncaughtExceptionMapper.class);
 
         // Gzip
@@ -1,7 +1,14 @@
 package fi.vm.yti.codelist.api.configuration;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 import org.apache.catalina.connector.Connector;
 import org.apache.http.HttpHost;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
@@ -10,15 +17,35 @@ import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactor
 import org.springframework.boot.web.server.ErrorPage;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
 
+import fi.vm.yti.codelist.api.domain.AsyncDomain;
+import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.DomainImpl;
+import fi.vm.yti.codelist.api.domain.DomainMetrics;
+import fi.vm.yti.codelist.api.domain.ReplicaDomain;
+import fi.vm.yti.codelist.api.domain.RequestCoalescer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
+@EnableScheduling
 @PropertySource(value = "classpath", ignoreResourceNotFound = true)
 public class SpringAppConfig {
 
-    private static final int ES_CONNECTION_TIMEOUT = 300000;
+    public static final String DOMAIN_EXECUTOR = "domainExecutor";
+    public static final String EXPORT_EXECUTOR = "exportExecutor";
+    private static final String METRIC_ES_POOL_LEASED = "yti.codelist.elasticsearch.pool.leased";
+    private static final String METRIC_ES_POOL_PENDING = "yti.codelist.elasticsearch.pool.pending";
+    private static final String METRIC_ES_POOL_AVAILABLE = "yti.codelist.elasticsearch.pool.available";
+    private static final String METRIC_ES_POOL_MAX = "yti.codelist.elasticsearch.pool.max";
 
     @Value("${yti_codelist_public_api_service_elastic_host}")
     protected String elasticsearchHost;
@@ -56,13 +83,106 @@ public class SpringAppConfig {
 
     @Bean
     @SuppressWarnings("resource")
-    protected RestHighLevelClient elasticSearchRestHighLevelClient() {
+    protected RestHighLevelClient elasticSearchRestHighLevelClient(final ElasticsearchClientProperties clientProperties,
+                                                                   final MeterRegistry meterRegistry) throws IOReactorException {
+        final IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+            .setIoThreadCount(clientProperties.getIoThreadCount())
+            .setSoKeepAlive(true)
+            .build();
+        final PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+        connectionManager.setMaxTotal(clientProperties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(clientProperties.getMaxConnectionsPerRoute());
+        registerConnectionPoolMetrics(connectionManager, meterRegistry);
         final RestClientBuilder builder = RestClient.builder(
             new HttpHost(elasticsearchHost, elasticsearchPort, "http"))
             .setRequestConfigCallback(
                 requestConfigBuilder -> requestConfigBuilder
-                    .setConnectTimeout(ES_CONNECTION_TIMEOUT)
-                    .setSocketTimeout(ES_CONNECTION_TIMEOUT));
+                    .setConnectTimeout(clientProperties.getConnectTimeoutMillis())
+                    .setSocketTimeout(clientProperties.getSocketTimeoutMillis())
+                    .setConnectionRequestTimeout(clientProperties.getConnectionRequestTimeoutMillis()))
+            .setHttpClientConfigCallback(
+                httpClientBuilder -> httpClientBuilder
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy((response, context) -> {
+                        final long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                        return serverKeepAlive > 0 ? Math.min(serverKeepAlive, clientProperties.getKeepAliveMillis()) : clientProperties.getKeepAliveMillis();
+                    }));
         return new RestHighLevelClient(builder);
     }
+
+    private void registerConnectionPoolMetrics(final PoolingNHttpClientConnectionManager connectionManager,
+                                               final MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_ES_POOL_LEASED, connectionManager, manager -> manager.getTotalStats().getLeased()).register(meterRegistry);
+        Gauge.builder(METRIC_ES_POOL_PENDING, connectionManager, manager -> manager.getTotalStats().getPending()).register(meterRegistry);
+        Gauge.builder(METRIC_ES_POOL_AVAILABLE, connectionManager, manager -> manager.getTotalStats().getAvailable()).register(meterRegistry);
+        Gauge.builder(METRIC_ES_POOL_MAX, connectionManager, manager -> manager.getTotalStats().getMax()).register(meterRegistry);
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${application.scheduling.poolSize:4}") final int poolSize) {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
+    @Bean(name = DOMAIN_EXECUTOR)
+    public ThreadPoolTaskExecutor domainExecutor(@Value("${application.async.poolSize:16}") final int poolSize,
+                                                 @Value("${application.async.queueCapacity:1000}") final int queueCapacity) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("domain-");
+        return executor;
+    }
+
+    @Bean(name = EXPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor exportExecutor(@Value("${application.export.poolSize:8}") final int poolSize,
+                                                 @Value("${application.export.queueCapacity:100}") final int queueCapacity) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+
+    @Bean
+    @Primary
+    @Profile("!" + ReplicaDomain.PROFILE_REPLICA)
+    public Domain domain(final DomainImpl domainImpl,
+                         final DomainMetrics domainMetrics,
+                         final RequestCoalescer requestCoalescer) {
+        return domainMetrics.instrument(Domain.class, requestCoalescer.coalesce(Domain.class, domainImpl));
+    }
+
+    @Bean
+    @Primary
+    @Profile(ReplicaDomain.PROFILE_REPLICA)
+    public Domain replicatedDomain(final ReplicaDomain replicaDomain,
+                                   final DomainMetrics domainMetrics,
+                                   final RequestCoalescer requestCoalescer) {
+        return domainMetrics.instrument(Domain.class, requestCoalescer.coalesce(Domain.class, replicaDomain));
+    }
+
+    @Bean
+    @Primary
+    @Profile("!" + ReplicaDomain.PROFILE_REPLICA)
+    public AsyncDomain asyncDomain(final DomainImpl domainImpl,
+                                   final DomainMetrics domainMetrics,
+                                   final RequestCoalescer requestCoalescer) {
+        return domainMetrics.instrument(AsyncDomain.class, requestCoalescer.coalesce(AsyncDomain.class, domainImpl));
+    }
+
+    @Bean
+    @Primary
+    @Profile(ReplicaDomain.PROFILE_REPLICA)
+    public AsyncDomain replicatedAsyncDomain(final ReplicaDomain replicaDomain,
+                                             final DomainMetrics domainMetrics,
+                                             final RequestCoalescer requestCoalescer) {
+        return domainMetrics.instrument(AsyncDomain.class, requestCoalescer.coalesce(AsyncDomain.class, replicaDomain));
+    }
 }
@@ -0,0 +1,60 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+import fi.vm.yti.codelist.api.dto.ResourceDTO;
+import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.Meta;
+
+public interface AsyncDomain {
+
+    CompletionStage<Set<CodeRegistryDTO>> getCodeRegistriesAsync(final String codeRegistryCodeValue,
+                                                                 final String codeRegistryPrefLabel,
+                                                                 final Meta meta,
+                                                                 final List<String> organizations);
+
+    CompletionStage<Set<CodeSchemeDTO>> getCodeSchemesAsync(final String sortMode,
+                                                            final List<String> organizationIds,
+                                                            final List<String> userOrganizationIds,
+                                                            final boolean includeIncomplete,
+                                                            final String codeRegistryCodeValue,
+                                                            final String codeRegistryPrefLabel,
+                                                            final String codeSchemeCodeValue,
+                                                            final String codeSchemeCodePrefLabel,
+                                                            final String language,
+                                                            final String searchTerm,
+                                                            final boolean searchCodes,
+                                                            final boolean searchExtensions,
+                                                            final List<String> statuses,
+                                                            final List<String> infoDomains,
+                                                            final String extensionPropertyType,
+                                                            final Meta meta);
+
+    CompletionStage<CursorPage<ResourceDTO>> getContainersAsync(final List<String> includedContainerUris,
+                                                                final List<String> excludedContainerUris,
+                                                                final String language,
+                                                                final List<String> statuses,
+                                                                final String searchTerm,
+                                                                final List<String> includeIncompleteFrom,
+                                                                final boolean includeIncomplete,
+                                                                final String cursor,
+                                                                final Meta meta);
+
+    CompletionStage<CursorPage<ResourceDTO>> getResourcesAsync(final List<String> containerUris,
+                                                               final List<String> includedResourceUris,
+                                                               final List<String> excludedResourceUris,
+                                                               final String language,
+                                                               final List<String> statuses,
+                                                               final String searchTerm,
+                                                               final String type,
+                                                               final List<String> includeIncompleteFrom,
+                                                               final boolean includeIncomplete,
+                                                               final String cursor,
+                                                               final Meta meta);
+
+    CompletionStage<CursorPage<ResourceDTO>> getChangesAsync(final String watermark,
+                                                             final Meta meta);
+}
@@ -0,0 +1,23 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Set;
+
+public class CursorPage<T> {
+
+    private final Set<T> results;
+    private final String nextCursor;
+
+    public CursorPage(final Set<T> results,
+                      final String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public Set<T> getResults() {
+        return results;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import org.elasticsearch.action.search.SearchRequest;
@@ -29,7 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
@@ -47,15 +48,15 @@ class DeepCodeQueryFactory {
 
     private static final FetchSourceContext sourceIncludes = new FetchSourceContext(true, new String[]{ "id", "uri", "status", "codeValue", "prefLabel", "codeScheme.id" }, new String[]{});
     private static final Script topHitScript = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, "_score", Collections.emptyMap());
-    private final Domain domain;
-    private final ObjectMapper objectMapper;
+    private final Function<Set<String>, Map<String, CodeSchemeDTO>> codeSchemeResolver;
+    private final ObjectReader objectReader;
     private final LuceneQueryFactory luceneQueryFactory;
 
-    DeepCodeQueryFactory(final ObjectMapper objectMapper,
-                         final Domain domain,
+    DeepCodeQueryFactory(final ObjectReader objectReader,
+                         final Function<Set<String>, Map<String, CodeSchemeDTO>> codeSchemeResolver,
                          final LuceneQueryFactory luceneQueryFactory) {
-        this.objectMapper = objectMapper;
-        this.domain = domain;
+        this.objectReader = objectReader;
+        this.codeSchemeResolver = codeSchemeResolver;
         this.luceneQueryFactory = luceneQueryFactory;
     }
 
@@ -89,17 +90,23 @@ class DeepCodeQueryFactory {
         final Map<String, List<DeepSearchHitListDTO<?>>> ret = new HashMap<>();
         try {
             final Terms groupBy = response.getAggregations().get("group_by_codescheme");
+            final Map<String, CodeSchemeDTO> codeSchemes = resolveCodeSchemes(groupBy);
             for (final Terms.Bucket bucket : groupBy.getBuckets()) {
                 final TopHits hitsAggr = bucket.getAggregations().get("top_code_hits");
                 final SearchHits hits = hitsAggr.getHits();
                 long total = hits.getTotalHits();
                 if (total > 0) {
                     final String codeSchemeUuid = bucket.getKeyAsString();
+                    final CodeSchemeDTO codeScheme = codeSchemes.get(codeSchemeUuid.toLowerCase());
+                    if (codeScheme == null) {
+                        LOG.warn("CodeScheme not found for deep search hits: " + codeSchemeUuid);
+                        continue;
+                    }
                     final List<CodeDTO> topHits = new ArrayList<>();
                     final DeepSearchCodeHitListDTO hitList = new DeepSearchCodeHitListDTO(total, topHits);
 
                     for (final SearchHit hit : hits.getHits()) {
-                        final JsonNode code = objectMapper.readTree(hit.getSourceAsString());
+                        final JsonNode code = ElasticRequestUtils.<JsonNode>readSource(objectReader, hit);
                         final String codeId = ElasticRequestUtils.getTextValueOrNull(code, "id");
                         final String codeUri = ElasticRequestUtils.getTextValueOrNull(code, "uri");
                         final String codeStatus = ElasticRequestUtils.getTextValueOrNull(code, "status");
@@ -113,24 +120,19 @@ class DeepCodeQueryFactory {
                         dto.setPrefLabel(prefLabelMap);
                         dto.setCodeValue(codeCodeValue);
                         addHighlightTagsToDto(searchTerm, dto);
-                        final CodeSchemeDTO fat = domain.getCodeScheme(codeSchemeUuid);
-                        final CodeSchemeDTO lean = new CodeSchemeDTO();
-                        lean.setId(fat.getId());
-                        lean.setCodeRegistry(fat.getCodeRegistry());
-                        lean.setCodeValue(fat.getCodeValue());
-                        dto.setCodeScheme(lean);
+                        dto.setCodeScheme(codeScheme);
                         topHits.add(dto);
                         ret.put(codeSchemeUuid, Collections.singletonList(hitList));
 
-                        final String uuidOfTheCodeScheme = fat.getId().toString().toLowerCase();
+                        final String uuidOfTheCodeScheme = codeScheme.getId().toString().toLowerCase();
                         final Set<String> codeSchemeUuids = new HashSet<>();
                         populateSearchHits(codeSchemeUuids,
                             result,
                             dto.getPrefLabel(),
                             dto.getUri(),
                             dto.getCodeValue(),
-                            fat.getCodeValue(),
-                            fat.getCodeRegistry().getCodeValue(),
+                            codeScheme.getCodeValue(),
+                            codeScheme.getCodeRegistry().getCodeValue(),
                             uuidOfTheCodeScheme,
                             total);
                     }
@@ -142,6 +144,20 @@ class DeepCodeQueryFactory {
         return ret;
     }
 
+    private Map<String, CodeSchemeDTO> resolveCodeSchemes(final Terms groupBy) {
+        final Set<String> codeSchemeUuids = new HashSet<>();
+        for (final Terms.Bucket bucket : groupBy.getBuckets()) {
+            final TopHits hitsAggr = bucket.getAggregations().get("top_code_hits");
+            if (hitsAggr.getHits().getTotalHits() > 0) {
+                codeSchemeUuids.add(bucket.getKeyAsString());
+            }
+        }
+        if (codeSchemeUuids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return codeSchemeResolver.apply(codeSchemeUuids);
+    }
+
     private void addHighlightTagsToDto(final String searchTerm,
                                        final CodeDTO codeDto) {
         highlightLabels(searchTerm, codeDto);
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import org.elasticsearch.action.search.SearchRequest;
@@ -29,7 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.DeepSearchExtensionHitListDTO;
@@ -48,15 +49,15 @@ class DeepExtensionQueryFactory {
 
     private static final FetchSourceContext sourceIncludes = new FetchSourceContext(true, new String[]{ "id", "codeValue", "prefLabel", "parentCodeScheme.id" }, new String[]{});
     private static final Script topHitScript = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, "_score", Collections.emptyMap());
-    private final Domain domain;
-    private final ObjectMapper objectMapper;
+    private final Function<Set<String>, Map<String, CodeSchemeDTO>> codeSchemeResolver;
+    private final ObjectReader objectReader;
     private final LuceneQueryFactory luceneQueryFactory;
 
-    DeepExtensionQueryFactory(final ObjectMapper objectMapper,
-                              final Domain domain,
+    DeepExtensionQueryFactory(final ObjectReader objectReader,
+                              final Function<Set<String>, Map<String, CodeSchemeDTO>> codeSchemeResolver,
                               final LuceneQueryFactory luceneQueryFactory) {
-        this.objectMapper = objectMapper;
-        this.domain = domain;
+        this.objectReader = objectReader;
+        this.codeSchemeResolver = codeSchemeResolver;
         this.luceneQueryFactory = luceneQueryFactory;
     }
 
@@ -95,6 +96,7 @@ class DeepExtensionQueryFactory {
         final Map<String, List<DeepSearchHitListDTO<?>>> ret = new HashMap<>();
         try {
             final Terms groupBy = response.getAggregations().get("group_by_codescheme");
+            final Map<String, CodeSchemeDTO> codeSchemes = resolveCodeSchemes(groupBy);
             for (final Terms.Bucket bucket : groupBy.getBuckets()) {
                 final TopHits hitsAggr = bucket.getAggregations().get("top_extension_hits");
                 final SearchHits hits = hitsAggr.getHits();
@@ -102,11 +104,16 @@ class DeepExtensionQueryFactory {
                 long total = hits.getTotalHits();
                 if (total > 0) {
                     final String codeSchemeUuid = bucket.getKeyAsString();
+                    final CodeSchemeDTO codeScheme = codeSchemes.get(codeSchemeUuid.toLowerCase());
+                    if (codeScheme == null) {
+                        LOG.warn("CodeScheme not found for deep search hits: " + codeSchemeUuid);
+                        continue;
+                    }
                     final List<ExtensionDTO> topHits = new ArrayList<>();
                     final DeepSearchExtensionHitListDTO hitList = new DeepSearchExtensionHitListDTO(total, topHits);
 
                     for (final SearchHit hit : hits.getHits()) {
-                        final JsonNode code = objectMapper.readTree(hit.getSourceAsString());
+                        final JsonNode code = ElasticRequestUtils.<JsonNode>readSource(objectReader, hit);
                         final String codeId = ElasticRequestUtils.getTextValueOrNull(code, "id");
                         final Map<String, String> prefLabelMap = ElasticRequestUtils.labelFromKeyValueNode(code.get("prefLabel"));
                         final String codeCodeValue = ElasticRequestUtils.getTextValueOrNull(code, "codeValue");
@@ -115,23 +122,18 @@ class DeepExtensionQueryFactory {
                         dto.setPrefLabel(prefLabelMap);
                         dto.setCodeValue(codeCodeValue);
                         addHighlightTagsToDto(searchTerm, dto);
-                        CodeSchemeDTO fat = domain.getCodeScheme(codeSchemeUuid);
-                        CodeSchemeDTO lean = new CodeSchemeDTO();
-                        lean.setId(fat.getId());
-                        lean.setCodeRegistry(fat.getCodeRegistry());
-                        lean.setCodeValue(fat.getCodeValue());
-                        dto.setParentCodeScheme(lean);
+                        dto.setParentCodeScheme(codeScheme);
                         topHits.add(dto);
                         ret.put(codeSchemeUuid, Collections.singletonList(hitList));
 
-                        final String uuidOfTheCodeScheme = fat.getId().toString().toLowerCase();
+                        final String uuidOfTheCodeScheme = codeScheme.getId().toString().toLowerCase();
                         final Set<String> codeSchemeUuids = new HashSet<>();
                         populateSearchHits(codeSchemeUuids,
                             result,
                             dto.getPrefLabel(),
                             dto.getCodeValue(),
-                            fat.getCodeValue(),
-                            fat.getCodeRegistry().getCodeValue(),
+                            codeScheme.getCodeValue(),
+                            codeScheme.getCodeRegistry().getCodeValue(),
                             uuidOfTheCodeScheme,
                             total);
                     }
@@ -143,6 +145,20 @@ class DeepExtensionQueryFactory {
         return ret;
     }
 
+    private Map<String, CodeSchemeDTO> resolveCodeSchemes(final Terms groupBy) {
+        final Set<String> codeSchemeUuids = new HashSet<>();
+        for (final Terms.Bucket bucket : groupBy.getBuckets()) {
+            final TopHits hitsAggr = bucket.getAggregations().get("top_extension_hits");
+            if (hitsAggr.getHits().getTotalHits() > 0) {
+                codeSchemeUuids.add(bucket.getKeyAsString());
+            }
+        }
+        if (codeSchemeUuids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return codeSchemeResolver.apply(codeSchemeUuids);
+    }
+
     private void addHighlightTagsToDto(final String searchTerm,
                                        final ExtensionDTO extensionDto) {
         highlightLabels(searchTerm, extensionDto);
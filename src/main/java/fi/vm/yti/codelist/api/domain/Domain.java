@@ -1,7 +1,9 @@
 package fi.vm.yti.codelist.api.domain;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import fi.vm.yti.codelist.api.dto.ResourceDTO;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
@@ -32,6 +34,8 @@ public interface Domain {
 
     Set<CodeSchemeDTO> getCodeSchemes();
 
+    List<CodeSchemeDTO> getCodeSchemesByIds(final Collection<UUID> codeSchemeIds);
+
     Set<CodeSchemeDTO> getCodeSchemesByCodeRegistryCodeValue(final String codeRegistryCodeValue,
                                                              final List<String> organizationIds,
                                                              final List<String> userOrganizationIds,
@@ -74,6 +78,28 @@ public interface Domain {
                           final List<String> statuses,
                           final Meta meta);
 
+    Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
+                          final String codeSchemeCodeValue,
+                          final String codeCodeValue,
+                          final String prefLabel,
+                          final Integer hierarchyLevel,
+                          final String broaderCodeId,
+                          final String language,
+                          final List<String> statuses,
+                          final Meta meta,
+                          final SourceProjection projection);
+
+    Iterable<CodeDTO> iterateCodes(final String codeRegistryCodeValue,
+                                   final String codeSchemeCodeValue,
+                                   final String codeCodeValue,
+                                   final String prefLabel,
+                                   final Integer hierarchyLevel,
+                                   final String broaderCodeId,
+                                   final String language,
+                                   final List<String> statuses,
+                                   final Meta meta,
+                                   final SourceProjection projection);
+
     PropertyTypeDTO getPropertyType(final String propertyTypeId);
 
     Set<PropertyTypeDTO> getPropertyTypes(final String propertyTypePrefLabel,
@@ -113,9 +139,16 @@ public interface Domain {
 
     Set<MemberDTO> getMembers(final Meta meta);
 
+    Set<MemberDTO> getMembers(final Meta meta,
+                              final SourceProjection projection);
+
     Set<MemberDTO> getMembers(final ExtensionDTO code,
                               final Meta meta);
 
+    Set<MemberDTO> getMembers(final ExtensionDTO extension,
+                              final Meta meta,
+                              final SourceProjection projection);
+
     Set<MemberDTO> getMembers(final CodeDTO code,
                               final Meta meta);
 
@@ -145,4 +178,7 @@ public interface Domain {
                                   final List<String> includeIncompleteFrom,
                                   final boolean includeIncomplete,
                                   final Meta meta);
+
+    Set<String> getExistingUris(final String indexName,
+                                final Collection<String> uris);
 }
@@ -1,41 +1,65 @@
 package fi.vm.yti.codelist.api.domain;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.apache.lucene.search.join.ScoreMode;
-import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.hash.Hashing;
 
+import fi.vm.yti.codelist.api.configuration.SpringAppConfig;
+import fi.vm.yti.codelist.api.domain.DomainMetrics.DeserializationSample;
 import fi.vm.yti.codelist.api.dto.ResourceDTO;
 import fi.vm.yti.codelist.api.exception.JsonParsingException;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
@@ -53,6 +77,8 @@ import fi.vm.yti.codelist.common.dto.SearchHitDTO;
 import fi.vm.yti.codelist.common.dto.SearchResultWithMetaDataDTO;
 import fi.vm.yti.codelist.common.dto.ValueTypeDTO;
 import fi.vm.yti.codelist.common.model.Status;
+import io.micrometer.core.instrument.Timer;
+import static fi.vm.yti.codelist.api.domain.ElasticRequestUtils.ELASTIC_QUERY_ERROR;
 import static fi.vm.yti.codelist.api.exception.ErrorConstants.ERR_MSG_USER_406;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 import static java.lang.Math.toIntExact;
@@ -60,56 +86,61 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 @Singleton
 @Service
-public class DomainImpl implements Domain {
+public class DomainImpl implements Domain, AsyncDomain {
 
     public static final int MAX_ES_PAGESIZE = 10000;
+    private static final int CURSOR_PAGESIZE = 1000;
+    private static final int CHANGES_PAGESIZE = 1000;
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainImpl.class);
 
     private static final String TEXT_ANALYZER = "text_analyzer";
     private static final String BOOSTSTATUS = "boostStatus";
-    private static final String ELASTIC_QUERY_ERROR = "ElasticSearch index query error!";
+    private static final String PHASE_DEEP_SEARCH = "deep";
+    private static final String PHASE_MAIN_SEARCH = "main";
+    private static final String[] CODESCHEME_REFERENCE_INCLUDES = { "id", "codeValue", "codeRegistry" };
+    private static final String[] CHANGE_INDICES = { ELASTIC_INDEX_CODESCHEME, ELASTIC_INDEX_CODE, ELASTIC_INDEX_EXTENSION };
+    private static final String[] CHANGE_INCLUDES = { "id", "codeValue", "prefLabel", "description", "created", "modified", "contentModified", "statusModified", "status", "uri", "languageCodes", "codeScheme", "parentCodeScheme" };
     private static final Set<String> sortLanguages = new HashSet<>(Arrays.asList(LANGUAGE_CODE_FI, LANGUAGE_CODE_EN, LANGUAGE_CODE_SV));
     private final RestHighLevelClient client;
     private final DeepCodeQueryFactory deepCodeQueryFactory;
     private final DeepExtensionQueryFactory deepExtensionQueryFactory;
     private final LuceneQueryFactory luceneQueryFactory;
+    private final IndexRegistry indexRegistry;
+    private final ObjectReaders objectReaders;
+    private final DomainMetrics domainMetrics;
+    private final EntityCache entityCache;
+    private final Executor domainExecutor;
+    private final long changesSettleMillis;
+    private final Set<String> directGetDisabledIndices = ConcurrentHashMap.newKeySet();
 
     @Inject
-    private DomainImpl(final RestHighLevelClient elasticSearchRestHighLevelClient) {
+    private DomainImpl(final RestHighLevelClient elasticSearchRestHighLevelClient,
+                       final IndexRegistry indexRegistry,
+                       final ObjectReaders objectReaders,
+                       final DomainMetrics domainMetrics,
+                       final EntityCache entityCache,
+                       @Qualifier(SpringAppConfig.DOMAIN_EXECUTOR) final Executor domainExecutor,
+                       @Value("${application.changes.settleMillis:60000}") final long changesSettleMillis) {
         this.client = elasticSearchRestHighLevelClient;
+        this.indexRegistry = indexRegistry;
+        this.objectReaders = objectReaders;
+        this.domainMetrics = domainMetrics;
+        this.entityCache = entityCache;
+        this.domainExecutor = domainExecutor;
+        this.changesSettleMillis = changesSettleMillis;
         this.luceneQueryFactory = new LuceneQueryFactory();
-        this.deepCodeQueryFactory = new DeepCodeQueryFactory(new ObjectMapper(), this, luceneQueryFactory);
-        this.deepExtensionQueryFactory = new DeepExtensionQueryFactory(new ObjectMapper(), this, luceneQueryFactory);
+        this.deepCodeQueryFactory = new DeepCodeQueryFactory(objectReaders.forTree(), this::getCodeSchemeReferences, luceneQueryFactory);
+        this.deepExtensionQueryFactory = new DeepExtensionQueryFactory(objectReaders.forTree(), this::getCodeSchemeReferences, luceneQueryFactory);
     }
 
     public CodeRegistryDTO getCodeRegistry(final String codeRegistryCodeValue) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODEREGISTRY)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODEREGISTRY);
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
             searchBuilder.sort("codeValue.raw", SortOrder.ASC);
             final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", codeRegistryCodeValue.toLowerCase())).should(matchQuery("codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
             searchBuilder.query(builder);
-            searchRequest.source(searchBuilder);
-            try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                if (response.getHits().getTotalHits() > 0) {
-                    final SearchHit hit = response.getHits().getAt(0);
-                    LOG.debug(String.format("Found %d CodeRegistries", response.getHits().getTotalHits()));
-                    try {
-                        if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), CodeRegistryDTO.class);
-                        }
-                    } catch (final IOException e) {
-                        LOG.error("getCodeRegistry reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                        throw new JsonParsingException(ERR_MSG_USER_406);
-                    }
-                }
-            } catch (final IOException e) {
-                LOG.error("SearchRequest failed!", e);
-                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
-            }
+            return getCachedEntity(ELASTIC_INDEX_CODEREGISTRY, createPathCacheKey(codeRegistryCodeValue), CodeRegistryDTO.class, searchBuilder);
         }
         return null;
     }
@@ -123,36 +154,57 @@ public class DomainImpl implements Domain {
                                                   final Meta meta,
                                                   final List<String> organizations) {
         validatePageSize(meta);
-        final Set<CodeRegistryDTO> codeRegistries = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_CODEREGISTRY)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODEREGISTRY);
-            final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
-            searchBuilder.sort("codeValue.raw", SortOrder.ASC);
-            final BoolQueryBuilder builder = constructSearchQuery(codeRegistryCodeValue, codeRegistryPrefLabel);
-            embedAfterBeforeToBoolQuery(builder, meta);
-            if (organizations != null && !organizations.isEmpty()) {
-                builder.must(termsQuery("organizations.id.keyword", organizations));
-            }
-            searchBuilder.query(builder);
-            searchRequest.source(searchBuilder);
+            final SearchRequest searchRequest = createCodeRegistriesSearchRequest(codeRegistryCodeValue, codeRegistryPrefLabel, meta, organizations);
+            return parseCodeRegistries(executeSearch(searchRequest), meta);
+        }
+        return new LinkedHashSet<>();
+    }
+
+    public CompletionStage<Set<CodeRegistryDTO>> getCodeRegistriesAsync(final String codeRegistryCodeValue,
+                                                                        final String codeRegistryPrefLabel,
+                                                                        final Meta meta,
+                                                                        final List<String> organizations) {
+        validatePageSize(meta);
+        if (checkIfIndexExists(ELASTIC_INDEX_CODEREGISTRY)) {
+            final SearchRequest searchRequest = createCodeRegistriesSearchRequest(codeRegistryCodeValue, codeRegistryPrefLabel, meta, organizations);
+            return applyAsync(searchAsync(searchRequest), response -> parseCodeRegistries(response, meta));
+        }
+        return CompletableFuture.completedFuture(new LinkedHashSet<>());
+    }
+
+    private SearchRequest createCodeRegistriesSearchRequest(final String codeRegistryCodeValue,
+                                                            final String codeRegistryPrefLabel,
+                                                            final Meta meta,
+                                                            final List<String> organizations) {
+        final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODEREGISTRY);
+        final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
+        searchBuilder.sort("codeValue.raw", SortOrder.ASC);
+        final BoolQueryBuilder builder = constructSearchQuery(codeRegistryCodeValue, codeRegistryPrefLabel);
+        embedAfterBeforeToBoolQuery(builder, meta);
+        if (organizations != null && !organizations.isEmpty()) {
+            builder.must(termsQuery("organizations.id.keyword", organizations));
+        }
+        searchBuilder.query(builder);
+        searchRequest.source(searchBuilder);
+        return searchRequest;
+    }
+
+    private Set<CodeRegistryDTO> parseCodeRegistries(final SearchResponse response,
+                                                     final Meta meta) {
+        final Set<CodeRegistryDTO> codeRegistries = new LinkedHashSet<>();
+        setResultCounts(meta, response);
+        LOG.debug(String.format("Found %d CodeRegistries", response.getHits().getTotalHits()));
+        final DeserializationSample deserialization = domainMetrics.startDeserialization(CodeRegistryDTO.class);
+        response.getHits().forEach(hit -> {
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
-                    LOG.debug(String.format("Found %d CodeRegistries", response.getHits().getTotalHits()));
-                    try {
-                        codeRegistries.add(mapper.readValue(hit.getSourceAsString(), CodeRegistryDTO.class));
-                    } catch (final IOException e) {
-                        LOG.error("getCodeRegistries reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                        throw new JsonParsingException(ERR_MSG_USER_406);
-                    }
-                });
+                codeRegistries.add(readSource(deserialization, CodeRegistryDTO.class, hit));
             } catch (final IOException e) {
-                LOG.error("SearchRequest failed!", e);
-                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+                LOG.error("getCodeRegistries reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                throw new JsonParsingException(ERR_MSG_USER_406);
             }
-        }
+        });
+        deserialization.stop();
         return codeRegistries;
     }
 
@@ -162,7 +214,7 @@ public class DomainImpl implements Domain {
             searchBuilder.sort("codeValue.raw", SortOrder.ASC);
             final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", codeSchemeId.toLowerCase()));
             searchBuilder.query(builder);
-            return doCodeSchemeRequest(searchBuilder);
+            return getCachedEntityById(ELASTIC_INDEX_CODESCHEME, codeSchemeId.toLowerCase(), CodeSchemeDTO.class, searchBuilder);
         }
         return null;
     }
@@ -175,34 +227,79 @@ public class DomainImpl implements Domain {
             final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", codeSchemeCodeValue.toLowerCase())).should(matchQuery("codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
             builder.must(matchQuery("codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
             searchBuilder.query(builder);
-            return doCodeSchemeRequest(searchBuilder);
+            return getCachedEntity(ELASTIC_INDEX_CODESCHEME, createPathCacheKey(codeRegistryCodeValue, codeSchemeCodeValue), CodeSchemeDTO.class, searchBuilder);
         }
         return null;
     }
 
-    private CodeSchemeDTO doCodeSchemeRequest(final SearchSourceBuilder searchBuilder) {
-        final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-        final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODESCHEME);
-        searchRequest.source(searchBuilder);
-        try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-            if (response.getHits().getTotalHits() > 0) {
-                LOG.debug(String.format("Found %d CodeSchemes", response.getHits().getTotalHits()));
-                final SearchHit hit = response.getHits().getAt(0);
+    public List<CodeSchemeDTO> getCodeSchemesByIds(final Collection<UUID> codeSchemeIds) {
+        final List<CodeSchemeDTO> codeSchemes = new ArrayList<>();
+        if (codeSchemeIds == null || codeSchemeIds.isEmpty()) {
+            return codeSchemes;
+        }
+        final Set<String> ids = codeSchemeIds.stream().map(id -> id.toString().toLowerCase()).collect(Collectors.toCollection(LinkedHashSet::new));
+        final Map<String, CodeSchemeDTO> codeSchemesById = fetchCodeSchemesByIds(ids, null);
+        for (final String id : ids) {
+            final CodeSchemeDTO codeScheme = codeSchemesById.get(id);
+            if (codeScheme != null) {
+                codeSchemes.add(codeScheme);
+            }
+        }
+        return codeSchemes;
+    }
+
+    private Map<String, CodeSchemeDTO> getCodeSchemeReferences(final Set<String> codeSchemeIds) {
+        return fetchCodeSchemesByIds(codeSchemeIds, CODESCHEME_REFERENCE_INCLUDES);
+    }
+
+    private Map<String, CodeSchemeDTO> fetchCodeSchemesByIds(final Set<String> codeSchemeIds,
+                                                             final String[] includes) {
+        final Map<String, CodeSchemeDTO> codeSchemes = new HashMap<>();
+        if (codeSchemeIds.isEmpty() || !checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
+            return codeSchemes;
+        }
+        final Set<String> remainingIds = new LinkedHashSet<>(codeSchemeIds);
+        final boolean directGet = isDirectGetEnabled(ELASTIC_INDEX_CODESCHEME) && codeSchemeIds.stream().allMatch(this::isUuid);
+        if (directGet) {
+            final DeserializationSample deserialization = domainMetrics.startDeserialization(CodeSchemeDTO.class);
+            multiGetSources(ELASTIC_INDEX_CODESCHEME, codeSchemeIds, includes).forEach((id, source) -> {
                 try {
-                    if (hit != null) {
-                        return mapper.readValue(hit.getSourceAsString(), CodeSchemeDTO.class);
-                    }
+                    codeSchemes.put(id, readSource(deserialization, CodeSchemeDTO.class, source));
+                    remainingIds.remove(id);
                 } catch (final IOException e) {
-                    LOG.error("getCodeScheme reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                    LOG.error("fetchCodeSchemesByIds reading value from JSON string failed: " + new String(source, StandardCharsets.UTF_8), e);
                     throw new JsonParsingException(ERR_MSG_USER_406);
                 }
+            });
+            deserialization.stop();
+        }
+        if (!remainingIds.isEmpty()) {
+            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODESCHEME);
+            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+            searchBuilder.query(termsQuery("id", remainingIds));
+            if (includes != null) {
+                searchBuilder.fetchSource(includes, null);
             }
-        } catch (final IOException e) {
-            LOG.error("SearchRequest failed!", e);
-            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+            searchBuilder.size(remainingIds.size());
+            searchRequest.source(searchBuilder);
+            final SearchResponse response = executeSearch(searchRequest);
+            final DeserializationSample deserialization = domainMetrics.startDeserialization(CodeSchemeDTO.class);
+            response.getHits().forEach(hit -> {
+                try {
+                    final CodeSchemeDTO codeScheme = readSource(deserialization, CodeSchemeDTO.class, hit);
+                    final String codeSchemeId = codeScheme.getId().toString().toLowerCase();
+                    if (directGet && !codeSchemeId.equalsIgnoreCase(hit.getId())) {
+                        disableDirectGet(ELASTIC_INDEX_CODESCHEME);
+                    }
+                    codeSchemes.put(codeSchemeId, codeScheme);
+                } catch (final IOException e) {
+                    LOG.error("fetchCodeSchemesByIds reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                    throw new JsonParsingException(ERR_MSG_USER_406);
+                }
+            });
+            deserialization.stop();
         }
-        return null;
+        return codeSchemes;
     }
 
     public Set<CodeSchemeDTO> getCodeSchemesByCodeRegistryCodeValue(final String codeRegistryCodeValue,
@@ -234,91 +331,154 @@ public class DomainImpl implements Domain {
                                              final String extensionPropertyType,
                                              final Meta meta) {
         validatePageSize(meta);
-        final Set<String> codeSchemeUuids = new HashSet<>();
-        final Set<String> codeSchemeUuidsWithDeepHitsCodes = new HashSet<>();
-        final Set<String> codeSchemeUuidsWithDeepHitsExtensions = new HashSet<>();
-        SearchResultWithMetaDataDTO searchResultWithMetaData = new SearchResultWithMetaDataDTO();
-
-        if (searchCodes && searchTerm != null) {
-            final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits = getCodeSchemesMatchingCodes(searchTerm, searchResultWithMetaData);
-            if (deepSearchHits != null) {
-                codeSchemeUuids.addAll(deepSearchHits.keySet());
-                codeSchemeUuidsWithDeepHitsCodes.addAll(deepSearchHits.keySet());
-            }
+        final Timer.Sample deepSearchSample = domainMetrics.startSample();
+        final SearchRequest deepCodeQuery = createDeepCodeQuery(searchTerm, searchCodes);
+        final SearchRequest deepExtensionQuery = createDeepExtensionQuery(searchTerm, searchExtensions, extensionPropertyType);
+        final DeepSearchHits deepSearchHits = parseDeepSearchResponses(multiSearch(deepCodeQuery, deepExtensionQuery), searchTerm);
+        if (deepCodeQuery != null || deepExtensionQuery != null) {
+            domainMetrics.recordCodeSchemeSearchPhase(PHASE_DEEP_SEARCH, deepSearchSample);
         }
 
-        if (searchExtensions && searchTerm != null) {
-            final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits = getCodeSchemesMatchingExtensions(searchTerm, extensionPropertyType, searchResultWithMetaData);
-            if (deepSearchHits != null) {
-                codeSchemeUuids.addAll(deepSearchHits.keySet());
-                codeSchemeUuidsWithDeepHitsExtensions.addAll(deepSearchHits.keySet());
-            }
+        final Timer.Sample mainSearchSample = domainMetrics.startSample();
+        final Set<CodeSchemeDTO> codeSchemes;
+        if (checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
+            final SearchRequest searchRequest = createCodeSchemesSearchRequest(sortMode, organizationIds, userOrganizationIds, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemePrefLabel, language, searchTerm, statuses, infoDomains, extensionPropertyType, meta, deepSearchHits.codeSchemeUuids);
+            codeSchemes = parseCodeSchemes(executeSearch(searchRequest), meta);
+        } else {
+            codeSchemes = new LinkedHashSet<>();
         }
+        domainMetrics.recordCodeSchemeSearchPhase(PHASE_MAIN_SEARCH, mainSearchSample);
+        applyDeepSearchHits(codeSchemes, deepSearchHits, language);
+        return codeSchemes;
+    }
 
-        final Set<CodeSchemeDTO> codeSchemes = new LinkedHashSet<>();
-        if (checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODESCHEME);
-            final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
-            final BoolQueryBuilder builder = constructBoolQueryWithAfterAndBeforeRange(meta);
-            if (searchTerm != null && !searchTerm.isEmpty()) {
-                final BoolQueryBuilder boolQueryBuilder = boolQuery();
-                boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("prefLabel.*"));
-                boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("codeValue"));
-                if (!codeSchemeUuids.isEmpty()) {
-                    boolQueryBuilder.should(termsQuery("id", codeSchemeUuids));
-                }
-                boolQueryBuilder.minimumShouldMatch(1);
-                builder.must(boolQueryBuilder);
-            }
-            if (codeSchemeCodeValue != null && !codeSchemeCodeValue.isEmpty()) {
-                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeSchemeCodeValue).field("codeValue"));
-            }
-            if (codeSchemePrefLabel != null && !codeSchemePrefLabel.isEmpty()) {
-                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeSchemePrefLabel).field("prefLabel.*"));
-            }
-            if (organizationIds != null && !organizationIds.isEmpty()) {
-                builder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", organizationIds), ScoreMode.None));
-            }
-            if (codeRegistryCodeValue != null && !codeRegistryCodeValue.isEmpty()) {
-                builder.must(matchQuery("codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
-            }
-            if (codeRegistryPrefLabel != null && !codeRegistryPrefLabel.isEmpty()) {
-                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeRegistryPrefLabel).field("codeRegistry.prefLabel.*"));
-            }
-            if (infoDomains != null && !infoDomains.isEmpty()) {
-                builder.must(nestedQuery("infoDomains", termsQuery("infoDomains.codeValue.keyword", infoDomains), ScoreMode.None));
+    public CompletionStage<Set<CodeSchemeDTO>> getCodeSchemesAsync(final String sortMode,
+                                                                   final List<String> organizationIds,
+                                                                   final List<String> userOrganizationIds,
+                                                                   final boolean includeIncomplete,
+                                                                   final String codeRegistryCodeValue,
+                                                                   final String codeRegistryPrefLabel,
+                                                                   final String codeSchemeCodeValue,
+                                                                   final String codeSchemePrefLabel,
+                                                                   final String language,
+                                                                   final String searchTerm,
+                                                                   final boolean searchCodes,
+                                                                   final boolean searchExtensions,
+                                                                   final List<String> statuses,
+                                                                   final List<String> infoDomains,
+                                                                   final String extensionPropertyType,
+                                                                   final Meta meta) {
+        validatePageSize(meta);
+        final Timer.Sample deepSearchSample = domainMetrics.startSample();
+        final SearchRequest deepCodeQuery = createDeepCodeQuery(searchTerm, searchCodes);
+        final SearchRequest deepExtensionQuery = createDeepExtensionQuery(searchTerm, searchExtensions, extensionPropertyType);
+        return applyAsync(multiSearchAsync(deepCodeQuery, deepExtensionQuery), deepSearchResponses -> {
+            final DeepSearchHits deepSearchHits = parseDeepSearchResponses(deepSearchResponses, searchTerm);
+            if (deepCodeQuery != null || deepExtensionQuery != null) {
+                domainMetrics.recordCodeSchemeSearchPhase(PHASE_DEEP_SEARCH, deepSearchSample);
             }
-            if (extensionPropertyType != null) {
-                builder.must(nestedQuery("extensions", matchQuery("extensions.propertyType.localName", extensionPropertyType), ScoreMode.None));
+            return deepSearchHits;
+        }).thenCompose(deepSearchHits -> {
+            final Timer.Sample mainSearchSample = domainMetrics.startSample();
+            final CompletionStage<Set<CodeSchemeDTO>> codeSchemesStage;
+            if (checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
+                final SearchRequest searchRequest = createCodeSchemesSearchRequest(sortMode, organizationIds, userOrganizationIds, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemePrefLabel, language, searchTerm, statuses, infoDomains, extensionPropertyType, meta, deepSearchHits.codeSchemeUuids);
+                codeSchemesStage = applyAsync(searchAsync(searchRequest), response -> parseCodeSchemes(response, meta));
+            } else {
+                codeSchemesStage = CompletableFuture.completedFuture(new LinkedHashSet<>());
             }
-            if (BOOSTSTATUS.equalsIgnoreCase(sortMode)) {
-                searchBuilder.sort(SortBuilders.scoreSort());
-                boostStatus(builder);
+            return codeSchemesStage.thenApply(codeSchemes -> {
+                domainMetrics.recordCodeSchemeSearchPhase(PHASE_MAIN_SEARCH, mainSearchSample);
+                applyDeepSearchHits(codeSchemes, deepSearchHits, language);
+                return codeSchemes;
+            });
+        });
+    }
+
+    private SearchRequest createDeepCodeQuery(final String searchTerm,
+                                              final boolean searchCodes) {
+        return searchCodes && searchTerm != null && checkIfIndexExists(ELASTIC_INDEX_CODE) ? deepCodeQueryFactory.createQuery(searchTerm) : null;
+    }
+
+    private SearchRequest createDeepExtensionQuery(final String searchTerm,
+                                                   final boolean searchExtensions,
+                                                   final String extensionPropertyType) {
+        return searchExtensions && searchTerm != null && checkIfIndexExists(ELASTIC_INDEX_EXTENSION) ? deepExtensionQueryFactory.createQuery(searchTerm, extensionPropertyType) : null;
+    }
+
+    private DeepSearchHits parseDeepSearchResponses(final SearchResponse[] deepSearchResponses,
+                                                    final String searchTerm) {
+        final DeepSearchHits deepSearchHits = new DeepSearchHits();
+        if (deepSearchResponses[0] != null) {
+            final Map<String, List<DeepSearchHitListDTO<?>>> hits = deepCodeQueryFactory.parseResponse(deepSearchResponses[0], deepSearchHits.searchResultWithMetaData, searchTerm);
+            deepSearchHits.codeSchemeUuids.addAll(hits.keySet());
+            deepSearchHits.codeSchemeUuidsWithDeepHitsCodes.addAll(hits.keySet());
+        }
+        if (deepSearchResponses[1] != null) {
+            final Map<String, List<DeepSearchHitListDTO<?>>> hits = deepExtensionQueryFactory.parseResponse(deepSearchResponses[1], deepSearchHits.searchResultWithMetaData, searchTerm);
+            deepSearchHits.codeSchemeUuids.addAll(hits.keySet());
+            deepSearchHits.codeSchemeUuidsWithDeepHitsExtensions.addAll(hits.keySet());
+        }
+        return deepSearchHits;
+    }
+
+    private SearchRequest createCodeSchemesSearchRequest(final String sortMode,
+                                                         final List<String> organizationIds,
+                                                         final List<String> userOrganizationIds,
+                                                         final boolean includeIncomplete,
+                                                         final String codeRegistryCodeValue,
+                                                         final String codeRegistryPrefLabel,
+                                                         final String codeSchemeCodeValue,
+                                                         final String codeSchemePrefLabel,
+                                                         final String language,
+                                                         final String searchTerm,
+                                                         final List<String> statuses,
+                                                         final List<String> infoDomains,
+                                                         final String extensionPropertyType,
+                                                         final Meta meta,
+                                                         final Set<String> codeSchemeUuids) {
+        final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODESCHEME);
+        final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
+        final BoolQueryBuilder builder = constructBoolQueryWithAfterAndBeforeRange(meta);
+        if (searchTerm != null && !searchTerm.isEmpty()) {
+            final BoolQueryBuilder boolQueryBuilder = boolQuery();
+            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("prefLabel.*"));
+            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("codeValue"));
+            if (!codeSchemeUuids.isEmpty()) {
+                boolQueryBuilder.should(termsQuery("id", codeSchemeUuids));
             }
-            addLanguagePrefLabelSort(language, "codeValue.raw", "codeValue.raw", searchBuilder);
-            if (statuses != null && !statuses.isEmpty()) {
-                final BoolQueryBuilder boolQueryBuilder = boolQuery();
-                if (statuses.contains(Status.INCOMPLETE.toString())) {
-                    if (includeIncomplete) {
-                        final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
-                        incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
-                        boolQueryBuilder.should(incompleteQueryBuilder);
-                    } else if (userOrganizationIds != null && !userOrganizationIds.isEmpty()) {
-                        final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
-                        incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
-                        incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", userOrganizationIds), ScoreMode.None));
-                        boolQueryBuilder.should(incompleteQueryBuilder);
-                        statuses.remove(Status.INCOMPLETE.toString());
-                    }
-                }
-                boolQueryBuilder.should(termsQuery("status.keyword", statuses));
-                builder.must(termsQuery("status.keyword", statuses));
-                boolQueryBuilder.minimumShouldMatch(1);
-                builder.must(boolQueryBuilder);
-            } else {
-                final BoolQueryBuilder boolQueryBuilder = boolQuery();
-                boolQueryBuilder.should(termsQuery("status.keyword", getRegularStatuses()));
+            boolQueryBuilder.minimumShouldMatch(1);
+            builder.must(boolQueryBuilder);
+        }
+        if (codeSchemeCodeValue != null && !codeSchemeCodeValue.isEmpty()) {
+            builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeSchemeCodeValue).field("codeValue"));
+        }
+        if (codeSchemePrefLabel != null && !codeSchemePrefLabel.isEmpty()) {
+            builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeSchemePrefLabel).field("prefLabel.*"));
+        }
+        if (organizationIds != null && !organizationIds.isEmpty()) {
+            builder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", organizationIds), ScoreMode.None));
+        }
+        if (codeRegistryCodeValue != null && !codeRegistryCodeValue.isEmpty()) {
+            builder.must(matchQuery("codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
+        }
+        if (codeRegistryPrefLabel != null && !codeRegistryPrefLabel.isEmpty()) {
+            builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeRegistryPrefLabel).field("codeRegistry.prefLabel.*"));
+        }
+        if (infoDomains != null && !infoDomains.isEmpty()) {
+            builder.must(nestedQuery("infoDomains", termsQuery("infoDomains.codeValue.keyword", infoDomains), ScoreMode.None));
+        }
+        if (extensionPropertyType != null) {
+            builder.must(nestedQuery("extensions", matchQuery("extensions.propertyType.localName", extensionPropertyType), ScoreMode.None));
+        }
+        if (BOOSTSTATUS.equalsIgnoreCase(sortMode)) {
+            searchBuilder.sort(SortBuilders.scoreSort());
+            boostStatus(builder);
+        }
+        addLanguagePrefLabelSort(language, "codeValue.raw", "codeValue.raw", searchBuilder);
+        if (statuses != null && !statuses.isEmpty()) {
+            final BoolQueryBuilder boolQueryBuilder = boolQuery();
+            if (statuses.contains(Status.INCOMPLETE.toString())) {
                 if (includeIncomplete) {
                     final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
                     incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
@@ -328,28 +488,57 @@ public class DomainImpl implements Domain {
                     incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
                     incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", userOrganizationIds), ScoreMode.None));
                     boolQueryBuilder.should(incompleteQueryBuilder);
+                    statuses.remove(Status.INCOMPLETE.toString());
                 }
-                boolQueryBuilder.minimumShouldMatch(1);
-                builder.must(boolQueryBuilder);
             }
-            searchBuilder.query(builder);
-            searchRequest.source(searchBuilder);
+            boolQueryBuilder.should(termsQuery("status.keyword", statuses));
+            builder.must(termsQuery("status.keyword", statuses));
+            boolQueryBuilder.minimumShouldMatch(1);
+            builder.must(boolQueryBuilder);
+        } else {
+            final BoolQueryBuilder boolQueryBuilder = boolQuery();
+            boolQueryBuilder.should(termsQuery("status.keyword", getRegularStatuses()));
+            if (includeIncomplete) {
+                final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
+                incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
+                boolQueryBuilder.should(incompleteQueryBuilder);
+            } else if (userOrganizationIds != null && !userOrganizationIds.isEmpty()) {
+                final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
+                incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
+                incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", userOrganizationIds), ScoreMode.None));
+                boolQueryBuilder.should(incompleteQueryBuilder);
+            }
+            boolQueryBuilder.minimumShouldMatch(1);
+            builder.must(boolQueryBuilder);
+        }
+        searchBuilder.query(builder);
+        searchRequest.source(searchBuilder);
+        return searchRequest;
+    }
+
+    private Set<CodeSchemeDTO> parseCodeSchemes(final SearchResponse response,
+                                                final Meta meta) {
+        final Set<CodeSchemeDTO> codeSchemes = new LinkedHashSet<>();
+        setResultCounts(meta, response);
+        final DeserializationSample deserialization = domainMetrics.startDeserialization(CodeSchemeDTO.class);
+        response.getHits().forEach(hit -> {
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
-                    try {
-                        codeSchemes.add(mapper.readValue(hit.getSourceAsString(), CodeSchemeDTO.class));
-                    } catch (final IOException e) {
-                        LOG.error("getCodeSchemes reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                        throw new JsonParsingException(ERR_MSG_USER_406);
-                    }
-                });
+                codeSchemes.add(readSource(deserialization, CodeSchemeDTO.class, hit));
             } catch (final IOException e) {
-                LOG.error("SearchRequest failed!", e);
-                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+                LOG.error("getCodeSchemes reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                throw new JsonParsingException(ERR_MSG_USER_406);
             }
-        }
+        });
+        deserialization.stop();
+        return codeSchemes;
+    }
+
+    private void applyDeepSearchHits(final Set<CodeSchemeDTO> codeSchemes,
+                                     final DeepSearchHits deepSearchHits,
+                                     final String language) {
+        final SearchResultWithMetaDataDTO searchResultWithMetaData = deepSearchHits.searchResultWithMetaData;
+        final Set<String> codeSchemeUuidsWithDeepHitsCodes = deepSearchHits.codeSchemeUuidsWithDeepHitsCodes;
+        final Set<String> codeSchemeUuidsWithDeepHitsExtensions = deepSearchHits.codeSchemeUuidsWithDeepHitsExtensions;
         for (final CodeSchemeDTO cs : codeSchemes) {
             final ArrayList<SearchHitDTO> searchHits = searchResultWithMetaData.getSearchHitDTOMap().get(cs.getId().toString().toLowerCase());
             if (language != null && searchHits != null) {
@@ -363,42 +552,93 @@ public class DomainImpl implements Domain {
                 cs.setTotalNrOfSearchHitsExtensions(searchResultWithMetaData.getTotalhitsExtensionsPerCodeSchemeMap().get(cs.getId().toString()));
             }
         }
-        return codeSchemes;
     }
 
-    private Map<String, List<DeepSearchHitListDTO<?>>> getCodeSchemesMatchingCodes(final String searchTerm,
-                                                                                   final SearchResultWithMetaDataDTO result) {
-        final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits;
-        if (checkIfIndexExists(ELASTIC_INDEX_CODE) && searchTerm != null) {
+    private SearchResponse[] multiSearch(final SearchRequest... searchRequests) {
+        final List<Integer> positions = getRequestPositions(searchRequests);
+        if (positions.size() == 1) {
+            final SearchResponse[] responses = new SearchResponse[searchRequests.length];
+            final int position = positions.get(0);
+            responses[position] = executeSearch(searchRequests[position]);
+            return responses;
+        } else if (positions.size() > 1) {
+            final Timer.Sample sample = domainMetrics.startSample();
+            final MultiSearchResponse multiSearchResponse;
             try {
-                final SearchRequest query = deepCodeQueryFactory.createQuery(searchTerm);
-                final SearchResponse response = client.search(query, RequestOptions.DEFAULT);
-                deepSearchHits = deepCodeQueryFactory.parseResponse(response, result, searchTerm);
+                multiSearchResponse = client.msearch(createMultiSearchRequest(searchRequests, positions), RequestOptions.DEFAULT);
             } catch (final IOException e) {
+                positions.forEach(position -> domainMetrics.recordSearchFailure(searchRequests[position], sample, e));
+                LOG.error("MultiSearchRequest failed!", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
             }
-        } else {
-            deepSearchHits = null;
+            return handleMultiSearchResponse(searchRequests, positions, sample, multiSearchResponse);
         }
-        return deepSearchHits;
+        return new SearchResponse[searchRequests.length];
     }
 
-    private Map<String, List<DeepSearchHitListDTO<?>>> getCodeSchemesMatchingExtensions(final String searchTerm,
-                                                                                        final String extensionPropertyType,
-                                                                                        final SearchResultWithMetaDataDTO result) {
-        final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits;
-        if (checkIfIndexExists(ELASTIC_INDEX_EXTENSION) && searchTerm != null) {
-            try {
-                final SearchRequest query = deepExtensionQueryFactory.createQuery(searchTerm, extensionPropertyType);
-                final SearchResponse response = client.search(query, RequestOptions.DEFAULT);
-                deepSearchHits = deepExtensionQueryFactory.parseResponse(response, result, searchTerm);
-            } catch (final IOException e) {
+    private CompletableFuture<SearchResponse[]> multiSearchAsync(final SearchRequest... searchRequests) {
+        final List<Integer> positions = getRequestPositions(searchRequests);
+        if (positions.size() == 1) {
+            final int position = positions.get(0);
+            return searchAsync(searchRequests[position]).thenApply(response -> {
+                final SearchResponse[] responses = new SearchResponse[searchRequests.length];
+                responses[position] = response;
+                return responses;
+            });
+        } else if (positions.size() > 1) {
+            final CompletableFuture<SearchResponse[]> future = new CompletableFuture<>();
+            final Timer.Sample sample = domainMetrics.startSample();
+            client.msearchAsync(createMultiSearchRequest(searchRequests, positions), RequestOptions.DEFAULT, ActionListener.wrap(multiSearchResponse -> {
+                try {
+                    future.complete(handleMultiSearchResponse(searchRequests, positions, sample, multiSearchResponse));
+                } catch (final RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }, e -> {
+                positions.forEach(position -> domainMetrics.recordSearchFailure(searchRequests[position], sample, e));
+                LOG.error("MultiSearchRequest failed!", e);
+                future.completeExceptionally(new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR)));
+            }));
+            return future;
+        }
+        return CompletableFuture.completedFuture(new SearchResponse[searchRequests.length]);
+    }
+
+    private List<Integer> getRequestPositions(final SearchRequest... searchRequests) {
+        final List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < searchRequests.length; i++) {
+            if (searchRequests[i] != null) {
+                positions.add(i);
+            }
+        }
+        return positions;
+    }
+
+    private MultiSearchRequest createMultiSearchRequest(final SearchRequest[] searchRequests,
+                                                        final List<Integer> positions) {
+        final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+        positions.forEach(position -> multiSearchRequest.add(searchRequests[position]));
+        return multiSearchRequest;
+    }
+
+    private SearchResponse[] handleMultiSearchResponse(final SearchRequest[] searchRequests,
+                                                       final List<Integer> positions,
+                                                       final Timer.Sample sample,
+                                                       final MultiSearchResponse multiSearchResponse) {
+        final SearchResponse[] responses = new SearchResponse[searchRequests.length];
+        final MultiSearchResponse.Item[] items = multiSearchResponse.getResponses();
+        for (int i = 0; i < items.length; i++) {
+            final int position = positions.get(i);
+            if (items[i].isFailure()) {
+                LOG.error("MultiSearchRequest item failed!", items[i].getFailure());
+                domainMetrics.recordSearchFailure(searchRequests[position], sample, items[i].getFailure());
+                indexRegistry.invalidate(searchRequests[position].indices());
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
             }
-        } else {
-            deepSearchHits = null;
+            responses[position] = items[i].getResponse();
+            domainMetrics.recordSearch(searchRequests[position], sample, responses[position]);
         }
-        return deepSearchHits;
+        return responses;
     }
 
     private List<String> getRegularStatuses() {
@@ -415,9 +655,9 @@ public class DomainImpl implements Domain {
     public CodeDTO getCode(final String codeId) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODE)) {
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", codeId));
+            final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", codeId.toLowerCase()));
             searchBuilder.query(builder);
-            return doCodeRequest(searchBuilder);
+            return getCachedEntityById(ELASTIC_INDEX_CODE, codeId.toLowerCase(), CodeDTO.class, searchBuilder);
         } else {
             return null;
         }
@@ -432,37 +672,12 @@ public class DomainImpl implements Domain {
             builder.must(boolQuery().should(matchQuery("codeScheme.id", codeSchemeCodeValue.toLowerCase())).should(matchQuery("codeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1));
             builder.must(matchQuery("codeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
             searchBuilder.query(builder);
-            return doCodeRequest(searchBuilder);
+            return getCachedEntity(ELASTIC_INDEX_CODE, createPathCacheKey(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue), CodeDTO.class, searchBuilder);
         } else {
             return null;
         }
     }
 
-    private CodeDTO doCodeRequest(final SearchSourceBuilder searchBuilder) {
-        final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODE);
-        searchRequest.source(searchBuilder);
-        final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-        try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-            LOG.debug(String.format("getCode found: %d hits.", response.getHits().getTotalHits()));
-            if (response.getHits().getTotalHits() > 0) {
-                final SearchHit hit = response.getHits().getAt(0);
-                try {
-                    if (hit != null) {
-                        return mapper.readValue(hit.getSourceAsString(), CodeDTO.class);
-                    }
-                } catch (final IOException e) {
-                    LOG.error("getCode reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                    throw new JsonParsingException(ERR_MSG_USER_406);
-                }
-            }
-        } catch (final IOException e) {
-            LOG.error("SearchRequest failed!", e);
-            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
-        }
-        return null;
-    }
-
     public Set<CodeDTO> getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(final String codeRegistryCodeValue,
                                                                               final String codeSchemeCodeValue) {
         return getCodes(codeRegistryCodeValue, codeSchemeCodeValue, null, null, null, null, null, null, new Meta());
@@ -477,70 +692,130 @@ public class DomainImpl implements Domain {
                                  final String language,
                                  final List<String> statuses,
                                  final Meta meta) {
+        return getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta, SourceProjection.FULL);
+    }
+
+    public Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
+                                 final String codeSchemeCodeValue,
+                                 final String codeCodeValue,
+                                 final String prefLabel,
+                                 final Integer hierarchyLevel,
+                                 final String broaderCodeId,
+                                 final String language,
+                                 final List<String> statuses,
+                                 final Meta meta,
+                                 final SourceProjection projection) {
         validatePageSize(meta);
-        boolean fetchMore = false;
         final Set<CodeDTO> codes = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_CODE)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODE);
-            final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
-            final BoolQueryBuilder builder = constructSearchQuery(codeCodeValue, prefLabel);
-            embedAfterBeforeToBoolQuery(builder, meta);
-            builder.must(matchQuery("codeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
-            builder.must(boolQuery().should(matchQuery("codeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).should(matchQuery("codeScheme.id", codeSchemeCodeValue.toLowerCase())).minimumShouldMatch(1));
-            if (hierarchyLevel != null) {
-                builder.must(rangeQuery("hierarchyLevel").lte(hierarchyLevel));
-            }
-            if (broaderCodeId != null && !broaderCodeId.isEmpty()) {
-                builder.must(matchQuery("broaderCode.id", broaderCodeId.toLowerCase()));
-            }
-            if (statuses != null && !statuses.isEmpty()) {
-                builder.must(termsQuery("status.keyword", statuses));
+            if (meta == null || meta.getPageSize() == null) {
+                final SearchAfterCursor<CodeDTO> cursor = createCodeCursor(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta, projection);
+                cursor.forEachRemaining(codes::add);
+                if (meta != null) {
+                    meta.setTotalResults(toIntExact(cursor.getTotalHits()));
+                    meta.setResultCount(codes.size());
+                }
+                return codes;
             }
-            addLanguagePrefLabelSort(language, "codeValue.raw", "order", searchBuilder);
-            searchBuilder.query(builder);
+            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODE);
+            final SearchSourceBuilder searchBuilder = createCodeSearchSourceBuilder(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta);
+            searchBuilder.size(meta.getPageSize());
+            searchBuilder.from(meta.getFrom() != null ? meta.getFrom() : 0);
+            projection.applyTo(searchBuilder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 setResultCounts(meta, response);
-                if (meta.getResultCount() == MAX_ES_PAGESIZE && meta.getPageSize() == null) {
-                    fetchMore = true;
-                }
+                final DeserializationSample deserialization = domainMetrics.startDeserialization(CodeDTO.class);
                 response.getHits().forEach(hit -> {
                     try {
-                        codes.add(mapper.readValue(hit.getSourceAsString(), CodeDTO.class));
+                        codes.add(readSource(deserialization, CodeDTO.class, hit));
                     } catch (final IOException e) {
                         LOG.error("getCodes reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
                     }
                 });
+                deserialization.stop();
             } catch (final IOException e) {
                 LOG.error("SearchRequest failed!", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
             }
-            if (!fetchMore) {
-                return codes;
-            } else {
-                meta.setFrom(MAX_ES_PAGESIZE);
-                meta.setPageSize(MAX_ES_PAGESIZE);
-                codes.addAll(getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta));
-            }
         }
         return codes;
     }
 
+    public Iterable<CodeDTO> iterateCodes(final String codeRegistryCodeValue,
+                                          final String codeSchemeCodeValue,
+                                          final String codeCodeValue,
+                                          final String prefLabel,
+                                          final Integer hierarchyLevel,
+                                          final String broaderCodeId,
+                                          final String language,
+                                          final List<String> statuses,
+                                          final Meta meta,
+                                          final SourceProjection projection) {
+        if (!checkIfIndexExists(ELASTIC_INDEX_CODE)) {
+            return Collections.emptyList();
+        }
+        return () -> createCodeCursor(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta, projection);
+    }
+
+    private SearchAfterCursor<CodeDTO> createCodeCursor(final String codeRegistryCodeValue,
+                                                        final String codeSchemeCodeValue,
+                                                        final String codeCodeValue,
+                                                        final String prefLabel,
+                                                        final Integer hierarchyLevel,
+                                                        final String broaderCodeId,
+                                                        final String language,
+                                                        final List<String> statuses,
+                                                        final Meta meta,
+                                                        final SourceProjection projection) {
+        final SearchSourceBuilder searchBuilder = createCodeSearchSourceBuilder(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta);
+        searchBuilder.sort("id", SortOrder.ASC);
+        projection.applyTo(searchBuilder);
+        final Integer from = meta != null ? meta.getFrom() : null;
+        return new SearchAfterCursor<>(this::executeSearch, createSearchRequest(ELASTIC_INDEX_CODE), searchBuilder, objectReaders.forType(CodeDTO.class), CURSOR_PAGESIZE, from != null ? from : 0);
+    }
+
+    private SearchSourceBuilder createCodeSearchSourceBuilder(final String codeRegistryCodeValue,
+                                                              final String codeSchemeCodeValue,
+                                                              final String codeCodeValue,
+                                                              final String prefLabel,
+                                                              final Integer hierarchyLevel,
+                                                              final String broaderCodeId,
+                                                              final String language,
+                                                              final List<String> statuses,
+                                                              final Meta meta) {
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        final BoolQueryBuilder builder = constructSearchQuery(codeCodeValue, prefLabel);
+        embedAfterBeforeToBoolQuery(builder, meta);
+        builder.must(matchQuery("codeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
+        builder.must(boolQuery().should(matchQuery("codeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).should(matchQuery("codeScheme.id", codeSchemeCodeValue.toLowerCase())).minimumShouldMatch(1));
+        if (hierarchyLevel != null) {
+            builder.must(rangeQuery("hierarchyLevel").lte(hierarchyLevel));
+        }
+        if (broaderCodeId != null && !broaderCodeId.isEmpty()) {
+            builder.must(matchQuery("broaderCode.id", broaderCodeId.toLowerCase()));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            builder.must(termsQuery("status.keyword", statuses));
+        }
+        addLanguagePrefLabelSort(language, "codeValue.raw", "order", searchBuilder);
+        searchBuilder.query(builder);
+        return searchBuilder;
+    }
+
     public PropertyTypeDTO getPropertyType(final String propertyTypeIdentifier) {
         if (checkIfIndexExists(ELASTIC_INDEX_PROPERTYTYPE)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final BoolQueryBuilder builder = new BoolQueryBuilder().should(matchQuery("id", propertyTypeIdentifier.toLowerCase())).should(matchQuery("localName", propertyTypeIdentifier.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
             final SearchRequest searchRequest = createSearchRequestWithBoolQueryBuilder(ELASTIC_INDEX_PROPERTYTYPE, builder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), PropertyTypeDTO.class);
+                            return readSource(PropertyTypeDTO.class, hit);
                         }
                     } catch (final IOException e) {
                         LOG.error("getPropertyType reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -563,7 +838,6 @@ public class DomainImpl implements Domain {
         validatePageSize(meta);
         final Set<PropertyTypeDTO> propertyTypes = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_PROPERTYTYPE)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_PROPERTYTYPE);
             final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
             final BoolQueryBuilder builder = constructSearchQuery(null, propertyTypePrefLabel);
@@ -578,17 +852,19 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 setResultCounts(meta, response);
+                final DeserializationSample deserialization = domainMetrics.startDeserialization(PropertyTypeDTO.class);
                 response.getHits().forEach(hit -> {
                     try {
-                        final PropertyTypeDTO propertyType = mapper.readValue(hit.getSourceAsString(), PropertyTypeDTO.class);
+                        final PropertyTypeDTO propertyType = readSource(deserialization, PropertyTypeDTO.class, hit);
                         propertyTypes.add(propertyType);
                     } catch (final IOException e) {
                         LOG.error("getPropertyTypes reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
                     }
                 });
+                deserialization.stop();
             } catch (final IOException e) {
                 LOG.error("SearchRequest failed!", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
@@ -599,16 +875,15 @@ public class DomainImpl implements Domain {
 
     public ValueTypeDTO getValueType(final String valueTypeIdentifier) {
         if (checkIfIndexExists(ELASTIC_INDEX_VALUETYPE)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final BoolQueryBuilder builder = new BoolQueryBuilder().should(matchQuery("id", valueTypeIdentifier.toLowerCase())).should(matchQuery("localName", valueTypeIdentifier.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
             final SearchRequest searchRequest = createSearchRequestWithBoolQueryBuilder(ELASTIC_INDEX_PROPERTYTYPE, builder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), ValueTypeDTO.class);
+                            return readSource(ValueTypeDTO.class, hit);
                         }
                     } catch (final IOException e) {
                         LOG.error("getValueType reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -628,7 +903,6 @@ public class DomainImpl implements Domain {
         validatePageSize(meta);
         final Set<ValueTypeDTO> valueTypes = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_VALUETYPE)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_VALUETYPE);
             final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
             final BoolQueryBuilder builder = constructBoolQueryWithAfterAndBeforeRange(meta);
@@ -638,17 +912,19 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 setResultCounts(meta, response);
+                final DeserializationSample deserialization = domainMetrics.startDeserialization(ValueTypeDTO.class);
                 response.getHits().forEach(hit -> {
                     try {
-                        final ValueTypeDTO valueType = mapper.readValue(hit.getSourceAsString(), ValueTypeDTO.class);
+                        final ValueTypeDTO valueType = readSource(deserialization, ValueTypeDTO.class, hit);
                         valueTypes.add(valueType);
                     } catch (final IOException e) {
                         LOG.error("getValueTypes reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
                     }
                 });
+                deserialization.stop();
             } catch (final IOException e) {
                 LOG.error("SearchRequest failed!", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
@@ -661,14 +937,13 @@ public class DomainImpl implements Domain {
         if (checkIfIndexExists(ELASTIC_INDEX_EXTERNALREFERENCE)) {
             final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", externalReferenceId.toLowerCase()));
             final SearchRequest searchRequest = createSearchRequestWithBoolQueryBuilder(ELASTIC_INDEX_EXTERNALREFERENCE, builder);
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), ExternalReferenceDTO.class);
+                            return readSource(ExternalReferenceDTO.class, hit);
                         }
                     } catch (final IOException e) {
                         LOG.error("getExternalReference reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -694,7 +969,6 @@ public class DomainImpl implements Domain {
         validatePageSize(meta);
         final Set<ExternalReferenceDTO> externalReferences = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_EXTERNALREFERENCE)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_EXTERNALREFERENCE);
             final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
             final BoolQueryBuilder builder = constructSearchQuery(null, externalReferencePrefLabel);
@@ -707,17 +981,19 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 setResultCounts(meta, response);
+                final DeserializationSample deserialization = domainMetrics.startDeserialization(ExternalReferenceDTO.class);
                 response.getHits().forEach(hit -> {
                     try {
-                        final ExternalReferenceDTO externalReference = mapper.readValue(hit.getSourceAsString(), ExternalReferenceDTO.class);
+                        final ExternalReferenceDTO externalReference = readSource(deserialization, ExternalReferenceDTO.class, hit);
                         externalReferences.add(externalReference);
                     } catch (final IOException e) {
                         LOG.error("getExternalReferences reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
                     }
                 });
+                deserialization.stop();
             } catch (final IOException e) {
                 LOG.error("SearchRequest failed!", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
@@ -741,7 +1017,6 @@ public class DomainImpl implements Domain {
         validatePageSize(meta);
         final Set<ExtensionDTO> extensions = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_EXTENSION)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_EXTENSION);
             final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
             searchBuilder.sort("codeValue.raw", SortOrder.ASC);
@@ -753,17 +1028,19 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 setResultCounts(meta, response);
+                final DeserializationSample deserialization = domainMetrics.startDeserialization(ExtensionDTO.class);
                 response.getHits().forEach(hit -> {
                     try {
-                        final ExtensionDTO extension = mapper.readValue(hit.getSourceAsString(), ExtensionDTO.class);
+                        final ExtensionDTO extension = readSource(deserialization, ExtensionDTO.class, hit);
                         extensions.add(extension);
                     } catch (final IOException e) {
                         LOG.error("getExtensions reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
                     }
                 });
+                deserialization.stop();
             } catch (final IOException e) {
                 LOG.error("SearchRequest failed!", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
@@ -782,7 +1059,7 @@ public class DomainImpl implements Domain {
             builder.must(matchQuery("parentCodeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
             builder.must(matchQuery("parentCodeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
             searchBuilder.query(builder);
-            return doExtensionRequest(searchBuilder);
+            return getCachedEntity(ELASTIC_INDEX_EXTENSION, createPathCacheKey(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue), ExtensionDTO.class, searchBuilder);
         }
         return null;
     }
@@ -792,31 +1069,7 @@ public class DomainImpl implements Domain {
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
             final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", extensionId.toLowerCase()));
             searchBuilder.query(builder);
-            return doExtensionRequest(searchBuilder);
-        }
-        return null;
-    }
-
-    private ExtensionDTO doExtensionRequest(final SearchSourceBuilder searchBuilder) {
-        final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_EXTENSION);
-        searchRequest.source(searchBuilder);
-        final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-        try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-            if (response.getHits().getTotalHits() > 0) {
-                final SearchHit hit = response.getHits().getAt(0);
-                try {
-                    if (hit != null) {
-                        return mapper.readValue(hit.getSourceAsString(), ExtensionDTO.class);
-                    }
-                } catch (final IOException e) {
-                    LOG.error("getExtension reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                    throw new JsonParsingException(ERR_MSG_USER_406);
-                }
-            }
-        } catch (final IOException e) {
-            LOG.error("SearchRequest failed!", e);
-            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+            return getCachedEntityById(ELASTIC_INDEX_EXTENSION, extensionId.toLowerCase(), ExtensionDTO.class, searchBuilder);
         }
         return null;
     }
@@ -826,7 +1079,6 @@ public class DomainImpl implements Domain {
         validatePageSize(meta);
         final Set<MemberDTO> members = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_MEMBER)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_MEMBER);
             final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
             searchBuilder.sort("order", SortOrder.ASC);
@@ -837,17 +1089,19 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 setResultCounts(meta, response);
+                final DeserializationSample deserialization = domainMetrics.startDeserialization(MemberDTO.class);
                 response.getHits().forEach(hit -> {
                     try {
-                        final MemberDTO member = mapper.readValue(hit.getSourceAsString(), MemberDTO.class);
+                        final MemberDTO member = readSource(deserialization, MemberDTO.class, hit);
                         members.add(member);
                     } catch (final IOException e) {
                         LOG.error("getMembers reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
                     }
                 });
+                deserialization.stop();
             } catch (final IOException e) {
                 LOG.error("SearchRequest failed!", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
@@ -857,6 +1111,11 @@ public class DomainImpl implements Domain {
     }
 
     public Set<MemberDTO> getMembers(final Meta meta) {
+        return getMembers(meta, SourceProjection.FULL);
+    }
+
+    public Set<MemberDTO> getMembers(final Meta meta,
+                                     final SourceProjection projection) {
         validatePageSize(meta);
         final Set<MemberDTO> members;
         if (checkIfIndexExists(ELASTIC_INDEX_MEMBER)) {
@@ -864,6 +1123,7 @@ public class DomainImpl implements Domain {
             searchBuilder.sort("order", SortOrder.ASC);
             final BoolQueryBuilder builder = constructBoolQueryWithAfterAndBeforeRange(meta);
             searchBuilder.query(builder);
+            projection.applyTo(searchBuilder);
             members = doMemberRequest(searchBuilder, meta);
         } else {
             members = new LinkedHashSet<>();
@@ -873,6 +1133,12 @@ public class DomainImpl implements Domain {
 
     public Set<MemberDTO> getMembers(final ExtensionDTO extension,
                                      final Meta meta) {
+        return getMembers(extension, meta, SourceProjection.FULL);
+    }
+
+    public Set<MemberDTO> getMembers(final ExtensionDTO extension,
+                                     final Meta meta,
+                                     final SourceProjection projection) {
         final Set<MemberDTO> members;
         validatePageSize(meta);
         if (checkIfIndexExists(ELASTIC_INDEX_MEMBER)) {
@@ -883,6 +1149,7 @@ public class DomainImpl implements Domain {
             if (extension != null) {
                 builder.must(matchQuery("extension.id", extension.getId().toString().toLowerCase()));
             }
+            projection.applyTo(searchBuilder);
             members = doMemberRequest(searchBuilder, meta);
         } else {
             members = new LinkedHashSet<>();
@@ -895,18 +1162,19 @@ public class DomainImpl implements Domain {
         final Set<MemberDTO> members = new LinkedHashSet<>();
         final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_MEMBER);
         searchRequest.source(searchBuilder);
-        final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
         try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+            final SearchResponse response = search(searchRequest);
             setResultCounts(meta, response);
+            final DeserializationSample deserialization = domainMetrics.startDeserialization(MemberDTO.class);
             response.getHits().forEach(hit -> {
                 try {
-                    final MemberDTO member = mapper.readValue(hit.getSourceAsString(), MemberDTO.class);
+                    final MemberDTO member = readSource(deserialization, MemberDTO.class, hit);
                     members.add(member);
                 } catch (final IOException e) {
                     LOG.error("getMembers reading value from JSON string failed: " + hit.getSourceAsString(), e);
                 }
             });
+            deserialization.stop();
         } catch (final IOException e) {
             LOG.error("SearchRequest failed!", e);
             throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
@@ -922,20 +1190,12 @@ public class DomainImpl implements Domain {
     public MemberDTO getMember(final String memberId,
                                final String extensionCodeValue,
                                String parentCodeSchemeValue) {
-        boolean memberIdIsUuid = true;
-        try {
-            UUID.fromString(memberId);
-        } catch (final Exception e) {
-            memberIdIsUuid = false;
-        }
+        final boolean memberIdIsUuid = isUuid(memberId);
         if (checkIfIndexExists(ELASTIC_INDEX_MEMBER)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_MEMBER);
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
             if (memberIdIsUuid) {
                 final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", memberId.toLowerCase()));
                 searchBuilder.query(builder);
-                searchRequest.source(searchBuilder);
             } else {
                 final BoolQueryBuilder builder = boolQuery().must(matchQuery("sequenceId", memberId)).must(matchQuery("extension.codeValue", extensionCodeValue));
 
@@ -943,23 +1203,14 @@ public class DomainImpl implements Domain {
                     builder.must(matchQuery("extension.parentCodeScheme.codeValue", parentCodeSchemeValue));
                 }
                 searchBuilder.query(builder);
-                searchRequest.source(searchBuilder);
             }
-            try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                if (response.getHits().getTotalHits() > 0) {
-                    final SearchHit hit = response.getHits().getAt(0);
-                    try {
-                        if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), MemberDTO.class);
-                        }
-                    } catch (final IOException e) {
-                        LOG.error("getMember reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                    }
+            final byte[] source = memberIdIsUuid ? fetchSourceById(ELASTIC_INDEX_MEMBER, memberId, searchBuilder) : fetchFirstSource(ELASTIC_INDEX_MEMBER, searchBuilder);
+            if (source != null) {
+                try {
+                    return readSource(MemberDTO.class, source);
+                } catch (final IOException e) {
+                    LOG.error("getMember reading value from JSON string failed: " + new String(source, StandardCharsets.UTF_8), e);
                 }
-            } catch (final IOException e) {
-                LOG.error("SearchRequest failed!", e);
-                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
             }
         }
         return null;
@@ -974,70 +1225,104 @@ public class DomainImpl implements Domain {
                                           final boolean includeIncomplete,
                                           final Meta meta) {
         validatePageSize(meta);
-        final Set<ResourceDTO> containers = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODESCHEME);
-            final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
-            final BoolQueryBuilder builder = constructAndOrQueryForPrefLabelAndCodeValue(searchTerm);
-            embedAfterBeforeToBoolQuery(builder, meta);
-            addLanguagePrefLabelSort(language, "codeValue.raw", "codeValue.raw", searchBuilder);
-            if (includedContainerUris != null && !includedContainerUris.isEmpty()) {
-                builder.must(termsQuery("uri", includedContainerUris));
-            } else if (excludedContainerUris != null && !excludedContainerUris.isEmpty()) {
-                builder.mustNot(termsQuery("uri", excludedContainerUris));
-            }
-            if (statuses != null && !statuses.isEmpty()) {
-                final BoolQueryBuilder boolQueryBuilder = boolQuery();
-                if (!includeIncomplete && statuses.contains(Status.INCOMPLETE.toString())) {
-                    if (includeIncompleteFrom != null && !includeIncompleteFrom.isEmpty()) {
-                        final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
-                        incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
-                        incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", includeIncompleteFrom), ScoreMode.None));
-                        boolQueryBuilder.should(incompleteQueryBuilder);
-                    }
-                    statuses.remove(Status.INCOMPLETE.toString());
-                }
-                boolQueryBuilder.should(termsQuery("status.keyword", statuses));
-                boolQueryBuilder.minimumShouldMatch(1);
-                builder.must(boolQueryBuilder);
-            } else {
-                final BoolQueryBuilder boolQueryBuilder = boolQuery();
-                boolQueryBuilder.should(termsQuery("status.keyword", getRegularStatuses()));
-                if (includeIncomplete) {
-                    final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
-                    incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
-                    boolQueryBuilder.should(incompleteQueryBuilder);
-                } else if (includeIncompleteFrom != null && !includeIncompleteFrom.isEmpty()) {
+            final SearchRequest searchRequest = createContainersSearchRequest(includedContainerUris, excludedContainerUris, language, statuses, searchTerm, includeIncompleteFrom, includeIncomplete, meta);
+            return parseContainers(executeSearch(searchRequest), meta);
+        }
+        return new LinkedHashSet<>();
+    }
+
+    public CompletionStage<CursorPage<ResourceDTO>> getContainersAsync(final List<String> includedContainerUris,
+                                                                       final List<String> excludedContainerUris,
+                                                                       final String language,
+                                                                       final List<String> statuses,
+                                                                       final String searchTerm,
+                                                                       final List<String> includeIncompleteFrom,
+                                                                       final boolean includeIncomplete,
+                                                                       final String cursor,
+                                                                       final Meta meta) {
+        validatePageSize(meta);
+        if (checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
+            final SearchRequest searchRequest = createContainersSearchRequest(includedContainerUris, excludedContainerUris, language, statuses, searchTerm, includeIncompleteFrom, includeIncomplete, meta);
+            final String generation = getGeneration(searchRequest);
+            final String queryHash = createQueryHash(searchRequest);
+            final IntegrationCursor integrationCursor = applyCursor(searchRequest, cursor, generation, queryHash);
+            return applyAsync(searchAsync(searchRequest), response -> new CursorPage<>(parseContainers(response, meta), createNextCursor(searchRequest, response, integrationCursor, generation, queryHash, meta)));
+        }
+        return CompletableFuture.completedFuture(new CursorPage<>(new LinkedHashSet<>(), null));
+    }
+
+    private SearchRequest createContainersSearchRequest(final List<String> includedContainerUris,
+                                                        final List<String> excludedContainerUris,
+                                                        final String language,
+                                                        final List<String> statuses,
+                                                        final String searchTerm,
+                                                        final List<String> includeIncompleteFrom,
+                                                        final boolean includeIncomplete,
+                                                        final Meta meta) {
+        final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODESCHEME);
+        final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
+        final BoolQueryBuilder builder = constructAndOrQueryForPrefLabelAndCodeValue(searchTerm);
+        embedAfterBeforeToBoolQuery(builder, meta);
+        addLanguagePrefLabelSort(language, "codeValue.raw", "codeValue.raw", searchBuilder);
+        searchBuilder.sort("id", SortOrder.ASC);
+        if (includedContainerUris != null && !includedContainerUris.isEmpty()) {
+            builder.must(termsQuery("uri", includedContainerUris));
+        } else if (excludedContainerUris != null && !excludedContainerUris.isEmpty()) {
+            builder.mustNot(termsQuery("uri", excludedContainerUris));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            final BoolQueryBuilder boolQueryBuilder = boolQuery();
+            if (!includeIncomplete && statuses.contains(Status.INCOMPLETE.toString())) {
+                if (includeIncompleteFrom != null && !includeIncompleteFrom.isEmpty()) {
                     final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
                     incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
                     incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", includeIncompleteFrom), ScoreMode.None));
                     boolQueryBuilder.should(incompleteQueryBuilder);
                 }
-                boolQueryBuilder.minimumShouldMatch(1);
-                builder.must(boolQueryBuilder);
+                statuses.remove(Status.INCOMPLETE.toString());
             }
-            final String[] includeFields = new String[]{ "id", "codeValue", "prefLabel", "description", "created", "modified", "contentModified", "statusModified", "status", "uri", "organizations", "languageCodes" };
-            searchBuilder.fetchSource(includeFields, null);
-            searchBuilder.query(builder);
-            searchRequest.source(searchBuilder);
+            boolQueryBuilder.should(termsQuery("status.keyword", statuses));
+            boolQueryBuilder.minimumShouldMatch(1);
+            builder.must(boolQueryBuilder);
+        } else {
+            final BoolQueryBuilder boolQueryBuilder = boolQuery();
+            boolQueryBuilder.should(termsQuery("status.keyword", getRegularStatuses()));
+            if (includeIncomplete) {
+                final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
+                incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
+                boolQueryBuilder.should(incompleteQueryBuilder);
+            } else if (includeIncompleteFrom != null && !includeIncompleteFrom.isEmpty()) {
+                final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
+                incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
+                incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", includeIncompleteFrom), ScoreMode.None));
+                boolQueryBuilder.should(incompleteQueryBuilder);
+            }
+            boolQueryBuilder.minimumShouldMatch(1);
+            builder.must(boolQueryBuilder);
+        }
+        final String[] includeFields = new String[]{ "id", "codeValue", "prefLabel", "description", "created", "modified", "contentModified", "statusModified", "status", "uri", "organizations", "languageCodes" };
+        searchBuilder.fetchSource(includeFields, null);
+        searchBuilder.query(builder);
+        searchRequest.source(searchBuilder);
+        return searchRequest;
+    }
+
+    private Set<ResourceDTO> parseContainers(final SearchResponse response,
+                                             final Meta meta) {
+        final Set<ResourceDTO> containers = new LinkedHashSet<>();
+        setResultCounts(meta, response);
+        final DeserializationSample deserialization = domainMetrics.startDeserialization(CodeSchemeDTO.class);
+        response.getHits().forEach(hit -> {
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
-                    try {
-                        final CodeSchemeDTO codeSchemeDto = mapper.readValue(hit.getSourceAsString(), CodeSchemeDTO.class);
-                        containers.add(new ResourceDTO(codeSchemeDto));
-                    } catch (final IOException e) {
-                        LOG.error("getContainers reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                        throw new JsonParsingException(ERR_MSG_USER_406);
-                    }
-                });
+                final CodeSchemeDTO codeSchemeDto = readSource(deserialization, CodeSchemeDTO.class, hit);
+                containers.add(new ResourceDTO(codeSchemeDto));
             } catch (final IOException e) {
-                LOG.error("SearchRequest failed!", e);
-                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+                LOG.error("getContainers reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                throw new JsonParsingException(ERR_MSG_USER_406);
             }
-        }
+        });
+        deserialization.stop();
         return containers;
     }
 
@@ -1052,100 +1337,286 @@ public class DomainImpl implements Domain {
                                          final boolean includeIncomplete,
                                          final Meta meta) {
         validatePageSize(meta);
-        final Set<ResourceDTO> resources = new LinkedHashSet<>();
         if (checkIfIndexExists(ELASTIC_INDEX_CODE) && checkIfIndexExists(ELASTIC_INDEX_EXTENSION)) {
-            final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
-            final SearchRequest searchRequest = new SearchRequest();
-            if (ELASTIC_INDEX_CODE.equalsIgnoreCase(type)) {
-                searchRequest.indices(ELASTIC_INDEX_CODE);
-                searchRequest.types(ELASTIC_TYPE_CODE);
-            } else if (ELASTIC_INDEX_EXTENSION.equalsIgnoreCase(type)) {
-                searchRequest.indices(ELASTIC_INDEX_EXTENSION);
-                searchRequest.types(ELASTIC_TYPE_EXTENSION);
-            } else {
-                searchRequest.indices(ELASTIC_INDEX_CODE, ELASTIC_INDEX_EXTENSION);
-                searchRequest.types(ELASTIC_TYPE_CODE, ELASTIC_TYPE_EXTENSION);
-            }
-            final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
-            final BoolQueryBuilder builder = constructAndOrQueryForPrefLabelAndCodeValue(searchTerm);
-            embedAfterBeforeToBoolQuery(builder, meta);
-            if (containerUris != null && !containerUris.isEmpty()) {
-                final BoolQueryBuilder codeschemeUriQueryBuilder = boolQuery();
-                codeschemeUriQueryBuilder.should(termsQuery("codeScheme.uri", containerUris));
-                codeschemeUriQueryBuilder.should(termsQuery("parentCodeScheme.uri", containerUris));
-                codeschemeUriQueryBuilder.minimumShouldMatch(1);
-                builder.must(codeschemeUriQueryBuilder);
-            } else {
-                final BoolQueryBuilder codeSchemeStatusQueryBuilder = boolQuery();
-                codeSchemeStatusQueryBuilder.should(termsQuery("codeScheme.status.keyword", getRegularStatuses()));
-                codeSchemeStatusQueryBuilder.should(termsQuery("parentCodeScheme.status.keyword", getRegularStatuses()));
-                if (includeIncomplete) {
-                    final BoolQueryBuilder codeSchemeIncompleteQueryBuilder = boolQuery();
-                    if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_CODE)) {
-                        codeSchemeIncompleteQueryBuilder.should(matchQuery("codeScheme.status.keyword", Status.INCOMPLETE.toString()));
-                    }
-                    if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_EXTENSION)) {
-                        codeSchemeIncompleteQueryBuilder.should(matchQuery("parentCodeScheme.status.keyword", Status.INCOMPLETE.toString()));
-                    }
-                    codeSchemeIncompleteQueryBuilder.minimumShouldMatch(1);
-                    codeSchemeStatusQueryBuilder.should(codeSchemeIncompleteQueryBuilder);
-                } else if (includeIncompleteFrom != null && !includeIncompleteFrom.isEmpty()) {
-                    final BoolQueryBuilder codeSchemeIncompleteQueryBuilder = boolQuery();
-                    if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_CODE)) {
-                        final BoolQueryBuilder codeSchemeCodeStatusQueryBuilder = boolQuery();
-                        codeSchemeCodeStatusQueryBuilder.must(matchQuery("codeScheme.status.keyword", Status.INCOMPLETE.toString()));
-                        codeSchemeCodeStatusQueryBuilder.must(nestedQuery("codeScheme.organizations", termsQuery("codeScheme.organizations.id.keyword", includeIncompleteFrom), ScoreMode.None).ignoreUnmapped(true));
-                        codeSchemeIncompleteQueryBuilder.should(codeSchemeCodeStatusQueryBuilder);
-                    }
-                    if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_EXTENSION)) {
-                        final BoolQueryBuilder extensionParentCodeSchemeStatusQueryBuilder = boolQuery();
-                        extensionParentCodeSchemeStatusQueryBuilder.must(matchQuery("parentCodeScheme.status.keyword", Status.INCOMPLETE.toString()));
-                        extensionParentCodeSchemeStatusQueryBuilder.must(nestedQuery("parentCodeScheme.organizations", termsQuery("parentCodeScheme.organizations.id.keyword", includeIncompleteFrom), ScoreMode.None).ignoreUnmapped(true));
-                        codeSchemeIncompleteQueryBuilder.should(extensionParentCodeSchemeStatusQueryBuilder);
-                    }
-                    codeSchemeIncompleteQueryBuilder.minimumShouldMatch(1);
-                    codeSchemeStatusQueryBuilder.should(codeSchemeIncompleteQueryBuilder);
+            final SearchRequest searchRequest = createResourcesSearchRequest(containerUris, includedResourceUris, excludedResourceUris, language, statuses, searchTerm, type, includeIncompleteFrom, includeIncomplete, meta);
+            return parseResources(executeSearch(searchRequest), meta);
+        }
+        return new LinkedHashSet<>();
+    }
+
+    public CompletionStage<CursorPage<ResourceDTO>> getResourcesAsync(final List<String> containerUris,
+                                                                      final List<String> includedResourceUris,
+                                                                      final List<String> excludedResourceUris,
+                                                                      final String language,
+                                                                      final List<String> statuses,
+                                                                      final String searchTerm,
+                                                                      final String type,
+                                                                      final List<String> includeIncompleteFrom,
+                                                                      final boolean includeIncomplete,
+                                                                      final String cursor,
+                                                                      final Meta meta) {
+        validatePageSize(meta);
+        if (checkIfIndexExists(ELASTIC_INDEX_CODE) && checkIfIndexExists(ELASTIC_INDEX_EXTENSION)) {
+            final SearchRequest searchRequest = createResourcesSearchRequest(containerUris, includedResourceUris, excludedResourceUris, language, statuses, searchTerm, type, includeIncompleteFrom, includeIncomplete, meta);
+            final String generation = getGeneration(searchRequest);
+            final String queryHash = createQueryHash(searchRequest);
+            final IntegrationCursor integrationCursor = applyCursor(searchRequest, cursor, generation, queryHash);
+            return applyAsync(searchAsync(searchRequest), response -> new CursorPage<>(parseResources(response, meta), createNextCursor(searchRequest, response, integrationCursor, generation, queryHash, meta)));
+        }
+        return CompletableFuture.completedFuture(new CursorPage<>(new LinkedHashSet<>(), null));
+    }
+
+    private SearchRequest createResourcesSearchRequest(final List<String> containerUris,
+                                                       final List<String> includedResourceUris,
+                                                       final List<String> excludedResourceUris,
+                                                       final String language,
+                                                       final List<String> statuses,
+                                                       final String searchTerm,
+                                                       final String type,
+                                                       final List<String> includeIncompleteFrom,
+                                                       final boolean includeIncomplete,
+                                                       final Meta meta) {
+        final SearchRequest searchRequest = new SearchRequest();
+        if (ELASTIC_INDEX_CODE.equalsIgnoreCase(type)) {
+            searchRequest.indices(ELASTIC_INDEX_CODE);
+            searchRequest.types(ELASTIC_TYPE_CODE);
+        } else if (ELASTIC_INDEX_EXTENSION.equalsIgnoreCase(type)) {
+            searchRequest.indices(ELASTIC_INDEX_EXTENSION);
+            searchRequest.types(ELASTIC_TYPE_EXTENSION);
+        } else {
+            searchRequest.indices(ELASTIC_INDEX_CODE, ELASTIC_INDEX_EXTENSION);
+            searchRequest.types(ELASTIC_TYPE_CODE, ELASTIC_TYPE_EXTENSION);
+        }
+        final SearchSourceBuilder searchBuilder = createSearchSourceBuilderWithPagination(meta);
+        final BoolQueryBuilder builder = constructAndOrQueryForPrefLabelAndCodeValue(searchTerm);
+        embedAfterBeforeToBoolQuery(builder, meta);
+        if (containerUris != null && !containerUris.isEmpty()) {
+            final BoolQueryBuilder codeschemeUriQueryBuilder = boolQuery();
+            codeschemeUriQueryBuilder.should(termsQuery("codeScheme.uri", containerUris));
+            codeschemeUriQueryBuilder.should(termsQuery("parentCodeScheme.uri", containerUris));
+            codeschemeUriQueryBuilder.minimumShouldMatch(1);
+            builder.must(codeschemeUriQueryBuilder);
+        } else {
+            final BoolQueryBuilder codeSchemeStatusQueryBuilder = boolQuery();
+            codeSchemeStatusQueryBuilder.should(termsQuery("codeScheme.status.keyword", getRegularStatuses()));
+            codeSchemeStatusQueryBuilder.should(termsQuery("parentCodeScheme.status.keyword", getRegularStatuses()));
+            if (includeIncomplete) {
+                final BoolQueryBuilder codeSchemeIncompleteQueryBuilder = boolQuery();
+                if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_CODE)) {
+                    codeSchemeIncompleteQueryBuilder.should(matchQuery("codeScheme.status.keyword", Status.INCOMPLETE.toString()));
                 }
-                codeSchemeStatusQueryBuilder.minimumShouldMatch(1);
-                builder.must(codeSchemeStatusQueryBuilder);
-            }
-            if (statuses != null && !statuses.isEmpty()) {
-                builder.must(termsQuery("status.keyword", statuses));
+                if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_EXTENSION)) {
+                    codeSchemeIncompleteQueryBuilder.should(matchQuery("parentCodeScheme.status.keyword", Status.INCOMPLETE.toString()));
+                }
+                codeSchemeIncompleteQueryBuilder.minimumShouldMatch(1);
+                codeSchemeStatusQueryBuilder.should(codeSchemeIncompleteQueryBuilder);
+            } else if (includeIncompleteFrom != null && !includeIncompleteFrom.isEmpty()) {
+                final BoolQueryBuilder codeSchemeIncompleteQueryBuilder = boolQuery();
+                if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_CODE)) {
+                    final BoolQueryBuilder codeSchemeCodeStatusQueryBuilder = boolQuery();
+                    codeSchemeCodeStatusQueryBuilder.must(matchQuery("codeScheme.status.keyword", Status.INCOMPLETE.toString()));
+                    codeSchemeCodeStatusQueryBuilder.must(nestedQuery("codeScheme.organizations", termsQuery("codeScheme.organizations.id.keyword", includeIncompleteFrom), ScoreMode.None).ignoreUnmapped(true));
+                    codeSchemeIncompleteQueryBuilder.should(codeSchemeCodeStatusQueryBuilder);
+                }
+                if (type == null || type.equalsIgnoreCase(ELASTIC_TYPE_EXTENSION)) {
+                    final BoolQueryBuilder extensionParentCodeSchemeStatusQueryBuilder = boolQuery();
+                    extensionParentCodeSchemeStatusQueryBuilder.must(matchQuery("parentCodeScheme.status.keyword", Status.INCOMPLETE.toString()));
+                    extensionParentCodeSchemeStatusQueryBuilder.must(nestedQuery("parentCodeScheme.organizations", termsQuery("parentCodeScheme.organizations.id.keyword", includeIncompleteFrom), ScoreMode.None).ignoreUnmapped(true));
+                    codeSchemeIncompleteQueryBuilder.should(extensionParentCodeSchemeStatusQueryBuilder);
+                }
+                codeSchemeIncompleteQueryBuilder.minimumShouldMatch(1);
+                codeSchemeStatusQueryBuilder.should(codeSchemeIncompleteQueryBuilder);
             }
-            if (includedResourceUris != null && !includedResourceUris.isEmpty()) {
-                builder.must(termsQuery("uri", includedResourceUris));
-            } else if (excludedResourceUris != null && !excludedResourceUris.isEmpty()) {
-                builder.mustNot(termsQuery("uri", excludedResourceUris));
+            codeSchemeStatusQueryBuilder.minimumShouldMatch(1);
+            builder.must(codeSchemeStatusQueryBuilder);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            builder.must(termsQuery("status.keyword", statuses));
+        }
+        if (includedResourceUris != null && !includedResourceUris.isEmpty()) {
+            builder.must(termsQuery("uri", includedResourceUris));
+        } else if (excludedResourceUris != null && !excludedResourceUris.isEmpty()) {
+            builder.mustNot(termsQuery("uri", excludedResourceUris));
+        }
+        addLanguagePrefLabelSort(language, "codeValue.raw", "codeValue.raw", searchBuilder);
+        searchBuilder.sort("id", SortOrder.ASC);
+        final String[] includeFields = new String[]{ "id", "codeValue", "prefLabel", "description", "created", "modified", "contentModified", "statusModified", "status", "uri", "codeScheme", "parentCodeScheme" };
+        searchBuilder.fetchSource(includeFields, null);
+        searchBuilder.query(builder);
+        searchRequest.source(searchBuilder);
+        return searchRequest;
+    }
+
+    private Set<ResourceDTO> parseResources(final SearchResponse response,
+                                            final Meta meta) {
+        final Set<ResourceDTO> resources = new LinkedHashSet<>();
+        setResultCounts(meta, response);
+        final DeserializationSample deserialization = domainMetrics.startDeserialization(ResourceDTO.class);
+        response.getHits().forEach(hit -> {
+            try {
+                final String objectType = hit.getType();
+                if (ELASTIC_TYPE_CODE.equalsIgnoreCase(objectType)) {
+                    final CodeDTO codeDto = readSource(deserialization, CodeDTO.class, hit);
+                    resources.add(new ResourceDTO(codeDto));
+                } else if (ELASTIC_TYPE_EXTENSION.equalsIgnoreCase(objectType)) {
+                    final ExtensionDTO extensionDto = readSource(deserialization, ExtensionDTO.class, hit);
+                    resources.add(new ResourceDTO(extensionDto));
+                }
+            } catch (final IOException e) {
+                LOG.error("getResources reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                throw new JsonParsingException(ERR_MSG_USER_406);
             }
-            addLanguagePrefLabelSort(language, "codeValue.raw", "codeValue.raw", searchBuilder);
-            final String[] includeFields = new String[]{ "id", "codeValue", "prefLabel", "description", "created", "modified", "contentModified", "statusModified", "status", "uri", "codeScheme", "parentCodeScheme" };
-            searchBuilder.fetchSource(includeFields, null);
-            searchBuilder.query(builder);
+        });
+        deserialization.stop();
+        return resources;
+    }
+
+    public Set<String> getExistingUris(final String indexName,
+                                       final Collection<String> uris) {
+        final Set<String> existingUris = new HashSet<>();
+        if (uris == null || uris.isEmpty() || !checkIfIndexExists(indexName)) {
+            return existingUris;
+        }
+        final List<String> lowerCaseUris = uris.stream().map(String::toLowerCase).distinct().collect(Collectors.toList());
+        final List<SearchRequest> searchRequests = new ArrayList<>();
+        for (int i = 0; i < lowerCaseUris.size(); i += MAX_ES_PAGESIZE) {
+            final List<String> chunk = lowerCaseUris.subList(i, Math.min(i + MAX_ES_PAGESIZE, lowerCaseUris.size()));
+            final SearchRequest searchRequest = createSearchRequest(indexName);
+            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+            searchBuilder.query(boolQuery().filter(termsQuery("uri", chunk)));
+            searchBuilder.fetchSource("uri", null);
+            searchBuilder.size(chunk.size());
             searchRequest.source(searchBuilder);
+            searchRequests.add(searchRequest);
+        }
+        for (final SearchResponse response : multiSearch(searchRequests.toArray(new SearchRequest[0]))) {
+            response.getHits().forEach(hit -> {
+                final Object uri = hit.getSourceAsMap().get("uri");
+                if (uri != null) {
+                    existingUris.add(uri.toString().toLowerCase());
+                }
+            });
+        }
+        return existingUris;
+    }
+
+    public CompletionStage<CursorPage<ResourceDTO>> getChangesAsync(final String watermark,
+                                                                    final Meta meta) {
+        validatePageSize(meta);
+        final String[] indices = Arrays.stream(CHANGE_INDICES).filter(this::checkIfIndexExists).toArray(String[]::new);
+        final Object[] sortValues = resolveChangesSortValues(watermark, meta);
+        if (indices.length == 0) {
+            return CompletableFuture.completedFuture(new CursorPage<>(new LinkedHashSet<>(), watermark));
+        }
+        final SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(indices);
+        searchRequest.types(Arrays.stream(indices).map(this::resolveTypeName).toArray(String[]::new));
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.size(meta != null && meta.getPageSize() != null ? meta.getPageSize() : CHANGES_PAGESIZE);
+        final BoolQueryBuilder builder = boolQuery();
+        builder.filter(existsQuery("modified"));
+        builder.filter(rangeQuery("modified").lte(System.currentTimeMillis() - changesSettleMillis).format("epoch_millis"));
+        if (sortValues != null) {
+            builder.filter(rangeQuery("modified").gte(sortValues[0]).format("epoch_millis"));
+            searchBuilder.searchAfter(sortValues);
+        }
+        searchBuilder.query(builder);
+        searchBuilder.sort("modified", SortOrder.ASC);
+        searchBuilder.sort("id", SortOrder.ASC);
+        searchBuilder.fetchSource(CHANGE_INCLUDES, null);
+        searchRequest.source(searchBuilder);
+        return applyAsync(searchAsync(searchRequest), response -> parseChanges(response, watermark, meta));
+    }
+
+    private Object[] resolveChangesSortValues(final String watermark,
+                                              final Meta meta) {
+        if (watermark != null && !watermark.isEmpty()) {
+            final Object[] sortValues = IntegrationCursor.decode(watermark).getSortValues();
+            if (sortValues.length != 2 || !(sortValues[0] instanceof Number)) {
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Malformed watermark parameter!"));
+            }
+            return sortValues;
+        } else if (meta != null && meta.getAfter() != null) {
+            return new Object[]{ meta.getAfter().getTime(), "" };
+        }
+        return null;
+    }
+
+    private CursorPage<ResourceDTO> parseChanges(final SearchResponse response,
+                                                 final String watermark,
+                                                 final Meta meta) {
+        final Set<ResourceDTO> changes = new LinkedHashSet<>();
+        setResultCounts(meta, response);
+        final SearchHit[] hits = response.getHits().getHits();
+        final DeserializationSample deserialization = domainMetrics.startDeserialization(ResourceDTO.class);
+        for (final SearchHit hit : hits) {
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
-                    try {
-                        final String objectType = hit.getType();
-                        if (ELASTIC_TYPE_CODE.equalsIgnoreCase(objectType)) {
-                            final CodeDTO codeDto = mapper.readValue(hit.getSourceAsString(), CodeDTO.class);
-                            resources.add(new ResourceDTO(codeDto));
-                        } else if (ELASTIC_TYPE_EXTENSION.equalsIgnoreCase(objectType)) {
-                            final ExtensionDTO extensionDto = mapper.readValue(hit.getSourceAsString(), ExtensionDTO.class);
-                            resources.add(new ResourceDTO(extensionDto));
-                        }
-                    } catch (final IOException e) {
-                        LOG.error("getResources reading value from JSON string failed: " + hit.getSourceAsString(), e);
-                        throw new JsonParsingException(ERR_MSG_USER_406);
-                    }
-                });
+                final String objectType = hit.getType();
+                if (ELASTIC_TYPE_CODESCHEME.equalsIgnoreCase(objectType)) {
+                    changes.add(new ResourceDTO(readSource(deserialization, CodeSchemeDTO.class, hit)));
+                } else if (ELASTIC_TYPE_CODE.equalsIgnoreCase(objectType)) {
+                    changes.add(new ResourceDTO(readSource(deserialization, CodeDTO.class, hit)));
+                } else if (ELASTIC_TYPE_EXTENSION.equalsIgnoreCase(objectType)) {
+                    changes.add(new ResourceDTO(readSource(deserialization, ExtensionDTO.class, hit)));
+                }
             } catch (final IOException e) {
-                LOG.error("SearchRequest failed!", e);
-                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+                LOG.error("getChanges reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                throw new JsonParsingException(ERR_MSG_USER_406);
             }
         }
-        return resources;
+        deserialization.stop();
+        if (hits.length > 0) {
+            return new CursorPage<>(changes, new IntegrationCursor(null, null, 0, hits[hits.length - 1].getSortValues()).encode());
+        } else if (watermark == null && meta != null && meta.getAfter() != null) {
+            return new CursorPage<>(changes, new IntegrationCursor(null, null, 0, new Object[]{ meta.getAfter().getTime(), "" }).encode());
+        }
+        return new CursorPage<>(changes, watermark);
+    }
+
+    private String getGeneration(final SearchRequest searchRequest) {
+        return Arrays.stream(searchRequest.indices()).map(indexRegistry::getGeneration).collect(Collectors.joining(","));
+    }
+
+    private String createQueryHash(final SearchRequest searchRequest) {
+        final SearchSourceBuilder source = searchRequest.source();
+        final SearchSourceBuilder normalized = new SearchSourceBuilder().query(source.query());
+        if (source.sorts() != null) {
+            source.sorts().forEach(normalized::sort);
+        }
+        return Hashing.murmur3_128().hashString(normalized.toString(), StandardCharsets.UTF_8).toString();
+    }
+
+    private IntegrationCursor applyCursor(final SearchRequest searchRequest,
+                                          final String cursor,
+                                          final String generation,
+                                          final String queryHash) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        final IntegrationCursor integrationCursor = IntegrationCursor.decode(cursor);
+        integrationCursor.validateGeneration(generation);
+        integrationCursor.validateQuery(queryHash);
+        searchRequest.source().from(0);
+        searchRequest.source().searchAfter(integrationCursor.getSortValues());
+        return integrationCursor;
+    }
+
+    private String createNextCursor(final SearchRequest searchRequest,
+                                    final SearchResponse response,
+                                    final IntegrationCursor integrationCursor,
+                                    final String generation,
+                                    final String queryHash,
+                                    final Meta meta) {
+        final SearchHit[] hits = response.getHits().getHits();
+        final Integer pageSize = meta != null ? meta.getPageSize() : null;
+        if (pageSize == null || hits.length == 0 || hits.length < pageSize) {
+            return null;
+        }
+        final long offset = (integrationCursor != null ? integrationCursor.getOffset() : searchRequest.source().from()) + hits.length;
+        if (offset >= response.getHits().getTotalHits()) {
+            return null;
+        }
+        return new IntegrationCursor(generation, queryHash, offset, hits[hits.length - 1].getSortValues()).encode();
     }
 
     private BoolQueryBuilder constructSearchQuery(final String codeValue,
@@ -1250,24 +1721,290 @@ public class DomainImpl implements Domain {
         }
     }
 
-    private ObjectMapper createObjectMapperWithRegisteredModules() {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        return objectMapper;
+    private <T> T getCachedEntity(final String indexName,
+                                  final String cacheKey,
+                                  final Class<T> type,
+                                  final SearchSourceBuilder searchBuilder) {
+        final byte[] source = entityCache.get(indexName, cacheKey, () -> fetchFirstSource(indexName, searchBuilder));
+        if (source == null) {
+            return null;
+        }
+        try {
+            return readSource(type, source);
+        } catch (final IOException e) {
+            LOG.error("getCachedEntity reading value from JSON string failed: " + new String(source, StandardCharsets.UTF_8), e);
+            throw new JsonParsingException(ERR_MSG_USER_406);
+        }
+    }
+
+    private <T> T getCachedEntityById(final String indexName,
+                                      final String id,
+                                      final Class<T> type,
+                                      final SearchSourceBuilder searchBuilder) {
+        final byte[] source = entityCache.get(indexName, createIdCacheKey(id), () -> fetchSourceById(indexName, id, searchBuilder));
+        if (source == null) {
+            return null;
+        }
+        try {
+            return readSource(type, source);
+        } catch (final IOException e) {
+            LOG.error("getCachedEntityById reading value from JSON string failed: " + new String(source, StandardCharsets.UTF_8), e);
+            throw new JsonParsingException(ERR_MSG_USER_406);
+        }
+    }
+
+    private byte[] fetchSourceById(final String indexName,
+                                   final String id,
+                                   final SearchSourceBuilder searchBuilder) {
+        if (!isUuid(id) || !isDirectGetEnabled(indexName)) {
+            return fetchFirstSource(indexName, searchBuilder);
+        }
+        final byte[] source = getSource(indexName, id.toLowerCase());
+        if (source != null) {
+            return source;
+        }
+        final SearchHit hit = fetchFirstHit(indexName, searchBuilder);
+        if (hit == null) {
+            return null;
+        }
+        if (!id.equalsIgnoreCase(hit.getId())) {
+            disableDirectGet(indexName);
+        }
+        return BytesReference.toBytes(hit.getSourceRef());
+    }
+
+    private byte[] getSource(final String indexName,
+                             final String id) {
+        final GetRequest getRequest = new GetRequest(indexName, resolveTypeName(indexName), id);
+        final Timer.Sample sample = domainMetrics.startSample();
+        try {
+            final GetResponse response = client.get(getRequest, RequestOptions.DEFAULT);
+            domainMetrics.recordGet(indexName, sample, response.isExists());
+            if (response.isExists() && !response.isSourceEmpty()) {
+                return BytesReference.toBytes(response.getSourceAsBytesRef());
+            }
+            return null;
+        } catch (final IOException | ElasticsearchStatusException e) {
+            domainMetrics.recordGetFailure(indexName, sample, e);
+            throw translateGetFailure(indexName, e);
+        }
+    }
+
+    private Map<String, byte[]> multiGetSources(final String indexName,
+                                                final Set<String> ids,
+                                                final String[] includes) {
+        final MultiGetRequest multiGetRequest = new MultiGetRequest();
+        final FetchSourceContext fetchSourceContext = includes != null ? new FetchSourceContext(true, includes, null) : FetchSourceContext.FETCH_SOURCE;
+        ids.forEach(id -> multiGetRequest.add(new MultiGetRequest.Item(indexName, resolveTypeName(indexName), id).fetchSourceContext(fetchSourceContext)));
+        final Timer.Sample sample = domainMetrics.startSample();
+        final MultiGetResponse response;
+        try {
+            response = client.mget(multiGetRequest, RequestOptions.DEFAULT);
+        } catch (final IOException | ElasticsearchStatusException e) {
+            domainMetrics.recordGetFailure(indexName, sample, e);
+            throw translateGetFailure(indexName, e);
+        }
+        final Map<String, byte[]> sources = new HashMap<>();
+        int found = 0;
+        for (final MultiGetItemResponse item : response.getResponses()) {
+            if (item.isFailed()) {
+                LOG.warn("MultiGetRequest item failed for id " + item.getId() + ": " + item.getFailure().getMessage());
+            } else if (item.getResponse().isExists() && !item.getResponse().isSourceEmpty()) {
+                sources.put(item.getId(), BytesReference.toBytes(item.getResponse().getSourceAsBytesRef()));
+                found++;
+            }
+        }
+        domainMetrics.recordGet(indexName, sample, found == ids.size());
+        return sources;
+    }
+
+    private RuntimeException translateGetFailure(final String indexName,
+                                                 final Exception e) {
+        if (e instanceof ElasticsearchStatusException && ((ElasticsearchStatusException) e).status() == RestStatus.NOT_FOUND) {
+            LOG.error("GetRequest failed due to missing index!", e);
+            indexRegistry.invalidate(indexName);
+        } else {
+            LOG.error("GetRequest failed!", e);
+        }
+        return new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+    }
+
+    private boolean isDirectGetEnabled(final String indexName) {
+        return !directGetDisabledIndices.contains(indexName);
+    }
+
+    private void disableDirectGet(final String indexName) {
+        if (directGetDisabledIndices.add(indexName)) {
+            LOG.warn("Documents in index " + indexName + " are not stored by their UUID, falling back to searches for id lookups.");
+        }
+    }
+
+    private boolean isUuid(final String id) {
+        if (id == null) {
+            return false;
+        }
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] fetchFirstSource(final String indexName,
+                                    final SearchSourceBuilder searchBuilder) {
+        final SearchHit hit = fetchFirstHit(indexName, searchBuilder);
+        return hit != null ? BytesReference.toBytes(hit.getSourceRef()) : null;
+    }
+
+    private SearchHit fetchFirstHit(final String indexName,
+                                    final SearchSourceBuilder searchBuilder) {
+        final SearchRequest searchRequest = createSearchRequest(indexName);
+        searchRequest.source(searchBuilder);
+        final SearchResponse response = executeSearch(searchRequest);
+        LOG.debug(String.format("Found %d hits from index %s", response.getHits().getTotalHits(), indexName));
+        if (response.getHits().getTotalHits() > 0) {
+            return response.getHits().getAt(0);
+        }
+        return null;
+    }
+
+    private String createIdCacheKey(final String id) {
+        return "id:" + id;
+    }
+
+    private String createPathCacheKey(final String... codeValues) {
+        return "path:" + String.join("/", codeValues).toLowerCase();
+    }
+
+    private <T> T readSource(final Class<T> type,
+                             final SearchHit hit) throws IOException {
+        final DeserializationSample deserialization = domainMetrics.startDeserialization(type);
+        try {
+            return readSource(deserialization, type, hit);
+        } finally {
+            deserialization.stop();
+        }
+    }
+
+    private <T> T readSource(final DeserializationSample deserialization,
+                             final Class<T> type,
+                             final SearchHit hit) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            return ElasticRequestUtils.readSource(objectReaders.forType(type), hit);
+        } catch (final IOException e) {
+            domainMetrics.recordDeserializationFailure(type);
+            throw e;
+        } finally {
+            deserialization.add(System.nanoTime() - start);
+        }
+    }
+
+    private <T> T readSource(final Class<T> type,
+                             final byte[] source) throws IOException {
+        final DeserializationSample deserialization = domainMetrics.startDeserialization(type);
+        try {
+            return readSource(deserialization, type, source);
+        } finally {
+            deserialization.stop();
+        }
+    }
+
+    private <T> T readSource(final DeserializationSample deserialization,
+                             final Class<T> type,
+                             final byte[] source) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            return objectReaders.forType(type).readValue(source);
+        } catch (final IOException e) {
+            domainMetrics.recordDeserializationFailure(type);
+            throw e;
+        } finally {
+            deserialization.add(System.nanoTime() - start);
+        }
     }
 
     private boolean checkIfIndexExists(final String indexName) {
-        final GetIndexRequest request = new GetIndexRequest();
-        request.indices(indexName);
+        return indexRegistry.exists(indexName);
+    }
+
+    private SearchResponse executeSearch(final SearchRequest searchRequest) {
         try {
-            return client.indices().exists(request, RequestOptions.DEFAULT);
+            return search(searchRequest);
         } catch (final IOException e) {
-            LOG.error("Index checking request failed for index: " + indexName, e);
+            LOG.error("SearchRequest failed!", e);
             throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
         }
     }
 
+    private SearchResponse search(final SearchRequest searchRequest) throws IOException {
+        final Timer.Sample sample = domainMetrics.startSample();
+        try {
+            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+            domainMetrics.recordSearch(searchRequest, sample, response);
+            return response;
+        } catch (final IOException e) {
+            domainMetrics.recordSearchFailure(searchRequest, sample, e);
+            throw e;
+        } catch (final ElasticsearchStatusException e) {
+            domainMetrics.recordSearchFailure(searchRequest, sample, e);
+            throw translateStatusException(searchRequest, e);
+        }
+    }
+
+    private CompletableFuture<SearchResponse> searchAsync(final SearchRequest searchRequest) {
+        final CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+        final Timer.Sample sample = domainMetrics.startSample();
+        client.searchAsync(searchRequest, RequestOptions.DEFAULT, ActionListener.wrap(response -> {
+            domainMetrics.recordSearch(searchRequest, sample, response);
+            future.complete(response);
+        }, e -> {
+            domainMetrics.recordSearchFailure(searchRequest, sample, e);
+            if (e instanceof ElasticsearchStatusException) {
+                future.completeExceptionally(translateStatusException(searchRequest, (ElasticsearchStatusException) e));
+            } else {
+                LOG.error("SearchRequest failed!", e);
+                future.completeExceptionally(new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR)));
+            }
+        }));
+        return future;
+    }
+
+    private <T, R> CompletableFuture<R> applyAsync(final CompletionStage<T> stage,
+                                                   final Function<T, R> function) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        stage.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+                return;
+            }
+            try {
+                domainExecutor.execute(() -> {
+                    try {
+                        future.complete(function.apply(value));
+                    } catch (final Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                LOG.warn("Domain executor rejected search response processing.");
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private RuntimeException translateStatusException(final SearchRequest searchRequest,
+                                                      final ElasticsearchStatusException e) {
+        if (e.status() == RestStatus.NOT_FOUND) {
+            LOG.error("SearchRequest failed due to missing index!", e);
+            indexRegistry.invalidate(searchRequest.indices());
+            return new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+        return e;
+    }
+
     private SearchSourceBuilder createSearchSourceBuilderWithPagination(final Meta meta) {
         final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
         searchBuilder.size(meta != null && meta.getPageSize() != null ? meta.getPageSize() : MAX_ES_PAGESIZE);
@@ -1293,26 +2030,38 @@ public class DomainImpl implements Domain {
     }
 
     private SearchRequest createSearchRequest(final String indexName) {
+        return createSearchRequest(indexName, resolveTypeName(indexName));
+    }
+
+    private String resolveTypeName(final String indexName) {
         switch (indexName) {
             case ELASTIC_INDEX_CODEREGISTRY:
-                return createSearchRequest(ELASTIC_INDEX_CODEREGISTRY, ELASTIC_TYPE_CODEREGISTRY);
+                return ELASTIC_TYPE_CODEREGISTRY;
             case ELASTIC_INDEX_CODESCHEME:
-                return createSearchRequest(ELASTIC_INDEX_CODESCHEME, ELASTIC_TYPE_CODESCHEME);
+                return ELASTIC_TYPE_CODESCHEME;
             case ELASTIC_INDEX_CODE:
-                return createSearchRequest(ELASTIC_INDEX_CODE, ELASTIC_TYPE_CODE);
+                return ELASTIC_TYPE_CODE;
             case ELASTIC_INDEX_EXTENSION:
-                return createSearchRequest(ELASTIC_INDEX_EXTENSION, ELASTIC_TYPE_EXTENSION);
+                return ELASTIC_TYPE_EXTENSION;
             case ELASTIC_INDEX_MEMBER:
-                return createSearchRequest(ELASTIC_INDEX_MEMBER, ELASTIC_TYPE_MEMBER);
+                return ELASTIC_TYPE_MEMBER;
             case ELASTIC_INDEX_EXTERNALREFERENCE:
-                return createSearchRequest(ELASTIC_INDEX_EXTERNALREFERENCE, ELASTIC_TYPE_EXTERNALREFERENCE);
+                return ELASTIC_TYPE_EXTERNALREFERENCE;
             case ELASTIC_INDEX_PROPERTYTYPE:
-                return createSearchRequest(ELASTIC_INDEX_PROPERTYTYPE, ELASTIC_TYPE_PROPERTYTYPE);
+                return ELASTIC_TYPE_PROPERTYTYPE;
             case ELASTIC_INDEX_VALUETYPE:
-                return createSearchRequest(ELASTIC_INDEX_VALUETYPE, ELASTIC_TYPE_VALUETYPE);
+                return ELASTIC_TYPE_VALUETYPE;
             default:
-                LOG.error("Trying to create search request with non-supported index: " + indexName);
+                LOG.error("Trying to create request with non-supported index: " + indexName);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
         }
     }
+
+    private static final class DeepSearchHits {
+
+        private final SearchResultWithMetaDataDTO searchResultWithMetaData = new SearchResultWithMetaDataDTO();
+        private final Set<String> codeSchemeUuids = new HashSet<>();
+        private final Set<String> codeSchemeUuidsWithDeepHitsCodes = new HashSet<>();
+        private final Set<String> codeSchemeUuidsWithDeepHitsExtensions = new HashSet<>();
+    }
 }
@@ -0,0 +1,202 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class DomainMetrics {
+
+    private static final String METRIC_CODESCHEME_SEARCH_PHASE = "yti.codelist.codeschemes.search.phase";
+    private static final String METRIC_DOMAIN_METHOD = "yti.codelist.domain.method";
+    private static final String METRIC_ES_CLIENT = "yti.codelist.elasticsearch.client";
+    private static final String METRIC_ES_GET = "yti.codelist.elasticsearch.get";
+    private static final String METRIC_ES_TOOK = "yti.codelist.elasticsearch.took";
+    private static final String METRIC_ES_HITS = "yti.codelist.elasticsearch.hits";
+    private static final String METRIC_ES_FAILURES = "yti.codelist.elasticsearch.failures";
+    private static final String METRIC_ES_DESERIALIZATION = "yti.codelist.elasticsearch.deserialization";
+    private static final String METRIC_ES_DESERIALIZATION_HITS = "yti.codelist.elasticsearch.deserialization.hits";
+    private static final String METRIC_ES_DESERIALIZATION_FAILURES = "yti.codelist.elasticsearch.deserialization.failures";
+    private static final String TAG_PHASE = "phase";
+    private static final String TAG_INDEX = "index";
+    private static final String TAG_METHOD = "method";
+    private static final String TAG_TYPE = "type";
+    private static final String TAG_EXCEPTION = "exception";
+    private static final String TAG_RESULT = "result";
+    private static final String RESULT_FOUND = "found";
+    private static final String RESULT_MISSING = "missing";
+    private static final String RESULT_FAILURE = "failure";
+    private static final String TAG_NONE = "none";
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    private final MeterRegistry meterRegistry;
+    private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<List<String>, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Inject
+    public DomainMetrics(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T instrument(final Class<T> type,
+                            final T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{ type }, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            final long start = System.nanoTime();
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (final InvocationTargetException e) {
+                recordMethod(method.getName(), e.getCause(), start);
+                throw e.getCause();
+            }
+            if (result instanceof CompletionStage) {
+                return ((CompletionStage<?>) result).whenComplete((value, throwable) -> recordMethod(method.getName(), throwable, start));
+            }
+            recordMethod(method.getName(), null, start);
+            return result;
+        }));
+    }
+
+    Timer.Sample startSample() {
+        return Timer.start(meterRegistry);
+    }
+
+    void recordCodeSchemeSearchPhase(final String phase,
+                                     final Timer.Sample sample) {
+        sample.stop(timer(METRIC_CODESCHEME_SEARCH_PHASE, false, TAG_PHASE, phase));
+    }
+
+    void recordSearch(final SearchRequest searchRequest,
+                      final Timer.Sample sample,
+                      final SearchResponse response) {
+        final String index = indexTag(searchRequest);
+        sample.stop(timer(METRIC_ES_CLIENT, true, TAG_INDEX, index, TAG_EXCEPTION, TAG_NONE));
+        recordResponse(index, response);
+    }
+
+    void recordSearchFailure(final SearchRequest searchRequest,
+                             final Timer.Sample sample,
+                             final Exception exception) {
+        final String index = indexTag(searchRequest);
+        sample.stop(timer(METRIC_ES_CLIENT, true, TAG_INDEX, index, TAG_EXCEPTION, exception.getClass().getSimpleName()));
+        Counter.builder(METRIC_ES_FAILURES)
+            .tags(TAG_INDEX, index, TAG_EXCEPTION, exception.getClass().getSimpleName())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    void recordGet(final String index,
+                   final Timer.Sample sample,
+                   final boolean found) {
+        sample.stop(timer(METRIC_ES_GET, false, TAG_INDEX, index, TAG_RESULT, found ? RESULT_FOUND : RESULT_MISSING));
+    }
+
+    void recordGetFailure(final String index,
+                          final Timer.Sample sample,
+                          final Exception exception) {
+        sample.stop(timer(METRIC_ES_GET, false, TAG_INDEX, index, TAG_RESULT, RESULT_FAILURE));
+        Counter.builder(METRIC_ES_FAILURES)
+            .tags(TAG_INDEX, index, TAG_EXCEPTION, exception.getClass().getSimpleName())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    DeserializationSample startDeserialization(final Class<?> type) {
+        return new DeserializationSample(type.getSimpleName());
+    }
+
+    void recordDeserializationFailure(final Class<?> type) {
+        Counter.builder(METRIC_ES_DESERIALIZATION_FAILURES)
+            .tags(TAG_TYPE, type.getSimpleName())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private void recordMethod(final String method,
+                              final Throwable throwable,
+                              final long start) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        final String exception = cause != null ? cause.getClass().getSimpleName() : TAG_NONE;
+        timer(METRIC_DOMAIN_METHOD, true, TAG_METHOD, method, TAG_EXCEPTION, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordResponse(final String index,
+                                final SearchResponse response) {
+        timer(METRIC_ES_TOOK, false, TAG_INDEX, index).record(response.getTook().millis(), TimeUnit.MILLISECONDS);
+        summary(METRIC_ES_HITS, TAG_INDEX, index).record(response.getHits().getHits().length);
+    }
+
+    private Timer timer(final String name,
+                        final boolean histogram,
+                        final String... tags) {
+        return timers.computeIfAbsent(meterKey(name, tags), key -> {
+            final Timer.Builder builder = Timer.builder(name).tags(tags);
+            if (histogram) {
+                builder.publishPercentiles(PERCENTILES).publishPercentileHistogram();
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+
+    private DistributionSummary summary(final String name,
+                                        final String... tags) {
+        return summaries.computeIfAbsent(meterKey(name, tags), key -> DistributionSummary.builder(name).tags(tags).register(meterRegistry));
+    }
+
+    private static List<String> meterKey(final String name,
+                                         final String... tags) {
+        final List<String> key = new ArrayList<>(tags.length + 1);
+        key.add(name);
+        Collections.addAll(key, tags);
+        return key;
+    }
+
+    private String indexTag(final SearchRequest searchRequest) {
+        final String[] indices = searchRequest.indices();
+        return indices != null && indices.length > 0 ? String.join(",", indices) : TAG_NONE;
+    }
+
+    final class DeserializationSample {
+
+        private final String type;
+        private long nanos;
+        private int hits;
+
+        private DeserializationSample(final String type) {
+            this.type = type;
+        }
+
+        void add(final long elapsedNanos) {
+            nanos += elapsedNanos;
+            hits++;
+        }
+
+        void stop() {
+            if (hits > 0) {
+                timer(METRIC_ES_DESERIALIZATION, false, TAG_TYPE, type).record(nanos, TimeUnit.NANOSECONDS);
+                summary(METRIC_ES_DESERIALIZATION_HITS, TAG_TYPE, type).record(hits);
+            }
+        }
+    }
+}
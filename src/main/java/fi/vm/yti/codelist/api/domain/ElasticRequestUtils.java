@@ -1,13 +1,20 @@
 package fi.vm.yti.codelist.api.domain;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.search.SearchHit;
+
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 final class ElasticRequestUtils {
 
+    static final String ELASTIC_QUERY_ERROR = "ElasticSearch index query error!";
+
     private ElasticRequestUtils() {
         // prevent construction
     }
@@ -39,4 +46,10 @@ final class ElasticRequestUtils {
         }
         return null;
     }
+
+    static <T> T readSource(final ObjectReader reader,
+                            final SearchHit hit) throws IOException {
+        final BytesRef source = hit.getSourceRef().toBytesRef();
+        return reader.readValue(source.bytes, source.offset, source.length);
+    }
 }
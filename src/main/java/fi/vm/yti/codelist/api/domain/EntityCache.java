@@ -0,0 +1,107 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
+
+@Component
+public class EntityCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCache.class);
+    private static final String METRIC_ENTITY_CACHE = "yti.codelist.entitycache";
+    private static final String[] CACHED_INDICES = { ELASTIC_INDEX_CODEREGISTRY, ELASTIC_INDEX_CODESCHEME, ELASTIC_INDEX_CODE, ELASTIC_INDEX_EXTENSION };
+
+    private final IndexRegistry indexRegistry;
+    private final Map<String, Cache<String, Optional<byte[]>>> caches = new HashMap<>();
+    private final Map<String, String> watermarks = new ConcurrentHashMap<>();
+
+    @Inject
+    public EntityCache(final IndexRegistry indexRegistry,
+                       final MeterRegistry meterRegistry,
+                       @Value("${application.cache.entity.maximumSize:10000}") final long maximumSize,
+                       @Value("${application.cache.entity.ttlSeconds:300}") final long ttlSeconds,
+                       @Value("${application.cache.entity.disabled:}") final String[] disabledIndices) {
+        this.indexRegistry = indexRegistry;
+        final Set<String> disabled = new HashSet<>(Arrays.asList(disabledIndices));
+        for (final String indexName : CACHED_INDICES) {
+            if (disabled.contains(indexName)) {
+                LOG.info("Entity cache disabled for index: " + indexName);
+                continue;
+            }
+            final Cache<String, Optional<byte[]>> cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+            GuavaCacheMetrics.monitor(meterRegistry, cache, METRIC_ENTITY_CACHE, "index", indexName);
+            caches.put(indexName, cache);
+        }
+    }
+
+    byte[] get(final String indexName,
+               final String key,
+               final Supplier<byte[]> loader) {
+        final Cache<String, Optional<byte[]>> cache = caches.get(indexName);
+        if (cache == null) {
+            return loader.get();
+        }
+        try {
+            return cache.get(key, () -> Optional.ofNullable(loader.get())).orElse(null);
+        } catch (final UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } catch (final ExecutionException e) {
+            throw new UncheckedExecutionException(e.getCause());
+        }
+    }
+
+    public void invalidate(final String indexName) {
+        final Cache<String, Optional<byte[]>> cache = caches.get(indexName);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${application.cache.entity.pollMillis:30000}", fixedDelayString = "${application.cache.entity.pollMillis:30000}")
+    public void pollModifications() {
+        for (final String indexName : caches.keySet()) {
+            try {
+                final String watermark = indexRegistry.refreshContentWatermark(indexName);
+                final String previous = watermarks.put(indexName, watermark);
+                if (previous != null && !previous.equals(watermark)) {
+                    LOG.info("Content modified in index " + indexName + ", invalidating entity cache.");
+                    invalidate(indexName);
+                }
+            } catch (final Exception e) {
+                LOG.warn("Entity cache modification check failed for index: " + indexName, e);
+                invalidate(indexName);
+                watermarks.remove(indexName);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import fi.vm.yti.codelist.api.dto.ResourceDTO;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import fi.vm.yti.codelist.common.dto.ExternalReferenceDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+import fi.vm.yti.codelist.common.dto.Meta;
+import fi.vm.yti.codelist.common.dto.PropertyTypeDTO;
+import fi.vm.yti.codelist.common.dto.ValueTypeDTO;
+
+abstract class ForwardingDomain implements Domain {
+
+    private final Domain delegate;
+
+    ForwardingDomain(final Domain delegate) {
+        this.delegate = delegate;
+    }
+
+    public CodeRegistryDTO getCodeRegistry(final String codeRegistryCodeValue) {
+        return delegate.getCodeRegistry(codeRegistryCodeValue);
+    }
+
+    public Set<CodeRegistryDTO> getCodeRegistries() {
+        return delegate.getCodeRegistries();
+    }
+
+    public Set<CodeRegistryDTO> getCodeRegistries(final String codeRegistryCodeValue,
+                                                  final String codeRegistryPrefLabel,
+                                                  final Meta meta,
+                                                  final List<String> organizations) {
+        return delegate.getCodeRegistries(codeRegistryCodeValue, codeRegistryPrefLabel, meta, organizations);
+    }
+
+    public CodeSchemeDTO getCodeScheme(final String codeSchemeId) {
+        return delegate.getCodeScheme(codeSchemeId);
+    }
+
+    public CodeSchemeDTO getCodeScheme(final String codeRegistryCodeValue,
+                                       final String codeSchemeCodeValue) {
+        return delegate.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
+    }
+
+    public Set<CodeSchemeDTO> getCodeSchemes() {
+        return delegate.getCodeSchemes();
+    }
+
+    public List<CodeSchemeDTO> getCodeSchemesByIds(final Collection<UUID> codeSchemeIds) {
+        return delegate.getCodeSchemesByIds(codeSchemeIds);
+    }
+
+    public Set<CodeSchemeDTO> getCodeSchemesByCodeRegistryCodeValue(final String codeRegistryCodeValue,
+                                                                    final List<String> organizationIds,
+                                                                    final List<String> userOrganizationIds,
+                                                                    final boolean includeIncomplete,
+                                                                    final String language) {
+        return delegate.getCodeSchemesByCodeRegistryCodeValue(codeRegistryCodeValue, organizationIds, userOrganizationIds, includeIncomplete, language);
+    }
+
+    public Set<CodeSchemeDTO> getCodeSchemes(final String sortMode,
+                                             final List<String> organizationIds,
+                                             final List<String> userOrganizationIds,
+                                             final boolean includeIncomplete,
+                                             final String codeRegistryCodeValue,
+                                             final String codeRegistryPrefLabel,
+                                             final String codeSchemeCodeValue,
+                                             final String codeSchemeCodePrefLabel,
+                                             final String language,
+                                             final String searchTerm,
+                                             final boolean searchCodes,
+                                             final boolean searchExtensions,
+                                             final List<String> statuses,
+                                             final List<String> infoDomains,
+                                             final String extensionPropertyType,
+                                             final Meta meta) {
+        return delegate.getCodeSchemes(sortMode, organizationIds, userOrganizationIds, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemeCodePrefLabel, language, searchTerm, searchCodes, searchExtensions, statuses, infoDomains, extensionPropertyType, meta);
+    }
+
+    public CodeDTO getCode(final String codeId) {
+        return delegate.getCode(codeId);
+    }
+
+    public CodeDTO getCode(final String codeRegistryCodeValue,
+                           final String codeSchemeCodeValue,
+                           final String codeCodeValue) {
+        return delegate.getCode(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue);
+    }
+
+    public Set<CodeDTO> getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(final String codeRegistryCodeValue,
+                                                                              final String codeSchemeCodeValue) {
+        return delegate.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeRegistryCodeValue, codeSchemeCodeValue);
+    }
+
+    public Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
+                                 final String codeSchemeCodeValue,
+                                 final String codeCodeValue,
+                                 final String prefLabel,
+                                 final Integer hierarchyLevel,
+                                 final String broaderCodeId,
+                                 final String language,
+                                 final List<String> statuses,
+                                 final Meta meta) {
+        return delegate.getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta);
+    }
+
+    public Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
+                                 final String codeSchemeCodeValue,
+                                 final String codeCodeValue,
+                                 final String prefLabel,
+                                 final Integer hierarchyLevel,
+                                 final String broaderCodeId,
+                                 final String language,
+                                 final List<String> statuses,
+                                 final Meta meta,
+                                 final SourceProjection projection) {
+        return delegate.getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta, projection);
+    }
+
+    public Iterable<CodeDTO> iterateCodes(final String codeRegistryCodeValue,
+                                          final String codeSchemeCodeValue,
+                                          final String codeCodeValue,
+                                          final String prefLabel,
+                                          final Integer hierarchyLevel,
+                                          final String broaderCodeId,
+                                          final String language,
+                                          final List<String> statuses,
+                                          final Meta meta,
+                                          final SourceProjection projection) {
+        return delegate.iterateCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta, projection);
+    }
+
+    public PropertyTypeDTO getPropertyType(final String propertyTypeId) {
+        return delegate.getPropertyType(propertyTypeId);
+    }
+
+    public Set<PropertyTypeDTO> getPropertyTypes(final String propertyTypePrefLabel,
+                                                 final String context,
+                                                 final String language,
+                                                 final String type,
+                                                 final Meta meta) {
+        return delegate.getPropertyTypes(propertyTypePrefLabel, context, language, type, meta);
+    }
+
+    public ValueTypeDTO getValueType(final String valueTypeId) {
+        return delegate.getValueType(valueTypeId);
+    }
+
+    public Set<ValueTypeDTO> getValueTypes(final String localName,
+                                           final Meta meta) {
+        return delegate.getValueTypes(localName, meta);
+    }
+
+    public ExternalReferenceDTO getExternalReference(final String externalReferenceId) {
+        return delegate.getExternalReference(externalReferenceId);
+    }
+
+    public Set<ExternalReferenceDTO> getExternalReferences(final CodeSchemeDTO codeScheme) {
+        return delegate.getExternalReferences(codeScheme);
+    }
+
+    public Set<ExternalReferenceDTO> getExternalReferences(final String externalReferencePrefLabel,
+                                                           final CodeSchemeDTO codeScheme,
+                                                           final boolean full,
+                                                           final Meta meta) {
+        return delegate.getExternalReferences(externalReferencePrefLabel, codeScheme, full, meta);
+    }
+
+    public Set<ExtensionDTO> getExtensions(final CodeSchemeDTO codeScheme) {
+        return delegate.getExtensions(codeScheme);
+    }
+
+    public Set<ExtensionDTO> getExtensions(final String extensionPrefLabel,
+                                           final Meta meta) {
+        return delegate.getExtensions(extensionPrefLabel, meta);
+    }
+
+    public Set<ExtensionDTO> getExtensions(final CodeSchemeDTO codeScheme,
+                                           final String extensionPrefLabel,
+                                           final Meta meta) {
+        return delegate.getExtensions(codeScheme, extensionPrefLabel, meta);
+    }
+
+    public ExtensionDTO getExtension(final String codeRegistryCodeValue,
+                                     final String codeSchemeCodeValue,
+                                     final String extensionCodeValue) {
+        return delegate.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
+    }
+
+    public ExtensionDTO getExtension(final String extensionId) {
+        return delegate.getExtension(extensionId);
+    }
+
+    public Set<MemberDTO> getMembers(final Meta meta) {
+        return delegate.getMembers(meta);
+    }
+
+    public Set<MemberDTO> getMembers(final Meta meta,
+                                     final SourceProjection projection) {
+        return delegate.getMembers(meta, projection);
+    }
+
+    public Set<MemberDTO> getMembers(final ExtensionDTO code,
+                                     final Meta meta) {
+        return delegate.getMembers(code, meta);
+    }
+
+    public Set<MemberDTO> getMembers(final ExtensionDTO extension,
+                                     final Meta meta,
+                                     final SourceProjection projection) {
+        return delegate.getMembers(extension, meta, projection);
+    }
+
+    public Set<MemberDTO> getMembers(final CodeDTO code,
+                                     final Meta meta) {
+        return delegate.getMembers(code, meta);
+    }
+
+    public MemberDTO getMember(final String memberId,
+                               final String extensionCodeValue) {
+        return delegate.getMember(memberId, extensionCodeValue);
+    }
+
+    public MemberDTO getMember(final String memberId,
+                               final String extensionCodeValue,
+                               final String parentCodeSchemeValue) {
+        return delegate.getMember(memberId, extensionCodeValue, parentCodeSchemeValue);
+    }
+
+    public Set<ResourceDTO> getContainers(final List<String> includedContainerUris,
+                                          final List<String> excludedContainerUris,
+                                          final String language,
+                                          final List<String> statuses,
+                                          final String searchTerm,
+                                          final List<String> includeIncompleteFrom,
+                                          final boolean includeIncomplete,
+                                          final Meta meta) {
+        return delegate.getContainers(includedContainerUris, excludedContainerUris, language, statuses, searchTerm, includeIncompleteFrom, includeIncomplete, meta);
+    }
+
+    public Set<ResourceDTO> getResources(final List<String> codeSchemeUris,
+                                         final List<String> includedResourceUris,
+                                         final List<String> excludedResourceUris,
+                                         final String language,
+                                         final List<String> statuses,
+                                         final String type,
+                                         final String searchTerm,
+                                         final List<String> includeIncompleteFrom,
+                                         final boolean includeIncomplete,
+                                         final Meta meta) {
+        return delegate.getResources(codeSchemeUris, includedResourceUris, excludedResourceUris, language, statuses, type, searchTerm, includeIncompleteFrom, includeIncomplete, meta);
+    }
+
+    public Set<String> getExistingUris(final String indexName,
+                                       final Collection<String> uris) {
+        return delegate.getExistingUris(indexName, uris);
+    }
+}
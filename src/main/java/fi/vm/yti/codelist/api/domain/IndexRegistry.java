@@ -0,0 +1,194 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import static fi.vm.yti.codelist.api.domain.ElasticRequestUtils.ELASTIC_QUERY_ERROR;
+
+@Component
+public class IndexRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexRegistry.class);
+    private static final String SETTING_INDEX_UUID = "index.uuid";
+    private static final String MAX_MODIFIED = "max_modified";
+    private static final String MAX_CONTENT_MODIFIED = "max_content_modified";
+
+    private final RestHighLevelClient client;
+    private final long ttlMillis;
+    private final long watermarkTtlMillis;
+    private final Map<String, IndexMetadata> indices = new ConcurrentHashMap<>();
+    private final Map<String, ContentWatermark> watermarks = new ConcurrentHashMap<>();
+
+    @Inject
+    public IndexRegistry(final RestHighLevelClient elasticSearchRestHighLevelClient,
+                         @Value("${application.elasticsearch.indexCacheTtlMillis:60000}") final long ttlMillis,
+                         @Value("${application.elasticsearch.watermarkTtlMillis:30000}") final long watermarkTtlMillis) {
+        this.client = elasticSearchRestHighLevelClient;
+        this.ttlMillis = ttlMillis;
+        this.watermarkTtlMillis = watermarkTtlMillis;
+    }
+
+    public boolean exists(final String indexName) {
+        return getMetadata(indexName).exists();
+    }
+
+    public String getGeneration(final String indexName) {
+        final IndexMetadata metadata = getMetadata(indexName);
+        return metadata.exists() ? metadata.getConcreteIndexName() + ":" + metadata.getUuid() : null;
+    }
+
+    public String getContentWatermark(final String indexName) {
+        final ContentWatermark watermark = watermarks.get(indexName);
+        if (watermark != null && !watermark.isExpired(watermarkTtlMillis)) {
+            return watermark.value;
+        }
+        return refreshContentWatermark(indexName);
+    }
+
+    public String refreshContentWatermark(final String indexName) {
+        final String watermark = fetchContentWatermark(indexName);
+        watermarks.put(indexName, new ContentWatermark(watermark));
+        return watermark;
+    }
+
+    private String fetchContentWatermark(final String indexName) {
+        final String generation = getGeneration(indexName);
+        if (generation == null) {
+            return "";
+        }
+        final SearchRequest searchRequest = new SearchRequest(indexName);
+        searchRequest.source(new SearchSourceBuilder()
+            .size(0)
+            .aggregation(AggregationBuilders.max(MAX_MODIFIED).field("modified"))
+            .aggregation(AggregationBuilders.max(MAX_CONTENT_MODIFIED).field("contentModified")));
+        try {
+            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+            final Max maxModified = response.getAggregations().get(MAX_MODIFIED);
+            final Max maxContentModified = response.getAggregations().get(MAX_CONTENT_MODIFIED);
+            return generation + ":" + response.getHits().getTotalHits() + ":" + Math.max(maxModified.getValue(), maxContentModified.getValue());
+        } catch (final IOException e) {
+            LOG.error("Content watermark request failed for index: " + indexName, e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+    }
+
+    public void invalidate(final String... indexNames) {
+        for (final String indexName : indexNames) {
+            LOG.info("Invalidating cached metadata for index: " + indexName);
+            indices.remove(indexName);
+            watermarks.remove(indexName);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${application.elasticsearch.indexCacheRefreshMillis:30000}", fixedDelayString = "${application.elasticsearch.indexCacheRefreshMillis:30000}")
+    public void refreshAll() {
+        for (final String indexName : indices.keySet()) {
+            try {
+                refresh(indexName);
+            } catch (final YtiCodeListException e) {
+                LOG.warn("Background refresh failed for index: " + indexName);
+            }
+        }
+    }
+
+    private IndexMetadata getMetadata(final String indexName) {
+        final IndexMetadata metadata = indices.get(indexName);
+        if (metadata != null && !metadata.isExpired(ttlMillis)) {
+            return metadata;
+        }
+        return refresh(indexName);
+    }
+
+    private IndexMetadata refresh(final String indexName) {
+        final GetIndexRequest request = new GetIndexRequest();
+        request.indices(indexName);
+        final IndexMetadata metadata;
+        try {
+            if (client.indices().exists(request, RequestOptions.DEFAULT)) {
+                final GetSettingsRequest settingsRequest = new GetSettingsRequest().indices(indexName).names(SETTING_INDEX_UUID);
+                final GetSettingsResponse settingsResponse = client.indices().getSettings(settingsRequest, RequestOptions.DEFAULT);
+                final Iterator<String> concreteIndexNames = settingsResponse.getIndexToSettings().keysIt();
+                final String concreteIndexName = concreteIndexNames.hasNext() ? concreteIndexNames.next() : indexName;
+                metadata = new IndexMetadata(true, concreteIndexName, settingsResponse.getSetting(concreteIndexName, SETTING_INDEX_UUID));
+            } else {
+                metadata = new IndexMetadata(false, null, null);
+            }
+        } catch (final IOException e) {
+            LOG.error("Index checking request failed for index: " + indexName, e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+        indices.put(indexName, metadata);
+        return metadata;
+    }
+
+    private static final class ContentWatermark {
+
+        private final String value;
+        private final long fetchedAt;
+
+        private ContentWatermark(final String value) {
+            this.value = value;
+            this.fetchedAt = System.currentTimeMillis();
+        }
+
+        private boolean isExpired(final long ttlMillis) {
+            return System.currentTimeMillis() - fetchedAt > ttlMillis;
+        }
+    }
+
+    private static final class IndexMetadata {
+
+        private final boolean exists;
+        private final String concreteIndexName;
+        private final String uuid;
+        private final long fetchedAt;
+
+        private IndexMetadata(final boolean exists,
+                              final String concreteIndexName,
+                              final String uuid) {
+            this.exists = exists;
+            this.concreteIndexName = concreteIndexName;
+            this.uuid = uuid;
+            this.fetchedAt = System.currentTimeMillis();
+        }
+
+        private boolean exists() {
+            return exists;
+        }
+
+        private String getConcreteIndexName() {
+            return concreteIndexName;
+        }
+
+        private String getUuid() {
+            return uuid;
+        }
+
+        private boolean isExpired(final long ttlMillis) {
+            return System.currentTimeMillis() - fetchedAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+
+final class IntegrationCursor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntegrationCursor.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String generation;
+    private final String query;
+    private final long offset;
+    private final Object[] sortValues;
+
+    @JsonCreator
+    IntegrationCursor(@JsonProperty("g") final String generation,
+                      @JsonProperty("q") final String query,
+                      @JsonProperty("o") final long offset,
+                      @JsonProperty("s") final Object[] sortValues) {
+        this.generation = generation;
+        this.query = query;
+        this.offset = offset;
+        this.sortValues = sortValues;
+    }
+
+    static IntegrationCursor decode(final String token) {
+        try {
+            final IntegrationCursor cursor = MAPPER.readValue(Base64.getUrlDecoder().decode(token), IntegrationCursor.class);
+            if (cursor.sortValues == null || cursor.sortValues.length == 0) {
+                throw new IOException("Incomplete cursor token.");
+            }
+            return cursor;
+        } catch (final IOException | IllegalArgumentException e) {
+            LOG.debug("Cursor token decoding failed: " + token, e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Malformed cursor parameter!"));
+        }
+    }
+
+    String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (final IOException e) {
+            LOG.error("Cursor token encoding failed!", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Cursor token encoding failed!"));
+        }
+    }
+
+    void validateGeneration(final String currentGeneration) {
+        if (generation == null || !generation.equals(currentGeneration)) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.GONE.value(), "Cursor refers to a replaced index, restart paging without cursor."));
+        }
+    }
+
+    void validateQuery(final String currentQuery) {
+        if (query == null || !query.equals(currentQuery)) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.BAD_REQUEST.value(), "Cursor was issued for different query parameters, repeat the parameters of the first page."));
+        }
+    }
+
+    @JsonProperty("g")
+    String getGeneration() {
+        return generation;
+    }
+
+    @JsonProperty("q")
+    String getQuery() {
+        return query;
+    }
+
+    @JsonProperty("o")
+    long getOffset() {
+        return offset;
+    }
+
+    @JsonProperty("s")
+    Object[] getSortValues() {
+        return sortValues;
+    }
+}
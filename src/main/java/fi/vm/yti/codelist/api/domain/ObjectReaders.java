@@ -0,0 +1,53 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import fi.vm.yti.codelist.api.dto.IntegrationResourceRequestDTO;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import fi.vm.yti.codelist.common.dto.ExternalReferenceDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+import fi.vm.yti.codelist.common.dto.PropertyTypeDTO;
+import fi.vm.yti.codelist.common.dto.ValueTypeDTO;
+
+@Component
+public class ObjectReaders {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader treeReader;
+    private final Map<Class<?>, ObjectReader> readers;
+
+    public ObjectReaders() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        treeReader = objectMapper.readerFor(JsonNode.class);
+        final Map<Class<?>, ObjectReader> typeReaders = new HashMap<>();
+        for (final Class<?> type : Arrays.asList(CodeRegistryDTO.class, CodeSchemeDTO.class, CodeDTO.class, ExtensionDTO.class, MemberDTO.class, ExternalReferenceDTO.class, PropertyTypeDTO.class, ValueTypeDTO.class, IntegrationResourceRequestDTO.class)) {
+            typeReaders.put(type, objectMapper.readerFor(type));
+        }
+        readers = Collections.unmodifiableMap(typeReaders);
+    }
+
+    public ObjectReader forType(final Class<?> type) {
+        final ObjectReader reader = readers.get(type);
+        return reader != null ? reader : objectMapper.readerFor(type);
+    }
+
+    public ObjectReader forTree() {
+        return treeReader;
+    }
+}
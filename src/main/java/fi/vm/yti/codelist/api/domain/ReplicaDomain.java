@@ -0,0 +1,639 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.dto.ResourceDTO;
+import fi.vm.yti.codelist.api.exception.JsonParsingException;
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import fi.vm.yti.codelist.common.dto.ExternalReferenceDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+import fi.vm.yti.codelist.common.dto.Meta;
+import fi.vm.yti.codelist.common.dto.PropertyTypeDTO;
+import fi.vm.yti.codelist.common.dto.ValueTypeDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import static fi.vm.yti.codelist.api.exception.ErrorConstants.ERR_MSG_USER_406;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
+
+@Component
+@Profile(ReplicaDomain.PROFILE_REPLICA)
+public class ReplicaDomain extends ForwardingDomain implements AsyncDomain {
+
+    public static final String PROFILE_REPLICA = "replica";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaDomain.class);
+    private static final String[] REPLICATED_INDICES = { ELASTIC_INDEX_CODEREGISTRY, ELASTIC_INDEX_CODESCHEME, ELASTIC_INDEX_CODE, ELASTIC_INDEX_EXTENSION, ELASTIC_INDEX_MEMBER, ELASTIC_INDEX_EXTERNALREFERENCE, ELASTIC_INDEX_PROPERTYTYPE, ELASTIC_INDEX_VALUETYPE };
+    private static final TimeValue SCROLL_KEEPALIVE = TimeValue.timeValueMinutes(1);
+    private static final int SCROLL_PAGESIZE = 1000;
+    private static final UUID ROOT_ID = new UUID(0L, 0L);
+    private static final String METRIC_REPLICA_READ = "yti.codelist.replica.read";
+    private static final String TAG_INDEX = "index";
+
+    private final AsyncDomain asyncDelegate;
+    private final RestHighLevelClient client;
+    private final IndexRegistry indexRegistry;
+    private final ObjectReaders objectReaders;
+    private final MeterRegistry meterRegistry;
+    private volatile Snapshot snapshot;
+
+    @Inject
+    public ReplicaDomain(final DomainImpl domainImpl,
+                         final RestHighLevelClient elasticSearchRestHighLevelClient,
+                         final IndexRegistry indexRegistry,
+                         final ObjectReaders objectReaders,
+                         final MeterRegistry meterRegistry) {
+        super(domainImpl);
+        this.asyncDelegate = domainImpl;
+        this.client = elasticSearchRestHighLevelClient;
+        this.indexRegistry = indexRegistry;
+        this.objectReaders = objectReaders;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        refresh();
+        if (snapshot == null) {
+            LOG.warn("Initial replica snapshot not available, serving from ElasticSearch until the next refresh.");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${application.replica.refreshMillis:60000}", fixedDelayString = "${application.replica.refreshMillis:60000}")
+    public void refresh() {
+        try {
+            final String signature = createSignature();
+            final Snapshot current = snapshot;
+            if (current != null && current.signature.equals(signature)) {
+                return;
+            }
+            final long start = System.currentTimeMillis();
+            snapshot = loadSnapshot(signature);
+            LOG.info(String.format("Replica snapshot loaded in %d ms.", System.currentTimeMillis() - start));
+        } catch (final IOException | RuntimeException e) {
+            LOG.error("Replica snapshot loading failed, keeping the previous snapshot.", e);
+        }
+    }
+
+    public CodeRegistryDTO getCodeRegistry(final String codeRegistryCodeValue) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getCodeRegistry(codeRegistryCodeValue);
+        }
+        return current.codeRegistries.find(codeRegistryCodeValue, CodeRegistryDTO.class);
+    }
+
+    public Set<CodeRegistryDTO> getCodeRegistries() {
+        return getCodeRegistries(null, null, null, null);
+    }
+
+    public Set<CodeRegistryDTO> getCodeRegistries(final String codeRegistryCodeValue,
+                                                  final String codeRegistryPrefLabel,
+                                                  final Meta meta,
+                                                  final List<String> organizations) {
+        final Snapshot current = snapshot;
+        if (current == null || codeRegistryCodeValue != null || codeRegistryPrefLabel != null || !isEmpty(organizations) || !isUnfiltered(meta)) {
+            return super.getCodeRegistries(codeRegistryCodeValue, codeRegistryPrefLabel, meta, organizations);
+        }
+        return current.codeRegistries.getChildren(ROOT_ID.toString(), CodeRegistryDTO.class, meta, DomainImpl.MAX_ES_PAGESIZE);
+    }
+
+    public CompletionStage<Set<CodeRegistryDTO>> getCodeRegistriesAsync(final String codeRegistryCodeValue,
+                                                                        final String codeRegistryPrefLabel,
+                                                                        final Meta meta,
+                                                                        final List<String> organizations) {
+        final Snapshot current = snapshot;
+        if (current == null || codeRegistryCodeValue != null || codeRegistryPrefLabel != null || !isEmpty(organizations) || !isUnfiltered(meta)) {
+            return asyncDelegate.getCodeRegistriesAsync(codeRegistryCodeValue, codeRegistryPrefLabel, meta, organizations);
+        }
+        return CompletableFuture.completedFuture(current.codeRegistries.getChildren(ROOT_ID.toString(), CodeRegistryDTO.class, meta, DomainImpl.MAX_ES_PAGESIZE));
+    }
+
+    public CompletionStage<Set<CodeSchemeDTO>> getCodeSchemesAsync(final String sortMode,
+                                                                   final List<String> organizationIds,
+                                                                   final List<String> userOrganizationIds,
+                                                                   final boolean includeIncomplete,
+                                                                   final String codeRegistryCodeValue,
+                                                                   final String codeRegistryPrefLabel,
+                                                                   final String codeSchemeCodeValue,
+                                                                   final String codeSchemeCodePrefLabel,
+                                                                   final String language,
+                                                                   final String searchTerm,
+                                                                   final boolean searchCodes,
+                                                                   final boolean searchExtensions,
+                                                                   final List<String> statuses,
+                                                                   final List<String> infoDomains,
+                                                                   final String extensionPropertyType,
+                                                                   final Meta meta) {
+        return asyncDelegate.getCodeSchemesAsync(sortMode, organizationIds, userOrganizationIds, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemeCodePrefLabel, language, searchTerm, searchCodes, searchExtensions, statuses, infoDomains, extensionPropertyType, meta);
+    }
+
+    public CompletionStage<CursorPage<ResourceDTO>> getContainersAsync(final List<String> includedContainerUris,
+                                                                       final List<String> excludedContainerUris,
+                                                                       final String language,
+                                                                       final List<String> statuses,
+                                                                       final String searchTerm,
+                                                                       final List<String> includeIncompleteFrom,
+                                                                       final boolean includeIncomplete,
+                                                                       final String cursor,
+                                                                       final Meta meta) {
+        return asyncDelegate.getContainersAsync(includedContainerUris, excludedContainerUris, language, statuses, searchTerm, includeIncompleteFrom, includeIncomplete, cursor, meta);
+    }
+
+    public CompletionStage<CursorPage<ResourceDTO>> getResourcesAsync(final List<String> containerUris,
+                                                                      final List<String> includedResourceUris,
+                                                                      final List<String> excludedResourceUris,
+                                                                      final String language,
+                                                                      final List<String> statuses,
+                                                                      final String searchTerm,
+                                                                      final String type,
+                                                                      final List<String> includeIncompleteFrom,
+                                                                      final boolean includeIncomplete,
+                                                                      final String cursor,
+                                                                      final Meta meta) {
+        return asyncDelegate.getResourcesAsync(containerUris, includedResourceUris, excludedResourceUris, language, statuses, searchTerm, type, includeIncompleteFrom, includeIncomplete, cursor, meta);
+    }
+
+    public CompletionStage<CursorPage<ResourceDTO>> getChangesAsync(final String watermark,
+                                                                    final Meta meta) {
+        return asyncDelegate.getChangesAsync(watermark, meta);
+    }
+
+    public CodeSchemeDTO getCodeScheme(final String codeSchemeId) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getCodeScheme(codeSchemeId);
+        }
+        return current.codeSchemes.get(codeSchemeId, CodeSchemeDTO.class);
+    }
+
+    public CodeSchemeDTO getCodeScheme(final String codeRegistryCodeValue,
+                                       final String codeSchemeCodeValue) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
+        }
+        return current.codeSchemes.find(createPath(codeRegistryCodeValue, codeSchemeCodeValue), CodeSchemeDTO.class);
+    }
+
+    public List<CodeSchemeDTO> getCodeSchemesByIds(final Collection<UUID> codeSchemeIds) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getCodeSchemesByIds(codeSchemeIds);
+        }
+        final List<CodeSchemeDTO> codeSchemes = new ArrayList<>();
+        if (codeSchemeIds != null) {
+            for (final UUID codeSchemeId : codeSchemeIds) {
+                final CodeSchemeDTO codeScheme = current.codeSchemes.get(codeSchemeId.toString(), CodeSchemeDTO.class);
+                if (codeScheme != null) {
+                    codeSchemes.add(codeScheme);
+                }
+            }
+        }
+        return codeSchemes;
+    }
+
+    public CodeDTO getCode(final String codeId) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getCode(codeId);
+        }
+        return current.codes.get(codeId, CodeDTO.class);
+    }
+
+    public CodeDTO getCode(final String codeRegistryCodeValue,
+                           final String codeSchemeCodeValue,
+                           final String codeCodeValue) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getCode(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue);
+        }
+        return current.codes.find(createPath(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue), CodeDTO.class);
+    }
+
+    public Set<CodeDTO> getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(final String codeRegistryCodeValue,
+                                                                              final String codeSchemeCodeValue) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeRegistryCodeValue, codeSchemeCodeValue);
+        }
+        final String codeSchemeId = current.codeSchemes.findId(createPath(codeRegistryCodeValue, codeSchemeCodeValue));
+        return current.codes.getChildren(codeSchemeId, CodeDTO.class);
+    }
+
+    public Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
+                                 final String codeSchemeCodeValue,
+                                 final String codeCodeValue,
+                                 final String prefLabel,
+                                 final Integer hierarchyLevel,
+                                 final String broaderCodeId,
+                                 final String language,
+                                 final List<String> statuses,
+                                 final Meta meta) {
+        return getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta, SourceProjection.FULL);
+    }
+
+    public Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
+                                 final String codeSchemeCodeValue,
+                                 final String codeCodeValue,
+                                 final String prefLabel,
+                                 final Integer hierarchyLevel,
+                                 final String broaderCodeId,
+                                 final String language,
+                                 final List<String> statuses,
+                                 final Meta meta,
+                                 final SourceProjection projection) {
+        final Snapshot current = snapshot;
+        if (current == null || codeCodeValue != null || prefLabel != null || hierarchyLevel != null || broaderCodeId != null || (language != null && !language.isEmpty()) || !isEmpty(statuses) || !isUnfiltered(meta)) {
+            return super.getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statuses, meta, projection);
+        }
+        final String codeSchemeId = current.codeSchemes.findId(createPath(codeRegistryCodeValue, codeSchemeCodeValue));
+        return current.codes.getChildren(codeSchemeId, CodeDTO.class, meta, Integer.MAX_VALUE);
+    }
+
+    public PropertyTypeDTO getPropertyType(final String propertyTypeId) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getPropertyType(propertyTypeId);
+        }
+        return current.propertyTypes.find(propertyTypeId, PropertyTypeDTO.class);
+    }
+
+    public ValueTypeDTO getValueType(final String valueTypeId) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getValueType(valueTypeId);
+        }
+        return current.valueTypes.find(valueTypeId, ValueTypeDTO.class);
+    }
+
+    public ExternalReferenceDTO getExternalReference(final String externalReferenceId) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getExternalReference(externalReferenceId);
+        }
+        return current.externalReferences.get(externalReferenceId, ExternalReferenceDTO.class);
+    }
+
+    public Set<ExtensionDTO> getExtensions(final CodeSchemeDTO codeScheme) {
+        final Snapshot current = snapshot;
+        if (current == null || codeScheme == null) {
+            return super.getExtensions(codeScheme);
+        }
+        return current.extensions.getChildren(codeScheme.getId().toString(), ExtensionDTO.class);
+    }
+
+    public Set<ExtensionDTO> getExtensions(final CodeSchemeDTO codeScheme,
+                                           final String extensionPrefLabel,
+                                           final Meta meta) {
+        final Snapshot current = snapshot;
+        if (current == null || codeScheme == null || extensionPrefLabel != null || !isUnfiltered(meta)) {
+            return super.getExtensions(codeScheme, extensionPrefLabel, meta);
+        }
+        return current.extensions.getChildren(codeScheme.getId().toString(), ExtensionDTO.class, meta, DomainImpl.MAX_ES_PAGESIZE);
+    }
+
+    public ExtensionDTO getExtension(final String codeRegistryCodeValue,
+                                     final String codeSchemeCodeValue,
+                                     final String extensionCodeValue) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
+        }
+        return current.extensions.find(createPath(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue), ExtensionDTO.class);
+    }
+
+    public ExtensionDTO getExtension(final String extensionId) {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            return super.getExtension(extensionId);
+        }
+        return current.extensions.get(extensionId, ExtensionDTO.class);
+    }
+
+    public Set<MemberDTO> getMembers(final ExtensionDTO extension,
+                                     final Meta meta) {
+        return getMembers(extension, meta, SourceProjection.FULL);
+    }
+
+    public Set<MemberDTO> getMembers(final ExtensionDTO extension,
+                                     final Meta meta,
+                                     final SourceProjection projection) {
+        final Snapshot current = snapshot;
+        if (current == null || extension == null || !isUnfiltered(meta)) {
+            return super.getMembers(extension, meta, projection);
+        }
+        return current.members.getChildren(extension.getId().toString(), MemberDTO.class, meta, DomainImpl.MAX_ES_PAGESIZE);
+    }
+
+    private static boolean isUnfiltered(final Meta meta) {
+        return meta == null || (meta.getAfter() == null && meta.getBefore() == null);
+    }
+
+    private static boolean isEmpty(final List<String> values) {
+        return values == null || values.isEmpty();
+    }
+
+    private String createSignature() {
+        final StringBuilder signature = new StringBuilder();
+        for (final String indexName : REPLICATED_INDICES) {
+            signature.append(indexName).append('=').append(indexRegistry.refreshContentWatermark(indexName)).append(';');
+        }
+        return signature.toString();
+    }
+
+    private Snapshot loadSnapshot(final String signature) throws IOException {
+        final Table codeRegistries = loadTable(ELASTIC_INDEX_CODEREGISTRY, CodeRegistryDTO.class, CodeRegistryDTO::getId,
+            codeRegistry -> Collections.singletonList(createPath(codeRegistry.getCodeValue())),
+            codeRegistry -> ROOT_ID,
+            Comparator.comparing(CodeRegistryDTO::getCodeValue, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        final Table codeSchemes = loadTable(ELASTIC_INDEX_CODESCHEME, CodeSchemeDTO.class, CodeSchemeDTO::getId, ReplicaDomain::createCodeSchemePaths, null, null);
+        final Table codes = loadTable(ELASTIC_INDEX_CODE, CodeDTO.class, CodeDTO::getId,
+            code -> createPaths(createCodeSchemePaths(code.getCodeScheme()), code.getCodeValue(), code.getId()),
+            code -> code.getCodeScheme() != null ? code.getCodeScheme().getId() : null,
+            Comparator.comparing(CodeDTO::getOrder, Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(code -> code.getId().toString()));
+        final Table extensions = loadTable(ELASTIC_INDEX_EXTENSION, ExtensionDTO.class, ExtensionDTO::getId,
+            extension -> createPaths(createCodeSchemePaths(extension.getParentCodeScheme()), extension.getCodeValue(), extension.getId()),
+            extension -> extension.getParentCodeScheme() != null ? extension.getParentCodeScheme().getId() : null,
+            Comparator.comparing(ExtensionDTO::getCodeValue, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        final Table members = loadTable(ELASTIC_INDEX_MEMBER, MemberDTO.class, MemberDTO::getId, null,
+            member -> member.getExtension() != null ? member.getExtension().getId() : null,
+            Comparator.comparing(MemberDTO::getOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+        final Table externalReferences = loadTable(ELASTIC_INDEX_EXTERNALREFERENCE, ExternalReferenceDTO.class, ExternalReferenceDTO::getId, null, null, null);
+        final Table propertyTypes = loadTable(ELASTIC_INDEX_PROPERTYTYPE, PropertyTypeDTO.class, PropertyTypeDTO::getId,
+            propertyType -> Collections.singletonList(createPath(propertyType.getLocalName())), null, null);
+        final Table valueTypes = loadTable(ELASTIC_INDEX_VALUETYPE, ValueTypeDTO.class, ValueTypeDTO::getId,
+            valueType -> Collections.singletonList(createPath(valueType.getLocalName())), null, null);
+        return new Snapshot(signature, codeRegistries, codeSchemes, codes, extensions, members, externalReferences, propertyTypes, valueTypes);
+    }
+
+    private <T> Table loadTable(final String indexName,
+                                final Class<T> type,
+                                final Function<T, UUID> idFunction,
+                                final Function<T, List<String>> pathFunction,
+                                final Function<T, UUID> parentFunction,
+                                final Comparator<T> childOrder) throws IOException {
+        final Map<String, byte[]> sourcesById = new HashMap<>();
+        final Map<String, String> idsByPath = new HashMap<>();
+        final Map<String, List<T>> children = new HashMap<>();
+        long bytes = 0;
+        int skipped = 0;
+        for (final byte[] source : loadSources(indexName)) {
+            final T entity;
+            try {
+                entity = objectReaders.forType(type).readValue(source);
+            } catch (final IOException e) {
+                LOG.warn(String.format("Replica skipping unreadable document in index %s.", indexName), e);
+                skipped++;
+                continue;
+            }
+            final UUID entityId = entity != null ? idFunction.apply(entity) : null;
+            final List<String> paths = entityId != null && pathFunction != null ? pathFunction.apply(entity) : Collections.emptyList();
+            final UUID parentId = entityId != null && parentFunction != null ? parentFunction.apply(entity) : null;
+            if (entityId == null || paths == null || (parentFunction != null && parentId == null)) {
+                LOG.warn(String.format("Replica skipping document with missing id or parent in index %s: %s", indexName, entityId));
+                skipped++;
+                continue;
+            }
+            final String id = entityId.toString().toLowerCase();
+            sourcesById.put(id, source);
+            bytes += source.length;
+            paths.forEach(path -> idsByPath.put(path, id));
+            if (parentFunction != null) {
+                children.computeIfAbsent(parentId.toString().toLowerCase(), key -> new ArrayList<>()).add(entity);
+            }
+        }
+        final Map<String, List<String>> childIdsByParent = new HashMap<>();
+        children.forEach((parentId, entities) -> {
+            entities.sort(childOrder);
+            final List<String> childIds = new ArrayList<>(entities.size());
+            entities.forEach(entity -> childIds.add(idFunction.apply(entity).toString().toLowerCase()));
+            childIdsByParent.put(parentId, Collections.unmodifiableList(childIds));
+        });
+        LOG.info(String.format("Replicated %d documents (%d bytes) from index %s, skipped %d invalid documents.", sourcesById.size(), bytes, indexName, skipped));
+        final Timer readTimer = Timer.builder(METRIC_REPLICA_READ).tag(TAG_INDEX, indexName).register(meterRegistry);
+        return new Table(objectReaders, readTimer, sourcesById, idsByPath, childIdsByParent);
+    }
+
+    private List<byte[]> loadSources(final String indexName) throws IOException {
+        final List<byte[]> sources = new ArrayList<>();
+        if (!indexRegistry.exists(indexName)) {
+            return sources;
+        }
+        final SearchRequest searchRequest = new SearchRequest(indexName);
+        searchRequest.scroll(SCROLL_KEEPALIVE);
+        searchRequest.source(new SearchSourceBuilder().size(SCROLL_PAGESIZE).sort(FieldSortBuilder.DOC_FIELD_NAME, SortOrder.ASC));
+        SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+        String scrollId = response.getScrollId();
+        try {
+            while (response.getHits().getHits().length > 0) {
+                for (final SearchHit hit : response.getHits().getHits()) {
+                    sources.add(BytesReference.toBytes(hit.getSourceRef()));
+                }
+                response = client.scroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEPALIVE), RequestOptions.DEFAULT);
+                scrollId = response.getScrollId();
+            }
+        } finally {
+            final ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+            clearScrollRequest.addScrollId(scrollId);
+            client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+        }
+        return sources;
+    }
+
+    private static List<String> createCodeSchemePaths(final CodeSchemeDTO codeScheme) {
+        if (codeScheme == null || codeScheme.getCodeRegistry() == null || codeScheme.getId() == null) {
+            return null;
+        }
+        return createPaths(codeScheme.getCodeRegistry().getCodeValue(), codeScheme.getCodeValue(), codeScheme.getId());
+    }
+
+    private static List<String> createPaths(final List<String> parentPaths,
+                                            final String codeValue,
+                                            final UUID id) {
+        if (parentPaths == null) {
+            return null;
+        }
+        final List<String> paths = new ArrayList<>();
+        for (final String parentPath : parentPaths) {
+            paths.add(createPath(parentPath, codeValue));
+            paths.add(createPath(parentPath, id.toString()));
+        }
+        return paths;
+    }
+
+    private static List<String> createPaths(final String parentPath,
+                                            final String codeValue,
+                                            final UUID id) {
+        return createPaths(Collections.singletonList(createPath(parentPath)), codeValue, id);
+    }
+
+    private static String createPath(final String... codeValues) {
+        final StringBuilder path = new StringBuilder();
+        for (final String codeValue : codeValues) {
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(codeValue != null ? codeValue.trim().toLowerCase() : "");
+        }
+        return path.toString();
+    }
+
+    private static final class Snapshot {
+
+        private final String signature;
+        private final Table codeRegistries;
+        private final Table codeSchemes;
+        private final Table codes;
+        private final Table extensions;
+        private final Table members;
+        private final Table externalReferences;
+        private final Table propertyTypes;
+        private final Table valueTypes;
+
+        private Snapshot(final String signature,
+                         final Table codeRegistries,
+                         final Table codeSchemes,
+                         final Table codes,
+                         final Table extensions,
+                         final Table members,
+                         final Table externalReferences,
+                         final Table propertyTypes,
+                         final Table valueTypes) {
+            this.signature = signature;
+            this.codeRegistries = codeRegistries;
+            this.codeSchemes = codeSchemes;
+            this.codes = codes;
+            this.extensions = extensions;
+            this.members = members;
+            this.externalReferences = externalReferences;
+            this.propertyTypes = propertyTypes;
+            this.valueTypes = valueTypes;
+        }
+    }
+
+    private static final class Table {
+
+        private final ObjectReaders objectReaders;
+        private final Timer readTimer;
+        private final Map<String, byte[]> sourcesById;
+        private final Map<String, String> idsByPath;
+        private final Map<String, List<String>> childIdsByParent;
+
+        private Table(final ObjectReaders objectReaders,
+                      final Timer readTimer,
+                      final Map<String, byte[]> sourcesById,
+                      final Map<String, String> idsByPath,
+                      final Map<String, List<String>> childIdsByParent) {
+            this.objectReaders = objectReaders;
+            this.readTimer = readTimer;
+            this.sourcesById = Collections.unmodifiableMap(sourcesById);
+            this.idsByPath = Collections.unmodifiableMap(idsByPath);
+            this.childIdsByParent = Collections.unmodifiableMap(childIdsByParent);
+        }
+
+        private <T> T get(final String id,
+                          final Class<T> type) {
+            final long start = System.nanoTime();
+            try {
+                return read(id, type);
+            } finally {
+                readTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private <T> T read(final String id,
+                           final Class<T> type) {
+            if (id == null) {
+                return null;
+            }
+            final byte[] source = sourcesById.get(id.toLowerCase());
+            if (source == null) {
+                return null;
+            }
+            try {
+                return objectReaders.forType(type).readValue(source);
+            } catch (final IOException e) {
+                LOG.error("Replica reading value from JSON failed for id: " + id, e);
+                throw new JsonParsingException(ERR_MSG_USER_406);
+            }
+        }
+
+        private String findId(final String idOrPath) {
+            final String id = idsByPath.get(idOrPath.trim().toLowerCase());
+            return id != null ? id : idOrPath.toLowerCase();
+        }
+
+        private <T> T find(final String idOrPath,
+                           final Class<T> type) {
+            return get(findId(idOrPath), type);
+        }
+
+        private <T> Set<T> getChildren(final String parentId,
+                                       final Class<T> type) {
+            return getChildren(parentId, type, null, Integer.MAX_VALUE);
+        }
+
+        private <T> Set<T> getChildren(final String parentId,
+                                       final Class<T> type,
+                                       final Meta meta,
+                                       final int defaultPageSize) {
+            final Integer pageSize = meta != null ? meta.getPageSize() : null;
+            if (pageSize != null && pageSize > DomainImpl.MAX_ES_PAGESIZE) {
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Paging pageSize parameter value %d exceeds max value %d.", pageSize, DomainImpl.MAX_ES_PAGESIZE)));
+            }
+            final List<String> childIds = parentId != null ? childIdsByParent.getOrDefault(parentId.toLowerCase(), Collections.emptyList()) : Collections.emptyList();
+            final int from = Math.min(meta != null && meta.getFrom() != null ? Math.max(meta.getFrom(), 0) : 0, childIds.size());
+            final int to = (int) Math.min((long) from + (pageSize != null ? pageSize : defaultPageSize), childIds.size());
+            final Set<T> children = new LinkedHashSet<>();
+            final long start = System.nanoTime();
+            childIds.subList(from, to).forEach(id -> children.add(read(id, type)));
+            readTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (meta != null) {
+                meta.setTotalResults(childIds.size());
+                meta.setResultCount(children.size());
+            }
+            return children;
+        }
+    }
+}
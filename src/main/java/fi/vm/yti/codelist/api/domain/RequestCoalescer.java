@@ -0,0 +1,328 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import fi.vm.yti.codelist.common.dto.Meta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class RequestCoalescer {
+
+    private static final String METRIC_COALESCING = "yti.codelist.domain.coalescing";
+    private static final String TAG_METHOD = "method";
+    private static final String TAG_ROLE = "role";
+    private static final String ROLE_LEADER = "leader";
+    private static final String ROLE_FOLLOWER = "follower";
+    private static final String ROLE_FALLBACK = "fallback";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> coalescedMethods;
+    private final long awaitTimeoutMillis;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final Map<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+
+    @Inject
+    public RequestCoalescer(final MeterRegistry meterRegistry,
+                            @Value("${application.coalescing.methods:getCodeRegistries,getCodeSchemes,getCodeSchemesByCodeRegistryCodeValue,getCodes,getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue,getExtensions,getMembers,getExternalReferences,getCodeRegistriesAsync,getCodeSchemesAsync}") final String[] coalescedMethods,
+                            @Value("${application.coalescing.awaitTimeoutMillis:10000}") final long awaitTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.coalescedMethods = new HashSet<>(Arrays.asList(coalescedMethods));
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        final SimpleFilterProvider filterProvider = new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+        filterProvider.setFailOnUnknownId(false);
+        this.objectWriter = objectMapper.writer(filterProvider);
+    }
+
+    public <T> T coalesce(final Class<T> type,
+                          final T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{ type }, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class || !coalescedMethods.contains(method.getName())) {
+                return invoke(target, method, args);
+            }
+            final FlightKey key = new FlightKey(method, args);
+            final Flight flight = new Flight();
+            final Flight existing = flights.putIfAbsent(key, flight);
+            if (existing != null && existing.join()) {
+                counter(method, ROLE_FOLLOWER).increment();
+                if (isAsync(method)) {
+                    return existing.copyAsync(findMeta(args));
+                }
+                try {
+                    return existing.await(findMeta(args));
+                } catch (final TimeoutException e) {
+                    counter(method, ROLE_FALLBACK).increment();
+                    return invoke(target, method, args);
+                }
+            }
+            if (existing != null) {
+                return invoke(target, method, args);
+            }
+            counter(method, ROLE_LEADER).increment();
+            if (isAsync(method)) {
+                return leadAsync(target, method, args, key, flight);
+            }
+            try {
+                final Object result = invoke(target, method, args);
+                flights.remove(key, flight);
+                flight.complete(result, findMeta(args), method);
+                return result;
+            } catch (final Throwable t) {
+                flights.remove(key, flight);
+                flight.fail(t);
+                throw t;
+            }
+        }));
+    }
+
+    private CompletionStage<?> leadAsync(final Object target,
+                                         final Method method,
+                                         final Object[] args,
+                                         final FlightKey key,
+                                         final Flight flight) throws Throwable {
+        final CompletionStage<?> stage;
+        try {
+            stage = (CompletionStage<?>) invoke(target, method, args);
+        } catch (final Throwable t) {
+            flights.remove(key, flight);
+            flight.fail(t);
+            throw t;
+        }
+        final Meta meta = findMeta(args);
+        return stage.whenComplete((result, throwable) -> {
+            flights.remove(key, flight);
+            if (throwable != null) {
+                flight.fail(throwable);
+            } else {
+                flight.complete(result, meta, method);
+            }
+        });
+    }
+
+    private static boolean isAsync(final Method method) {
+        return CompletionStage.class.isAssignableFrom(method.getReturnType());
+    }
+
+    private static Object invoke(final Object target,
+                                 final Method method,
+                                 final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Counter counter(final Method method,
+                            final String role) {
+        return Counter.builder(METRIC_COALESCING)
+            .tags(TAG_METHOD, method.getName(), TAG_ROLE, role)
+            .register(meterRegistry);
+    }
+
+    private static Meta findMeta(final Object[] args) {
+        if (args != null) {
+            for (final Object arg : args) {
+                if (arg instanceof Meta) {
+                    return (Meta) arg;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Object normalize(final Object arg) {
+        if (arg instanceof Set) {
+            return new HashSet<>((Set<?>) arg);
+        } else if (arg instanceof Collection) {
+            return new ArrayList<>((Collection<?>) arg);
+        } else if (arg instanceof Meta) {
+            final Meta meta = (Meta) arg;
+            return Arrays.asList(Meta.class, meta.getPageSize(), meta.getFrom(), meta.getAfter(), meta.getBefore());
+        } else if (arg instanceof CodeRegistryDTO) {
+            return Arrays.asList(CodeRegistryDTO.class, ((CodeRegistryDTO) arg).getId());
+        } else if (arg instanceof CodeSchemeDTO) {
+            return Arrays.asList(CodeSchemeDTO.class, ((CodeSchemeDTO) arg).getId());
+        } else if (arg instanceof CodeDTO) {
+            return Arrays.asList(CodeDTO.class, ((CodeDTO) arg).getId());
+        } else if (arg instanceof ExtensionDTO) {
+            return Arrays.asList(ExtensionDTO.class, ((ExtensionDTO) arg).getId());
+        }
+        return arg;
+    }
+
+    private JavaType resolveType(final Method method) {
+        JavaType type = objectMapper.getTypeFactory().constructType(method.getGenericReturnType());
+        if (isAsync(method)) {
+            type = type.containedType(0);
+        }
+        if (type.getRawClass() == Set.class) {
+            return objectMapper.getTypeFactory().constructCollectionType(LinkedHashSet.class, type.getContentType());
+        }
+        return type;
+    }
+
+    private static final class FlightKey {
+
+        private final Method method;
+        private final List<Object> args;
+        private final int hashCode;
+
+        private FlightKey(final Method method,
+                          final Object[] args) {
+            this.method = method;
+            this.args = new ArrayList<>();
+            if (args != null) {
+                for (final Object arg : args) {
+                    this.args.add(normalize(arg));
+                }
+            }
+            this.hashCode = 31 * method.hashCode() + this.args.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof FlightKey)) {
+                return false;
+            }
+            final FlightKey key = (FlightKey) other;
+            return method.equals(key.method) && args.equals(key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private final class Flight {
+
+        private final CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+        private int followers;
+        private boolean closed;
+
+        private synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        private synchronized boolean close() {
+            closed = true;
+            return followers > 0;
+        }
+
+        private void complete(final Object result,
+                              final Meta meta,
+                              final Method method) {
+            if (!close()) {
+                outcome.complete(null);
+                return;
+            }
+            try {
+                final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+                objectWriter.writeValue(buffer, result);
+                outcome.complete(new Outcome(buffer, resolveType(method), meta));
+            } catch (final IOException | RuntimeException e) {
+                outcome.completeExceptionally(e);
+            }
+        }
+
+        private void fail(final Throwable throwable) {
+            close();
+            outcome.completeExceptionally(throwable);
+        }
+
+        private Object await(final Meta meta) throws Throwable {
+            final Outcome result;
+            try {
+                result = outcome.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (final ExecutionException e) {
+                throw e.getCause() != null ? e.getCause() : e;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.SERVICE_UNAVAILABLE.value(), "Coalesced request was interrupted."));
+            }
+            return copy(result, meta);
+        }
+
+        private CompletionStage<Object> copyAsync(final Meta meta) {
+            return outcome.thenApply(result -> copy(result, meta));
+        }
+
+        private Object copy(final Outcome result,
+                            final Meta meta) {
+            if (meta != null && result.meta != null) {
+                meta.setTotalResults(result.meta.getTotalResults());
+                meta.setResultCount(result.meta.getResultCount());
+            }
+            try {
+                return objectMapper.readerFor(result.type).readValue(result.buffer.asParser());
+            } catch (final IOException e) {
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Coalesced result copying failed!"));
+            }
+        }
+    }
+
+    private static final class Outcome {
+
+        private final TokenBuffer buffer;
+        private final JavaType type;
+        private final Meta meta;
+
+        private Outcome(final TokenBuffer buffer,
+                        final JavaType type,
+                        final Meta meta) {
+            this.buffer = buffer;
+            this.type = type;
+            this.meta = meta;
+        }
+    }
+}
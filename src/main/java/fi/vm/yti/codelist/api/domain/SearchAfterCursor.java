@@ -0,0 +1,128 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import fi.vm.yti.codelist.api.exception.JsonParsingException;
+import static fi.vm.yti.codelist.api.exception.ErrorConstants.ERR_MSG_USER_406;
+
+final class SearchAfterCursor<T> implements Iterator<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchAfterCursor.class);
+    private static final int SKIP_PAGESIZE = 10000;
+
+    private final Function<SearchRequest, SearchResponse> searchFunction;
+    private final SearchRequest searchRequest;
+    private final SearchSourceBuilder searchBuilder;
+    private final ObjectReader reader;
+    private final int pageSize;
+    private Iterator<SearchHit> page = Collections.emptyIterator();
+    private Object[] lastSortValues;
+    private long skipRemaining;
+    private boolean exhausted;
+    private long totalHits = -1;
+
+    SearchAfterCursor(final Function<SearchRequest, SearchResponse> searchFunction,
+                      final SearchRequest searchRequest,
+                      final SearchSourceBuilder searchBuilder,
+                      final ObjectReader reader,
+                      final int pageSize,
+                      final int from) {
+        this.searchFunction = searchFunction;
+        this.searchRequest = searchRequest;
+        this.searchBuilder = searchBuilder;
+        this.reader = reader;
+        this.pageSize = pageSize;
+        this.skipRemaining = from;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !exhausted) {
+            fetchNextPage();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final SearchHit hit = page.next();
+        lastSortValues = hit.getSortValues();
+        try {
+            return ElasticRequestUtils.readSource(reader, hit);
+        } catch (final IOException e) {
+            LOG.error("SearchAfterCursor reading value from JSON string failed: " + hit.getSourceAsString(), e);
+            throw new JsonParsingException(ERR_MSG_USER_406);
+        }
+    }
+
+    long getTotalHits() {
+        if (totalHits < 0) {
+            hasNext();
+        }
+        return Math.max(totalHits, 0);
+    }
+
+    private void fetchNextPage() {
+        if (skipRemaining > 0) {
+            skip();
+            if (exhausted) {
+                return;
+            }
+        }
+        final SearchHit[] hits = search(pageSize);
+        if (hits.length < pageSize) {
+            exhausted = true;
+        }
+        page = Arrays.asList(hits).iterator();
+    }
+
+    private void skip() {
+        final FetchSourceContext fetchSource = searchBuilder.fetchSource();
+        searchBuilder.fetchSource(false);
+        try {
+            while (skipRemaining > 0 && !exhausted) {
+                final int size = (int) Math.min(SKIP_PAGESIZE, skipRemaining);
+                final SearchHit[] hits = search(size);
+                if (hits.length > 0) {
+                    lastSortValues = hits[hits.length - 1].getSortValues();
+                }
+                if (hits.length < size) {
+                    exhausted = true;
+                }
+                skipRemaining -= hits.length;
+            }
+        } finally {
+            searchBuilder.fetchSource(fetchSource);
+        }
+    }
+
+    private SearchHit[] search(final int size) {
+        searchBuilder.from(0);
+        searchBuilder.size(size);
+        if (lastSortValues != null) {
+            searchBuilder.searchAfter(lastSortValues);
+        }
+        searchRequest.source(searchBuilder);
+        final SearchResponse response = searchFunction.apply(searchRequest);
+        totalHits = response.getHits().getTotalHits();
+        return response.getHits().getHits();
+    }
+}
@@ -0,0 +1,53 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+public final class SourceProjection {
+
+    public static final SourceProjection FULL = new SourceProjection(null, null);
+
+    private final String[] includes;
+    private final String[] excludes;
+
+    private SourceProjection(final String[] includes,
+                             final String[] excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    public static SourceProjection of(final Collection<String> includes,
+                                      final Collection<String> excludes) {
+        final String[] includeFields = includes != null && !includes.isEmpty() ? includes.stream().sorted().toArray(String[]::new) : null;
+        final String[] excludeFields = excludes != null && !excludes.isEmpty() ? excludes.stream().sorted().toArray(String[]::new) : null;
+        if (includeFields == null && excludeFields == null) {
+            return FULL;
+        }
+        return new SourceProjection(includeFields, excludeFields);
+    }
+
+    void applyTo(final SearchSourceBuilder searchBuilder) {
+        if (includes != null || excludes != null) {
+            searchBuilder.fetchSource(includes, excludes);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SourceProjection)) {
+            return false;
+        }
+        final SourceProjection projection = (SourceProjection) other;
+        return Arrays.equals(includes, projection.includes) && Arrays.equals(excludes, projection.excludes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(includes) + Arrays.hashCode(excludes);
+    }
+}
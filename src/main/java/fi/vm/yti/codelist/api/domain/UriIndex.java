@@ -0,0 +1,259 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.fst.Builder;
+import org.apache.lucene.util.fst.BytesRefFSTEnum;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.NoOutputs;
+import org.apache.lucene.util.fst.Util;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.global.Global;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
+import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
+
+@Component
+public class UriIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UriIndex.class);
+    private static final String[] INDEXED_INDICES = { ELASTIC_INDEX_CODEREGISTRY, ELASTIC_INDEX_CODESCHEME, ELASTIC_INDEX_CODE, ELASTIC_INDEX_EXTENSION, ELASTIC_INDEX_MEMBER };
+    private static final TimeValue SCROLL_KEEPALIVE = TimeValue.timeValueMinutes(1);
+    private static final int SCROLL_PAGESIZE = 5000;
+    private static final int DELTA_PAGESIZE = 10000;
+    private static final String FIELD_URI = "uri";
+    private static final String FIELD_MODIFIED = "modified";
+    private static final String MAX_MODIFIED = "max_modified";
+    private static final String ALL_DOCUMENTS = "all_documents";
+
+    private final RestHighLevelClient client;
+    private final IndexRegistry indexRegistry;
+    private final boolean enabled;
+    private final int compactThreshold;
+    private final Map<String, UriSet> uriSets = new ConcurrentHashMap<>();
+
+    @Inject
+    public UriIndex(final RestHighLevelClient elasticSearchRestHighLevelClient,
+                    final IndexRegistry indexRegistry,
+                    @Value("${application.uriIndex.enabled:true}") final boolean enabled,
+                    @Value("${application.uriIndex.compactThreshold:10000}") final int compactThreshold) {
+        this.client = elasticSearchRestHighLevelClient;
+        this.indexRegistry = indexRegistry;
+        this.enabled = enabled;
+        this.compactThreshold = compactThreshold;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (enabled) {
+            refresh();
+        } else {
+            LOG.info("URI index disabled, resolving URIs from ElasticSearch.");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${application.uriIndex.refreshMillis:60000}", fixedDelayString = "${application.uriIndex.refreshMillis:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        for (final String indexName : INDEXED_INDICES) {
+            try {
+                final String watermark = indexRegistry.refreshContentWatermark(indexName);
+                final UriSet current = uriSets.get(indexName);
+                if (current == null || !current.watermark.equals(watermark)) {
+                    final long start = System.currentTimeMillis();
+                    final UriSet merged = current != null ? mergeDelta(indexName, watermark, current) : null;
+                    final UriSet uriSet = merged != null ? merged : loadUriSet(indexName, watermark);
+                    uriSets.put(indexName, uriSet);
+                    LOG.info(String.format("URI index for %s %s with %d URIs in %d ms.", indexName, merged != null ? "updated" : "rebuilt", uriSet.size, System.currentTimeMillis() - start));
+                }
+            } catch (final IOException | RuntimeException e) {
+                LOG.error("URI index refresh failed for index " + indexName + ", keeping the previous state.", e);
+            }
+        }
+    }
+
+    public boolean contains(final String indexName,
+                            final String uri) {
+        final UriSet uriSet = uriSets.get(indexName);
+        if (uriSet == null || uri == null) {
+            return false;
+        }
+        try {
+            return uriSet.contains(uri.toLowerCase());
+        } catch (final IOException e) {
+            LOG.warn("URI index lookup failed for: " + uri, e);
+            return false;
+        }
+    }
+
+    private UriSet mergeDelta(final String indexName,
+                              final String watermark,
+                              final UriSet current) throws IOException {
+        final String generation = indexRegistry.getGeneration(indexName);
+        if (generation == null || !generation.equals(current.generation) || current.lastModified == null) {
+            return null;
+        }
+        final SearchRequest searchRequest = new SearchRequest(indexName);
+        searchRequest.source(new SearchSourceBuilder()
+            .query(rangeQuery(FIELD_MODIFIED).gte(current.lastModified))
+            .size(DELTA_PAGESIZE)
+            .fetchSource(FIELD_URI, null)
+            .sort(FIELD_MODIFIED, SortOrder.ASC)
+            .aggregation(AggregationBuilders.global(ALL_DOCUMENTS)));
+        final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+        final SearchHit[] hits = response.getHits().getHits();
+        if (response.getHits().getTotalHits() > hits.length) {
+            return null;
+        }
+        final Global allDocuments = response.getAggregations().get(ALL_DOCUMENTS);
+        final Set<String> added = new HashSet<>(current.added);
+        long lastModified = current.lastModified;
+        int newDocuments = 0;
+        for (final SearchHit hit : hits) {
+            lastModified = Math.max(lastModified, ((Number) hit.getSortValues()[0]).longValue());
+            final Object uri = hit.getSourceAsMap().get(FIELD_URI);
+            if (uri != null && !current.contains(uri.toString().toLowerCase()) && added.add(uri.toString().toLowerCase())) {
+                newDocuments++;
+            }
+        }
+        // Updated documents keep their URI, so any other change in the document count means a
+        // deletion or a URI change that only a full rebuild can reflect.
+        if (allDocuments.getDocCount() != current.totalHits + newDocuments) {
+            return null;
+        }
+        if (added.size() > compactThreshold) {
+            final List<BytesRef> uris = new ArrayList<>();
+            if (current.fst != null) {
+                final BytesRefFSTEnum<Object> fstEnum = new BytesRefFSTEnum<>(current.fst);
+                BytesRefFSTEnum.InputOutput<Object> next;
+                while ((next = fstEnum.next()) != null) {
+                    uris.add(BytesRef.deepCopyOf(next.input));
+                }
+            }
+            added.forEach(uri -> uris.add(new BytesRef(uri)));
+            return buildUriSet(generation, watermark, allDocuments.getDocCount(), lastModified, uris);
+        }
+        return new UriSet(generation, watermark, allDocuments.getDocCount(), lastModified, current.fst, Collections.unmodifiableSet(added), current.size + newDocuments);
+    }
+
+    private UriSet loadUriSet(final String indexName,
+                              final String watermark) throws IOException {
+        final List<BytesRef> uris = new ArrayList<>();
+        final String generation = indexRegistry.getGeneration(indexName);
+        if (generation == null) {
+            return buildUriSet(null, watermark, 0, null, uris);
+        }
+        final SearchRequest searchRequest = new SearchRequest(indexName);
+        searchRequest.scroll(SCROLL_KEEPALIVE);
+        searchRequest.source(new SearchSourceBuilder()
+            .size(SCROLL_PAGESIZE)
+            .fetchSource(FIELD_URI, null)
+            .sort(FieldSortBuilder.DOC_FIELD_NAME, SortOrder.ASC)
+            .aggregation(AggregationBuilders.max(MAX_MODIFIED).field(FIELD_MODIFIED)));
+        SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+        final long totalHits = response.getHits().getTotalHits();
+        final Max maxModified = response.getAggregations().get(MAX_MODIFIED);
+        final Long lastModified = Double.isInfinite(maxModified.getValue()) ? null : (long) maxModified.getValue();
+        String scrollId = response.getScrollId();
+        try {
+            while (response.getHits().getHits().length > 0) {
+                for (final SearchHit hit : response.getHits().getHits()) {
+                    final Object uri = hit.getSourceAsMap().get(FIELD_URI);
+                    if (uri != null) {
+                        uris.add(new BytesRef(uri.toString().toLowerCase()));
+                    }
+                }
+                response = client.scroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEPALIVE), RequestOptions.DEFAULT);
+                scrollId = response.getScrollId();
+            }
+        } finally {
+            final ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+            clearScrollRequest.addScrollId(scrollId);
+            client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+        }
+        return buildUriSet(generation, watermark, totalHits, lastModified, uris);
+    }
+
+    private UriSet buildUriSet(final String generation,
+                               final String watermark,
+                               final long totalHits,
+                               final Long lastModified,
+                               final List<BytesRef> uris) throws IOException {
+        Collections.sort(uris);
+        final NoOutputs outputs = NoOutputs.getSingleton();
+        final Builder<Object> builder = new Builder<>(FST.INPUT_TYPE.BYTE1, outputs);
+        final IntsRefBuilder scratch = new IntsRefBuilder();
+        BytesRef previous = null;
+        int size = 0;
+        for (final BytesRef uri : uris) {
+            if (!uri.equals(previous)) {
+                builder.add(Util.toIntsRef(uri, scratch), outputs.getNoOutput());
+                previous = uri;
+                size++;
+            }
+        }
+        return new UriSet(generation, watermark, totalHits, lastModified, builder.finish(), Collections.emptySet(), size);
+    }
+
+    private static final class UriSet {
+
+        private final String generation;
+        private final String watermark;
+        private final long totalHits;
+        private final Long lastModified;
+        private final FST<Object> fst;
+        private final Set<String> added;
+        private final int size;
+
+        private UriSet(final String generation,
+                       final String watermark,
+                       final long totalHits,
+                       final Long lastModified,
+                       final FST<Object> fst,
+                       final Set<String> added,
+                       final int size) {
+            this.generation = generation;
+            this.watermark = watermark;
+            this.totalHits = totalHits;
+            this.lastModified = lastModified;
+            this.fst = fst;
+            this.added = added;
+            this.size = size;
+        }
+
+        private boolean contains(final String uri) throws IOException {
+            return added.contains(uri) || (fst != null && Util.get(fst, new BytesRef(uri)) != null);
+        }
+    }
+}
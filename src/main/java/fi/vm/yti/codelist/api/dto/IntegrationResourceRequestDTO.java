@@ -18,6 +18,7 @@ public class IntegrationResourceRequestDTO {
     private List<String> uri;
     private String type;
     private boolean includeIncomplete;
+    private String cursor;
 
     public List<String> getContainer() {
         return container;
@@ -130,4 +131,12 @@ public class IntegrationResourceRequestDTO {
     public void setBefore(final String before) {
         this.before = before;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(final String cursor) {
+        this.cursor = cursor;
+    }
 }
@@ -0,0 +1,30 @@
+package fi.vm.yti.codelist.api.exception.exceptionmapping;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+
+@Provider
+public class RejectedExecutionExceptionMapper implements BaseExceptionMapper, ExceptionMapper<RejectedExecutionException> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RejectedExecutionExceptionMapper.class);
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @Override
+    public Response toResponse(final RejectedExecutionException ex) {
+        LOG.warn("Request rejected, domain executor queue is full: " + ex.getMessage());
+        final Response response = getResponse(new YtiCodeListException(new ErrorModel(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy, please try again later.")));
+        response.getHeaders().putSingle(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return response;
+    }
+}
@@ -10,7 +10,7 @@ import java.util.Set;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.common.dto.CodeDTO;
@@ -28,6 +28,7 @@ abstract class BaseExporter {
 
     private static final String DATEFORMAT_WITH_SECONDS = "yyyy-MM-dd HH:mm:ss";
     private static final int MAX_SHEETNAME_SIZE = 31;
+    private static final int STREAMING_ROW_WINDOW = 500;
 
     String checkEmptyValue(final String value) {
         if (value == null) {
@@ -36,12 +37,12 @@ abstract class BaseExporter {
         return value;
     }
 
-    void appendValue(final StringBuilder builder,
+    void appendValue(final CsvWriter builder,
                      final String value) {
         appendValue(builder, value, false);
     }
 
-    void appendValue(final StringBuilder builder,
+    void appendValue(final CsvWriter builder,
                      final String value,
                      final boolean isLast) {
         if (value != null && (value.contains(",") || value.contains("\n"))) {
@@ -62,7 +63,9 @@ abstract class BaseExporter {
         if (FORMAT_EXCEL_XLS.equals(format)) {
             return new HSSFWorkbook();
         } else {
-            return new XSSFWorkbook();
+            final SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_ROW_WINDOW);
+            workbook.setCompressTempFiles(true);
+            return workbook;
         }
     }
 
@@ -1,6 +1,10 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -15,12 +19,22 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class CodeExporter extends BaseExporter {
 
-    public String createCsv(final Set<CodeDTO> codes) {
+    public static final List<String> LANGUAGE_FIELDS = Collections.unmodifiableList(Arrays.asList("prefLabel", "definition", "description"));
+
+    public void writeCsv(final Set<CodeDTO> codes,
+                         final OutputStream output) {
+        writeCsv(codes, codes, output);
+    }
+
+    public void writeCsv(final Iterable<CodeDTO> languageSource,
+                         final Iterable<CodeDTO> codes,
+                         final OutputStream output) {
         int flatInt = 1;
-        final Set<String> prefLabelLanguages = resolveCodePrefLabelLanguages(codes);
-        final Set<String> definitionLanguages = resolveCodeDefinitionLanguages(codes);
-        final Set<String> descriptionLanguages = resolveCodeDescriptionLanguages(codes);
-        final StringBuilder csv = new StringBuilder();
+        final Set<String> prefLabelLanguages = new LinkedHashSet<>();
+        final Set<String> definitionLanguages = new LinkedHashSet<>();
+        final Set<String> descriptionLanguages = new LinkedHashSet<>();
+        resolveCodeLanguages(languageSource, prefLabelLanguages, definitionLanguages, descriptionLanguages);
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
         appendValue(csv, CONTENT_HEADER_ORDER);
@@ -58,22 +72,36 @@ public class CodeExporter extends BaseExporter {
             appendValue(csv, formatExternalReferencesToString(code.getExternalReferences()), true);
             flatInt++;
         }
-        return csv.toString();
+        csv.flush();
     }
 
     public Workbook createExcel(final Set<CodeDTO> codes,
                                 final String format) {
+        return createExcel(codes, codes, format);
+    }
+
+    public Workbook createExcel(final Iterable<CodeDTO> languageSource,
+                                final Iterable<CodeDTO> codes,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
-        addCodeSheet(workbook, EXCEL_SHEET_CODES, codes);
+        addCodeSheet(workbook, EXCEL_SHEET_CODES, languageSource, codes);
         return workbook;
     }
 
     public void addCodeSheet(final Workbook workbook,
                              final String sheetName,
                              final Set<CodeDTO> codes) {
-        final Set<String> prefLabelLanguages = resolveCodePrefLabelLanguages(codes);
-        final Set<String> definitionLanguages = resolveCodeDefinitionLanguages(codes);
-        final Set<String> descriptionLanguages = resolveCodeDescriptionLanguages(codes);
+        addCodeSheet(workbook, sheetName, codes, codes);
+    }
+
+    public void addCodeSheet(final Workbook workbook,
+                             final String sheetName,
+                             final Iterable<CodeDTO> languageSource,
+                             final Iterable<CodeDTO> codes) {
+        final Set<String> prefLabelLanguages = new LinkedHashSet<>();
+        final Set<String> definitionLanguages = new LinkedHashSet<>();
+        final Set<String> descriptionLanguages = new LinkedHashSet<>();
+        resolveCodeLanguages(languageSource, prefLabelLanguages, definitionLanguages, descriptionLanguages);
         final Sheet sheet = workbook.createSheet(sheetName);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
@@ -132,25 +160,21 @@ public class CodeExporter extends BaseExporter {
         }
     }
 
-    private Set<String> resolveCodeDefinitionLanguages(final Set<CodeDTO> codes) {
-        final Set<String> languages = new LinkedHashSet<>();
+    private void resolveCodeLanguages(final Iterable<CodeDTO> codes,
+                                      final Set<String> prefLabelLanguages,
+                                      final Set<String> definitionLanguages,
+                                      final Set<String> descriptionLanguages) {
         for (final CodeDTO code : codes) {
-            final Map<String, String> definition = code.getDefinition();
-            if (definition != null && !definition.isEmpty()) {
-                languages.addAll(definition.keySet());
-            }
+            addLanguages(prefLabelLanguages, code.getPrefLabel());
+            addLanguages(definitionLanguages, code.getDefinition());
+            addLanguages(descriptionLanguages, code.getDescription());
         }
-        return languages;
     }
 
-    private Set<String> resolveCodeDescriptionLanguages(final Set<CodeDTO> codes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeDTO code : codes) {
-            final Map<String, String> description = code.getDescription();
-            if (description != null && !description.isEmpty()) {
-                languages.addAll(description.keySet());
-            }
+    private void addLanguages(final Set<String> languages,
+                              final Map<String, String> localizedValues) {
+        if (localizedValues != null && !localizedValues.isEmpty()) {
+            languages.addAll(localizedValues.keySet());
         }
-        return languages;
     }
 }
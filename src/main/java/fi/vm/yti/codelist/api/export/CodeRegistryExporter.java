@@ -1,5 +1,6 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -15,10 +16,11 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class CodeRegistryExporter extends BaseExporter {
 
-    public String createCsv(final Set<CodeRegistryDTO> registries) {
+    public void writeCsv(final Set<CodeRegistryDTO> registries,
+                         final OutputStream output) {
         final Set<String> prefLabelLanguages = resolveCodeRegistryPrefLabelLanguages(registries);
         final Set<String> descriptionLanguages = resolveCodeRegistryDescriptionLanguages(registries);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
         prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
@@ -35,7 +37,7 @@ public class CodeRegistryExporter extends BaseExporter {
             appendValue(csv, codeRegistry.getModified() != null ? formatDateWithSeconds(codeRegistry.getModified()) : "", true);
             csv.append("\n");
         }
-        return csv.toString();
+        csv.flush();
     }
 
     public Workbook createExcel(final Set<CodeRegistryDTO> registries,
@@ -1,20 +1,31 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import fi.vm.yti.codelist.api.configuration.SpringAppConfig;
 import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.SourceProjection;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.ExtensionDTO;
 import fi.vm.yti.codelist.common.dto.ExternalReferenceDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
 import fi.vm.yti.codelist.common.dto.OrganizationDTO;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 
@@ -26,32 +37,40 @@ public class CodeSchemeExporter extends BaseExporter {
     private final ExtensionExporter extensionExporter;
     private final MemberExporter memberExporter;
     private final ExternalReferenceExporter externalReferenceExporter;
+    private final Executor exportExecutor;
+    private final int prefetchDepth;
 
     public CodeSchemeExporter(final Domain domain,
                               final CodeExporter codeExporter,
                               final ExtensionExporter extensionExporter,
                               final MemberExporter memberExporter,
-                              final ExternalReferenceExporter externalReferenceExporter) {
+                              final ExternalReferenceExporter externalReferenceExporter,
+                              @Qualifier(SpringAppConfig.EXPORT_EXECUTOR) final Executor exportExecutor,
+                              @Value("${application.export.prefetchDepth:4}") final int prefetchDepth) {
         this.domain = domain;
         this.codeExporter = codeExporter;
         this.extensionExporter = extensionExporter;
         this.memberExporter = memberExporter;
         this.externalReferenceExporter = externalReferenceExporter;
+        this.exportExecutor = exportExecutor;
+        this.prefetchDepth = prefetchDepth;
     }
 
-    public String createCsv(final CodeSchemeDTO codeScheme) {
+    public void writeCsv(final CodeSchemeDTO codeScheme,
+                         final OutputStream output) {
         final Set<CodeSchemeDTO> codeSchemes = new HashSet<>();
         codeSchemes.add(codeScheme);
-        return createCsv(codeSchemes);
+        writeCsv(codeSchemes, output);
     }
 
-    public String createCsv(final Set<CodeSchemeDTO> codeSchemes) {
+    public void writeCsv(final Set<CodeSchemeDTO> codeSchemes,
+                         final OutputStream output) {
         final Set<String> prefLabelLanguages = resolveCodeSchemePrefLabelLanguages(codeSchemes);
         final Set<String> definitionLanguages = resolveCodeSchemeDefinitionLanguages(codeSchemes);
         final Set<String> descriptionLanguages = resolveCodeSchemeDescriptionLanguages(codeSchemes);
         final Set<String> changeNoteLanguages = resolveCodeSchemeChangeNoteLanguages(codeSchemes);
         final Set<String> feedbackChannelLanguages = resolveCodeSchemeFeedbackChannelLanguages(codeSchemes);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
         appendValue(csv, CONTENT_HEADER_ORGANIZATION);
@@ -98,7 +117,7 @@ public class CodeSchemeExporter extends BaseExporter {
             feedbackChannelLanguages.forEach(language -> appendValue(csv, getCodeSchemeFeedbackChannel(codeScheme, language)));
             appendValue(csv, formatExternalReferencesToString(codeScheme.getExternalReferences()),true);
         }
-        return csv.toString();
+        csv.flush();
     }
 
     public Workbook createExcel(final CodeSchemeDTO codeScheme,
@@ -111,15 +130,25 @@ public class CodeSchemeExporter extends BaseExporter {
         final Set<ExternalReferenceDTO> externalReferences = domain.getExternalReferences(codeScheme);
         externalReferenceExporter.addExternalReferencesSheet(workbook, externalReferenceSheetName, externalReferences);
         final String codeSheetName = createCodesSheetName(codeScheme);
-        codeExporter.addCodeSheet(workbook, codeSheetName, domain.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeScheme.getCodeRegistry().getCodeValue(), codeScheme.getCodeValue()));
+        final String codeRegistryCodeValue = codeScheme.getCodeRegistry().getCodeValue();
+        final Iterable<CodeDTO> codeLanguages = domain.iterateCodes(codeRegistryCodeValue, codeScheme.getCodeValue(), null, null, null, null, null, null, null, SourceProjection.of(CodeExporter.LANGUAGE_FIELDS, null));
+        final Iterable<CodeDTO> codes = domain.iterateCodes(codeRegistryCodeValue, codeScheme.getCodeValue(), null, null, null, null, null, null, null, SourceProjection.FULL);
+        codeExporter.addCodeSheet(workbook, codeSheetName, codeLanguages, codes);
         final Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme);
         final String extensionSheetName = createExtensionsSheetName(codeScheme);
         if (extensions != null && !extensions.isEmpty()) {
             extensionExporter.addExtensionSheet(workbook, extensionSheetName, extensions);
-            int i = 0;
-            for (final ExtensionDTO extension : extensions) {
-                final String memberSheetName = truncateSheetNameWithIndex(EXCEL_SHEET_MEMBERS + "_" + codeScheme.getCodeValue() + "_" + extension.getCodeValue(), ++i);
-                memberExporter.addMembersSheet(extension, workbook, memberSheetName, domain.getMembers(extension, null));
+            final List<ExtensionDTO> extensionList = new ArrayList<>(extensions);
+            final List<CompletableFuture<Set<MemberDTO>>> members = new ArrayList<>();
+            for (int i = 0; i < extensionList.size(); i++) {
+                while (members.size() < extensionList.size() && members.size() <= i + prefetchDepth) {
+                    final ExtensionDTO prefetched = extensionList.get(members.size());
+                    members.add(CompletableFuture.supplyAsync(() -> domain.getMembers(prefetched, null), exportExecutor));
+                }
+                final ExtensionDTO extension = extensionList.get(i);
+                final String memberSheetName = truncateSheetNameWithIndex(EXCEL_SHEET_MEMBERS + "_" + codeScheme.getCodeValue() + "_" + extension.getCodeValue(), i + 1);
+                memberExporter.addMembersSheet(extension, workbook, memberSheetName, joinMembers(members.get(i)));
+                members.set(i, null);
             }
         } else {
             extensionExporter.addExtensionSheet(workbook, extensionSheetName, new HashSet<>());
@@ -127,6 +156,17 @@ public class CodeSchemeExporter extends BaseExporter {
         return workbook;
     }
 
+    private Set<MemberDTO> joinMembers(final CompletableFuture<Set<MemberDTO>> members) {
+        try {
+            return members.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     public Workbook createExcel(final Set<CodeSchemeDTO> codeSchemes,
                                 final String format) {
         final Workbook workbook = createWorkBook(format);
@@ -0,0 +1,35 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+final class CsvWriter {
+
+    private final Writer writer;
+
+    CsvWriter(final OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    CsvWriter append(final String value) {
+        try {
+            writer.write(value);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
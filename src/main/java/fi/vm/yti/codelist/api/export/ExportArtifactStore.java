@@ -0,0 +1,264 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class ExportArtifactStore {
+
+    public static final String ARTIFACT_CODESCHEME = "codescheme";
+    public static final String ARTIFACT_EXTENSION = "extension";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportArtifactStore.class);
+    private static final String METRIC_EXPORT_CACHE = "yti.codelist.exportcache";
+    private static final String ARTIFACT_SUFFIX = ".export";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final String buildId;
+    private final long maxBytes;
+    private final boolean enabled;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<String, Long> artifacts = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Path>> builds = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    @Inject
+    public ExportArtifactStore(final MeterRegistry meterRegistry,
+                               @Value("${application.cache.export.directory:${java.io.tmpdir}/yti-codelist-exports}") final String directory,
+                               @Value("${application.cache.export.maxBytes:1073741824}") final long maxBytes,
+                               @Value("${application.cache.export.enabled:true}") final boolean enabled,
+                               @Value("${git.build.version:dev}-${git.commit.id.abbrev:dev}") final String buildId) {
+        this.directory = Paths.get(directory);
+        this.buildId = sanitize(buildId);
+        this.maxBytes = maxBytes;
+        this.enabled = enabled;
+        this.hits = Counter.builder(METRIC_EXPORT_CACHE).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_EXPORT_CACHE).tag("result", "miss").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            LOG.info("Export artifact cache disabled.");
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            final List<Path> existing = new ArrayList<>();
+            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (final Path path : stream) {
+                    final String fileName = path.getFileName().toString();
+                    if (fileName.endsWith(buildSuffix())) {
+                        existing.add(path);
+                    } else if (fileName.endsWith(ARTIFACT_SUFFIX) || fileName.endsWith(TEMP_SUFFIX)) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+            existing.sort(Comparator.comparingLong(ExportArtifactStore::lastModifiedMillis));
+            synchronized (artifacts) {
+                for (final Path path : existing) {
+                    final long size = Files.size(path);
+                    artifacts.put(path.getFileName().toString(), size);
+                    totalBytes += size;
+                }
+                evict(null);
+            }
+            LOG.info(String.format("Export artifact cache initialized with %d artifacts, %d bytes in %s.", artifacts.size(), totalBytes, directory));
+        } catch (final IOException e) {
+            LOG.error("Export artifact cache initialization failed for directory: " + directory, e);
+        }
+    }
+
+    public String createKey(final String type,
+                           final UUID id,
+                           final String format,
+                           final boolean simplified,
+                           final Date... contentModified) {
+        Date version = null;
+        for (final Date date : contentModified) {
+            if (date != null && (version == null || date.after(version))) {
+                version = date;
+            }
+        }
+        if (id == null || format == null || version == null) {
+            return null;
+        }
+        return type + "_" + id + "_" + sanitize(format.toLowerCase()) + "_" + (simplified ? "simplified" : "full") + "_" + version.getTime() + buildSuffix();
+    }
+
+    private String buildSuffix() {
+        return "_" + buildId + ARTIFACT_SUFFIX;
+    }
+
+    public StreamingOutput get(final String key,
+                               final StreamingOutput writer) {
+        if (!enabled || key == null) {
+            return writer;
+        }
+        final Path artifact = resolve(key, writer);
+        return output -> {
+            try {
+                transfer(artifact, output);
+            } catch (final NoSuchFileException e) {
+                LOG.warn("Export artifact evicted before transfer, writing directly: " + key);
+                writer.write(output);
+            }
+        };
+    }
+
+    private Path resolve(final String key,
+                         final StreamingOutput writer) {
+        final Path artifact = directory.resolve(key);
+        if (isStored(key, artifact)) {
+            hits.increment();
+            return artifact;
+        }
+        final CompletableFuture<Path> build = new CompletableFuture<>();
+        final CompletableFuture<Path> existing = builds.putIfAbsent(key, build);
+        if (existing != null) {
+            hits.increment();
+            return await(existing);
+        }
+        misses.increment();
+        try {
+            build.complete(isStored(key, artifact) ? artifact : build(key, artifact, writer));
+        } catch (final RuntimeException e) {
+            build.completeExceptionally(e);
+        } finally {
+            builds.remove(key, build);
+        }
+        return await(build);
+    }
+
+    private boolean isStored(final String key,
+                             final Path artifact) {
+        synchronized (artifacts) {
+            return artifacts.get(key) != null && Files.exists(artifact);
+        }
+    }
+
+    private Path build(final String key,
+                       final Path artifact,
+                       final StreamingOutput writer) {
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+            try (final OutputStream output = Files.newOutputStream(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writer.write(output);
+            }
+            final long size = Files.size(temp);
+            Files.move(temp, artifact, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+            synchronized (artifacts) {
+                final Long previous = artifacts.put(key, size);
+                totalBytes += size - (previous != null ? previous : 0);
+                evict(key);
+            }
+            return artifact;
+        } catch (final IOException e) {
+            LOG.error("Export artifact generation failed for: " + key, e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Export generation failed!"));
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    private void evict(final String retainedKey) {
+        final Iterator<Map.Entry<String, Long>> iterator = artifacts.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            final Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(retainedKey)) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= entry.getValue();
+            deleteQuietly(directory.resolve(entry.getKey()));
+        }
+    }
+
+    private static void transfer(final Path artifact,
+                                 final OutputStream output) throws IOException {
+        try (final FileChannel channel = FileChannel.open(artifact, StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(output);
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+        output.flush();
+    }
+
+    private static Path await(final CompletableFuture<Path> build) {
+        try {
+            return build.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String sanitize(final String value) {
+        return value.replaceAll("[^A-Za-z0-9-]", "-");
+    }
+
+    private static long lastModifiedMillis(final Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            LOG.warn("Removing export artifact failed: " + path, e);
+        }
+    }
+}
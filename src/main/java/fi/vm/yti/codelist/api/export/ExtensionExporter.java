@@ -1,5 +1,6 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Component;
 import fi.vm.yti.codelist.api.domain.Domain;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 
 @Component
@@ -29,9 +31,10 @@ public class ExtensionExporter extends BaseExporter {
         this.memberExporter = memberExporter;
     }
 
-    public String createCsv(final Set<ExtensionDTO> extensions) {
+    public void writeCsv(final Set<ExtensionDTO> extensions,
+                         final OutputStream output) {
         final Set<String> prefLabelLanguages = resolveExtensionPrefLabelLanguages(extensions);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
         appendValue(csv, CONTENT_HEADER_STATUS);
@@ -54,7 +57,7 @@ public class ExtensionExporter extends BaseExporter {
             appendValue(csv, extension.getCreated() != null ? formatDateWithSeconds(extension.getCreated()) : "");
             appendValue(csv, extension.getModified() != null ? formatDateWithSeconds(extension.getModified()) : "");
         }
-        return csv.toString();
+        csv.flush();
     }
 
     public Workbook createExcel(final Set<ExtensionDTO> extensions,
@@ -74,12 +77,13 @@ public class ExtensionExporter extends BaseExporter {
             addExtensionSheet(workbook, EXCEL_SHEET_EXTENSIONS, extensions);
         }
         final String extensionSheetName = truncateSheetNameWithIndex(EXCEL_SHEET_MEMBERS + "_" + extension.getParentCodeScheme().getCodeValue() + "_" + extension.getCodeValue(), 1);
+        final Set<MemberDTO> members = domain.getMembers(extension, null);
         if (exportAsSimplifiedCrossReferenceList) {
-            memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, domain.getMembers(extension, null));
+            memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, members);
         } else {
-            memberExporter.addMembersSheet(extension, workbook, extensionSheetName, domain.getMembers(extension, null));
+            memberExporter.addMembersSheet(extension, workbook, extensionSheetName, members);
             if (LOCALNAME_CROSS_REFERENCE_LIST.equalsIgnoreCase(extension.getPropertyType().getLocalName())) { //Cross-Reference List containing sheet will always be included as well in the normal Excel
-                memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, domain.getMembers(extension, null));
+                memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, members);
             }
         }
         return workbook;
@@ -1,5 +1,6 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -15,10 +16,11 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class ExternalReferenceExporter extends BaseExporter {
 
-    public String createCsv(final Set<ExternalReferenceDTO> externalReferences) {
+    public void writeCsv(final Set<ExternalReferenceDTO> externalReferences,
+                         final OutputStream output) {
         final Set<String> titleLanguages = resolveExternalReferenceTitleLanguages(externalReferences);
         final Set<String> descriptionLanguages = resolveExternalReferenceDescriptionLanguages(externalReferences);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_HREF);
         appendValue(csv, CONTENT_HEADER_ID);
         appendValue(csv, CONTENT_HEADER_PROPERTYTYPE);
@@ -37,7 +39,7 @@ public class ExternalReferenceExporter extends BaseExporter {
             appendValue(csv, externalReference.getModified() != null ? formatDateWithSeconds(externalReference.getModified()) : "", true);
             csv.append("\n");
         }
-        return csv.toString();
+        csv.flush();
     }
 
     public Workbook createExcel(final Set<ExternalReferenceDTO> externalReferences,
@@ -1,5 +1,6 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -27,12 +28,13 @@ public class MemberExporter extends BaseExporter {
 
     private static final String CROSS_REFERENCE_LIST_PRETTY_TYPED = "Cross-Reference List";
 
-    public String createCsv(final ExtensionDTO extension,
-                            final Set<MemberDTO> members) {
+    public void writeCsv(final ExtensionDTO extension,
+                         final Set<MemberDTO> members,
+                         final OutputStream output) {
         final Set<String> prefLabelLanguages = resolveMemberPrefLabelLanguages(members);
         final Set<CodeDTO> codesInMembers = members.stream().map(MemberDTO::getCode).collect(Collectors.toSet());
         final Set<String> codePrefLabelLanguages = resolveCodePrefLabelLanguages(codesInMembers);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_MEMBER_ID);
         appendValue(csv, CONTENT_HEADER_URI);
         final Set<ValueTypeDTO> valueTypes = extension != null ? extension.getPropertyType().getValueTypes() : null;
@@ -66,14 +68,15 @@ public class MemberExporter extends BaseExporter {
             appendValue(csv, member.getModified() != null ? formatDateWithSeconds(member.getModified()) : "");
             appendValue(csv, member.getOrder().toString(), true);
         }
-        return csv.toString();
+        csv.flush();
     }
 
-    public String createSimplifiedCsvForCrossReferenceList(final ExtensionDTO extension,
-                                                           final Set<MemberDTO> members) {
+    public void writeSimplifiedCsvForCrossReferenceList(final ExtensionDTO extension,
+                                                        final Set<MemberDTO> members,
+                                                        final OutputStream output) {
         final Set<CodeDTO> codesInMembers = members.stream().map(MemberDTO::getCode).collect(Collectors.toSet());
         final Set<String> prefLabelLanguages = resolveCodePrefLabelLanguages(codesInMembers);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         final Set<ValueTypeDTO> valueTypes = extension != null ? extension.getPropertyType().getValueTypes() : null;
         if (valueTypes != null && !valueTypes.isEmpty()) {
             valueTypes.forEach(valueType -> appendValue(csv, valueType.getLocalName().toUpperCase()));
@@ -98,7 +101,7 @@ public class MemberExporter extends BaseExporter {
                 appendValue(csv, member.getRelatedMember().getCode().getUri(), true);
             }
         }
-        return csv.toString();
+        csv.flush();
     }
 
     void addMembersSheet(final ExtensionDTO extension,
@@ -227,7 +230,7 @@ public class MemberExporter extends BaseExporter {
     }
 
     private void appendValueTypesToCsv(final Set<ValueTypeDTO> valueTypes,
-                                       final StringBuilder csv,
+                                       final CsvWriter csv,
                                        final MemberDTO member) {
         if (valueTypes != null && !valueTypes.isEmpty()) {
             valueTypes.forEach(valueType -> {
@@ -1,5 +1,6 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -15,10 +16,11 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class PropertyTypeExporter extends BaseExporter {
 
-    public String createCsv(final Set<PropertyTypeDTO> propertyTypes) {
+    public void writeCsv(final Set<PropertyTypeDTO> propertyTypes,
+                         final OutputStream output) {
         final Set<String> prefLabelLanguages = resolvePropertyTypePrefLabelLanguages(propertyTypes);
         final Set<String> definitionLanguages = resolvePropertyTypeDefinitionLanguages(propertyTypes);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_LOCALNAME);
         appendValue(csv, CONTENT_HEADER_ID);
         appendValue(csv, CONTENT_HEADER_URI);
@@ -39,7 +41,7 @@ public class PropertyTypeExporter extends BaseExporter {
             appendValue(csv, propertyType.getModified() != null ? formatDateWithSeconds(propertyType.getModified()) : "", true);
             csv.append("\n");
         }
-        return csv.toString();
+        csv.flush();
     }
 
     public Workbook createExcel(final Set<PropertyTypeDTO> propertyTypes,
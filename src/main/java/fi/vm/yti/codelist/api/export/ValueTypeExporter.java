@@ -1,5 +1,6 @@
 package fi.vm.yti.codelist.api.export;
 
+import java.io.OutputStream;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -15,9 +16,10 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class ValueTypeExporter extends BaseExporter {
 
-    public String createCsv(final Set<ValueTypeDTO> valueTypes) {
+    public void writeCsv(final Set<ValueTypeDTO> valueTypes,
+                         final OutputStream output) {
         final Set<String> prefLabelLanguages = resolveValueTypePrefLabelLanguages(valueTypes);
-        final StringBuilder csv = new StringBuilder();
+        final CsvWriter csv = new CsvWriter(output);
         appendValue(csv, CONTENT_HEADER_LOCALNAME);
         appendValue(csv, CONTENT_HEADER_ID);
         appendValue(csv, CONTENT_HEADER_TYPEURI);
@@ -36,7 +38,7 @@ public class ValueTypeExporter extends BaseExporter {
             appendValue(csv, Boolean.toString(valueType.getRequired()), true);
             csv.append("\n");
         }
-        return csv.toString();
+        csv.flush();
     }
 
     public Workbook createExcel(final Set<ValueTypeDTO> valueTypes,
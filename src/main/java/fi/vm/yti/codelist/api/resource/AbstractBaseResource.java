@@ -1,21 +1,38 @@
 package fi.vm.yti.codelist.api.resource;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.EndpointConfigBase;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterModifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -25,6 +42,7 @@ import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
 
+import fi.vm.yti.codelist.api.domain.SourceProjection;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
 import fi.vm.yti.codelist.common.dto.ErrorModel;
 import fi.vm.yti.codelist.common.model.Status;
@@ -46,6 +64,11 @@ abstract class AbstractBaseResource {
     private static final String DOWNLOAD_FILENAME_MEMBERS = "members";
     private static final String HEADER_CONTENT_DISPOSITION = "content-disposition";
     private static final String DOWNLOAD_FILENAME_CROSS_REFERENCE_LIST = "crossreferencelist";
+    private static final Pattern FIELD_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_]+");
+    private static final Map<String, Map<String, List<String>>> COLLAPSED_SOURCE_FIELDS = createCollapsedSourceFields();
+
+    @Value("${application.async.timeoutMillis:30000}")
+    private long asyncTimeoutMillis;
 
     SimpleFilterProvider createSimpleFilterProvider() {
         return createSimpleFilterProvider(FILTER_NAME_RESOURCE, null);
@@ -58,6 +81,77 @@ abstract class AbstractBaseResource {
         return createSimpleFilterProvider(baseFilters, expand);
     }
 
+    SimpleFilterProvider createSimpleFilterProvider(final String baseFilter,
+                                                    final String expand,
+                                                    final String fields) {
+        final SimpleFilterProvider filterProvider = createSimpleFilterProvider(baseFilter, expand);
+        final Set<String> includes = parseFields(fields);
+        if (!includes.isEmpty()) {
+            filterProvider.addFilter(baseFilter, SimpleBeanPropertyFilter.filterOutAllExcept(includes));
+        }
+        return filterProvider;
+    }
+
+    SourceProjection createSourceProjection(final String baseFilter,
+                                            final String expand,
+                                            final String fields) {
+        final Set<String> expandedFilters = new HashSet<>();
+        expandedFilters.add(baseFilter);
+        if (expand != null && !expand.isEmpty()) {
+            for (final String filter : expand.split(",")) {
+                expandedFilters.add(filter.trim());
+            }
+        }
+        final List<String> excludes = new ArrayList<>();
+        COLLAPSED_SOURCE_FIELDS.getOrDefault(baseFilter, Collections.emptyMap()).forEach((filter, paths) -> {
+            if (!expandedFilters.contains(filter)) {
+                excludes.addAll(paths);
+            }
+        });
+        return SourceProjection.of(parseFields(fields), excludes);
+    }
+
+    private Set<String> parseFields(final String fields) {
+        final Set<String> includes = new LinkedHashSet<>();
+        if (fields != null && !fields.isEmpty()) {
+            for (final String field : fields.split(",")) {
+                final String fieldName = field.trim();
+                if (fieldName.isEmpty()) {
+                    continue;
+                }
+                if (!FIELD_NAME_PATTERN.matcher(fieldName).matches()) {
+                    throw new YtiCodeListException(new ErrorModel(HttpStatus.BAD_REQUEST.value(), "Field name is not valid: " + fieldName));
+                }
+                includes.add(fieldName);
+            }
+            if (!includes.isEmpty()) {
+                includes.add(FIELD_NAME_ID);
+                includes.add(FIELD_NAME_URI);
+                includes.add(FIELD_NAME_URL);
+            }
+        }
+        return includes;
+    }
+
+    private static Map<String, Map<String, List<String>>> createCollapsedSourceFields() {
+        final Map<String, List<String>> codeFields = new HashMap<>();
+        codeFields.put(FILTER_NAME_CODESCHEME, prefixPaths("codeScheme", "codeRegistry", "organizations", "externalReferences", "infoDomains", "languageCodes", "extensions", "defaultCode", "prefLabel", "definition", "description", "changeNote", "feedbackChannel", "variantsOfThisCodeScheme", "variantMothersOfThisCodeScheme", "allVersions"));
+        codeFields.put(FILTER_NAME_EXTERNALREFERENCE, prefixPaths("externalReferences", "prefLabel", "description", "propertyType", "parentCodeScheme"));
+        codeFields.put(FILTER_NAME_MEMBER, prefixPaths("members", "code", "extension", "relatedMember", "memberValues", "prefLabel"));
+        final Map<String, List<String>> memberFields = new HashMap<>();
+        memberFields.put(FILTER_NAME_CODE, prefixPaths("code", "codeScheme", "externalReferences", "members", "prefLabel", "definition", "description", "shortName"));
+        memberFields.put(FILTER_NAME_EXTENSION, prefixPaths("extension", "parentCodeScheme", "codeSchemes", "propertyType", "prefLabel", "members"));
+        final Map<String, Map<String, List<String>>> collapsedSourceFields = new HashMap<>();
+        collapsedSourceFields.put(FILTER_NAME_CODE, codeFields);
+        collapsedSourceFields.put(FILTER_NAME_MEMBER, memberFields);
+        return collapsedSourceFields;
+    }
+
+    private static List<String> prefixPaths(final String prefix,
+                                            final String... fields) {
+        return Collections.unmodifiableList(Arrays.stream(fields).map(field -> prefix + "." + field).collect(Collectors.toList()));
+    }
+
     private SimpleFilterProvider createBaseFilterProvider() {
         final SimpleFilterProvider filterProvider = new SimpleFilterProvider();
         filterProvider.addFilter(FILTER_NAME_CODEREGISTRY, SimpleBeanPropertyFilter.filterOutAllExcept(FIELD_NAME_URI, FIELD_NAME_URL));
@@ -156,52 +250,52 @@ abstract class AbstractBaseResource {
         }
     }
 
-    Response streamCsvCodesOutput(final String csv) {
+    Response streamCsvCodesOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_CODES);
     }
 
-    Response streamCsvCodeSchemeOutput(final String csv,
+    Response streamCsvCodeSchemeOutput(final StreamingOutput csv,
                                        final String filename) {
         return streamCsvOutput(csv, filename);
     }
 
-    Response streamCsvCodeSchemesOutput(final String csv) {
+    Response streamCsvCodeSchemesOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_CODESCHEMES);
     }
 
-    Response streamCsvCodeRegistriesOutput(final String csv) {
+    Response streamCsvCodeRegistriesOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_CODEREGISTRIES);
     }
 
-    Response streamCsvExternalReferencesOutput(final String csv) {
+    Response streamCsvExternalReferencesOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_EXTERNALREFERENCES);
     }
 
-    Response streamCsvPropertyTypesOutput(final String csv) {
+    Response streamCsvPropertyTypesOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_PROPERTYTYPES);
     }
 
-    Response streamCsvValueTypesOutput(final String csv) {
+    Response streamCsvValueTypesOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_VALUETYPES);
     }
 
-    Response streamCsvExtensionsOutput(final String csv) {
+    Response streamCsvExtensionsOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_EXTENSIONS);
     }
 
-    Response streamCsvMembersOutput(final String csv) {
+    Response streamCsvMembersOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_MEMBERS);
     }
 
-    Response streamCsvCrossReferenceListOutput(final String csv) {
+    Response streamCsvCrossReferenceListOutput(final StreamingOutput csv) {
         return streamCsvOutput(csv, DOWNLOAD_FILENAME_CROSS_REFERENCE_LIST);
     }
 
-    private Response streamCsvOutput(final String csv,
+    private Response streamCsvOutput(final StreamingOutput csv,
                                      final String filename) {
         final StreamingOutput stream = output -> {
             try {
-                output.write(csv.getBytes(StandardCharsets.UTF_8));
+                csv.write(output);
             } catch (final Exception e) {
                 LOG.error("CSV output generation issue.", e);
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "CSV output generation failed!"));
@@ -251,17 +345,69 @@ abstract class AbstractBaseResource {
         return streamExcelOutput(workbook, DOWNLOAD_FILENAME_MEMBERS);
     }
 
+    Response streamExcelCodeSchemeOutput(final StreamingOutput excel,
+                                         final String filename) {
+        return streamExcelOutput(excel, filename);
+    }
+
+    Response streamExcelExtensionsOutput(final StreamingOutput excel) {
+        return streamExcelOutput(excel, DOWNLOAD_FILENAME_EXTENSIONS);
+    }
+
+    Response streamExcelCrossReferenceListOutput(final StreamingOutput excel) {
+        return streamExcelOutput(excel, DOWNLOAD_FILENAME_CROSS_REFERENCE_LIST);
+    }
+
     private Response streamExcelOutput(final Workbook workbook,
                                        final String filename) {
-        final StreamingOutput stream = output -> {
-            try {
-                workbook.write(output);
-            } catch (final Exception e) {
-                LOG.error("Excel output generation issue.", e);
-                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Excel output generation failed!"));
+        return streamExcelOutput(output -> writeExcel(workbook, output), filename);
+    }
+
+    private Response streamExcelOutput(final StreamingOutput excel,
+                                       final String filename) {
+        return Response.ok(excel, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet").header(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + createDownloadFilename(FORMAT_EXCEL, filename)).build();
+    }
+
+    void writeExcel(final Workbook workbook,
+                    final OutputStream output) {
+        try {
+            workbook.write(output);
+        } catch (final Exception e) {
+            LOG.error("Excel output generation issue.", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Excel output generation failed!"));
+        } finally {
+            disposeWorkbook(workbook);
+        }
+    }
+
+    private void disposeWorkbook(final Workbook workbook) {
+        if (workbook instanceof SXSSFWorkbook && !((SXSSFWorkbook) workbook).dispose()) {
+            LOG.warn("Excel output temporary files could not be removed.");
+        }
+        try {
+            workbook.close();
+        } catch (final IOException e) {
+            LOG.warn("Closing Excel workbook failed.", e);
+        }
+    }
+
+    <T> void resumeAsync(final AsyncResponse asyncResponse,
+                         final CompletionStage<T> stage,
+                         final Function<T, Response> responseBuilder) {
+        asyncResponse.setTimeoutHandler(response -> {
+            LOG.warn("Asynchronous request timed out after " + asyncTimeoutMillis + " ms.");
+            response.resume(new YtiCodeListException(new ErrorModel(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy, please try again later.")));
+        });
+        asyncResponse.setTimeout(asyncTimeoutMillis, TimeUnit.MILLISECONDS);
+        stage.thenApply(responseBuilder).whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                asyncResponse.resume(response);
+            } else if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                asyncResponse.resume(throwable.getCause());
+            } else {
+                asyncResponse.resume(throwable);
             }
-        };
-        return Response.ok(stream, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet").header(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + createDownloadFilename(FORMAT_EXCEL, filename)).build();
+        });
     }
 
     void ensureSuomiFiUriHost(final String host) {
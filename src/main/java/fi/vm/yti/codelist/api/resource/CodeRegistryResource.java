@@ -1,9 +1,12 @@
 package fi.vm.yti.codelist.api.resource;
 
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.ws.rs.DefaultValue;
@@ -13,8 +16,14 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 
 import org.apache.poi.ss.usermodel.Workbook;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
@@ -25,11 +34,15 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import fi.vm.yti.codelist.api.api.ApiUtils;
 import fi.vm.yti.codelist.api.api.ResponseWrapper;
+import fi.vm.yti.codelist.api.domain.AsyncDomain;
 import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.IndexRegistry;
+import fi.vm.yti.codelist.api.domain.SourceProjection;
 import fi.vm.yti.codelist.api.exception.NotFoundException;
 import fi.vm.yti.codelist.api.export.CodeExporter;
 import fi.vm.yti.codelist.api.export.CodeRegistryExporter;
 import fi.vm.yti.codelist.api.export.CodeSchemeExporter;
+import fi.vm.yti.codelist.api.export.ExportArtifactStore;
 import fi.vm.yti.codelist.api.export.ExtensionExporter;
 import fi.vm.yti.codelist.api.export.MemberExporter;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
@@ -45,6 +58,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import static fi.vm.yti.codelist.api.export.ExportArtifactStore.*;
 import static fi.vm.yti.codelist.api.util.EncodingUtils.urlDecodeCodeValue;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 import static java.util.Arrays.asList;
@@ -57,27 +71,36 @@ public class CodeRegistryResource extends AbstractBaseResource {
     private static final String HEADER_CONTENT_DISPOSITION = "content-disposition";
     private final ApiUtils apiUtils;
     private final Domain domain;
+    private final AsyncDomain asyncDomain;
     private final CodeExporter codeExporter;
     private final CodeSchemeExporter codeSchemeExporter;
     private final CodeRegistryExporter codeRegistryExporter;
     private final ExtensionExporter extensionExporter;
     private final MemberExporter memberExporter;
+    private final IndexRegistry indexRegistry;
+    private final ExportArtifactStore exportArtifactStore;
 
     @Inject
     public CodeRegistryResource(final ApiUtils apiUtils,
                                 final Domain domain,
+                                final AsyncDomain asyncDomain,
                                 final CodeExporter codeExporter,
                                 final CodeSchemeExporter codeSchemeExporter,
                                 final CodeRegistryExporter codeRegistryExporter,
                                 final ExtensionExporter extensionExporter,
-                                final MemberExporter memberExporter) {
+                                final MemberExporter memberExporter,
+                                final IndexRegistry indexRegistry,
+                                final ExportArtifactStore exportArtifactStore) {
         this.apiUtils = apiUtils;
         this.domain = domain;
+        this.asyncDomain = asyncDomain;
         this.codeExporter = codeExporter;
         this.codeSchemeExporter = codeSchemeExporter;
         this.codeRegistryExporter = codeRegistryExporter;
         this.extensionExporter = extensionExporter;
         this.memberExporter = memberExporter;
+        this.indexRegistry = indexRegistry;
+        this.exportArtifactStore = exportArtifactStore;
     }
 
     @GET
@@ -85,32 +108,41 @@ public class CodeRegistryResource extends AbstractBaseResource {
     @ApiResponse(responseCode = "200", description = "Returns all CodeRegistries in specified format.")
     @Produces({ MediaType.APPLICATION_JSON + ";charset=UTF-8", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "text/csv" })
     @Tag(name = "CodeRegistry")
-    public Response getCodeRegistries(@Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
-                                      @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
-                                      @Parameter(description = "CodeRegistry CodeValue as string value.", in = ParameterIn.QUERY) @QueryParam("codeValue") final String codeRegistryCodeValue,
-                                      @Parameter(description = "CodeRegistry name as string value.", in = ParameterIn.QUERY) @QueryParam("name") final String name,
-                                      @Parameter(description = "Format for content.", in = ParameterIn.QUERY) @QueryParam("format") @DefaultValue(FORMAT_JSON) final String format,
-                                      @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
-                                      @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
-                                      @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                      @Parameter(description = "Organizations filtering parameter, results will be registries belonging to these organizations", in = ParameterIn.QUERY) @QueryParam("organizations") final String organizationsCsv,
-                                      @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+    public void getCodeRegistries(@Suspended final AsyncResponse asyncResponse,
+                                  @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
+                                  @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
+                                  @Parameter(description = "CodeRegistry CodeValue as string value.", in = ParameterIn.QUERY) @QueryParam("codeValue") final String codeRegistryCodeValue,
+                                  @Parameter(description = "CodeRegistry name as string value.", in = ParameterIn.QUERY) @QueryParam("name") final String name,
+                                  @Parameter(description = "Format for content.", in = ParameterIn.QUERY) @QueryParam("format") @DefaultValue(FORMAT_JSON) final String format,
+                                  @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
+                                  @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
+                                  @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                                  @Parameter(description = "Organizations filtering parameter, results will be registries belonging to these organizations", in = ParameterIn.QUERY) @QueryParam("organizations") final String organizationsCsv,
+                                  @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                  @Context final Request request,
+                                  @Context final UriInfo uriInfo) {
         final List<String> organizations = organizationsCsv == null ? null : asList(organizationsCsv.split(","));
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final Set<CodeRegistryDTO> codeRegistries = domain.getCodeRegistries(codeRegistryCodeValue, name, meta, organizations);
-        if (FORMAT_CSV.equalsIgnoreCase(format)) {
-            final String csv = codeRegistryExporter.createCsv(codeRegistries);
-            return streamCsvCodeRegistriesOutput(csv);
-        } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-            final Workbook workbook = codeRegistryExporter.createExcel(codeRegistries, format);
-            return streamExcelCodeRegistriesOutput(workbook);
-        } else {
-            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODEREGISTRY, expand), pretty));
-            final ResponseWrapper<CodeRegistryDTO> wrapper = new ResponseWrapper<>();
-            wrapper.setResults(codeRegistries);
-            wrapper.setMeta(meta);
-            return Response.ok(wrapper).build();
+        final ResponseValidators validators = ResponseValidators.forVersions(uriInfo, indexRegistry.getContentWatermark(ELASTIC_INDEX_CODEREGISTRY));
+        final Response notModified = validators.evaluate(request);
+        if (notModified != null) {
+            asyncResponse.resume(notModified);
+            return;
         }
+        resumeAsync(asyncResponse, asyncDomain.getCodeRegistriesAsync(codeRegistryCodeValue, name, meta, organizations), codeRegistries -> {
+            if (FORMAT_CSV.equalsIgnoreCase(format)) {
+                return validators.apply(streamCsvCodeRegistriesOutput(output -> codeRegistryExporter.writeCsv(codeRegistries, output)));
+            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+                final Workbook workbook = codeRegistryExporter.createExcel(codeRegistries, format);
+                return validators.apply(streamExcelCodeRegistriesOutput(workbook));
+            } else {
+                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODEREGISTRY, expand), pretty));
+                final ResponseWrapper<CodeRegistryDTO> wrapper = new ResponseWrapper<>();
+                wrapper.setResults(codeRegistries);
+                wrapper.setMeta(meta);
+                return validators.apply(Response.ok(wrapper).build());
+            }
+        });
     }
 
     @GET
@@ -125,15 +157,22 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                     @Parameter(description = "Boolean that controls whether to embed CodeSchemes in payload or not.", in = ParameterIn.QUERY) @QueryParam("embedCodeSchemes") @DefaultValue("false") final boolean embedCodeSchemes,
                                     @Parameter(description = "User organizations filtering parameter, for filtering unfinished code schemes") @QueryParam("userOrganizations") final String userOrganizationsCsv,
                                     @Parameter(description = "Include INCOMPLETE statused code schemes.", in = ParameterIn.QUERY) @QueryParam("includeIncomplete") @DefaultValue("false") final boolean includeIncomplete,
-                                    @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                    @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                    @Context final Request request,
+                                    @Context final UriInfo uriInfo) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODEREGISTRY, expand), pretty));
         final List<String> userOrganizations = userOrganizationsCsv == null ? null : asList(userOrganizationsCsv.toLowerCase().split(","));
         final CodeRegistryDTO codeRegistry = domain.getCodeRegistry(codeRegistryCodeValue);
         if (codeRegistry != null) {
+            final ResponseValidators validators = embedCodeSchemes ? ResponseValidators.forVersions(uriInfo, String.valueOf(codeRegistry.getModified()), indexRegistry.getContentWatermark(ELASTIC_INDEX_CODESCHEME)) : ResponseValidators.forDates(uriInfo, codeRegistry.getModified());
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
             if (embedCodeSchemes) {
                 codeRegistry.setCodeSchemes(domain.getCodeSchemesByCodeRegistryCodeValue(codeRegistryCodeValue, null, userOrganizations, includeIncomplete, language));
             }
-            return Response.ok(codeRegistry).build();
+            return validators.apply(Response.ok(codeRegistry).build());
         } else {
             throw new NotFoundException();
         }
@@ -145,45 +184,54 @@ public class CodeRegistryResource extends AbstractBaseResource {
     @ApiResponse(responseCode = "200", description = "Returns CodeSchemes for a CodeRegistry in specified format.")
     @Produces({ MediaType.APPLICATION_JSON + ";charset=UTF-8", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "text/csv" })
     @Tag(name = "CodeScheme")
-    public Response getCodeRegistryCodeSchemes(@Parameter(description = "CodeRegistry CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeRegistryCodeValue") final String codeRegistryCodeValue,
-                                               @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
-                                               @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
-                                               @Parameter(description = "Service information domain classifications in CSL format.", in = ParameterIn.QUERY) @QueryParam("infoDomain") final String infoDomain,
-                                               @Parameter(description = "CodeRegistry PrefLabel as string value for searching.", in = ParameterIn.QUERY) @QueryParam("codeRegistryPrefLabel") final String codeRegistryPrefLabel,
-                                               @Parameter(description = "CodeScheme codeValue as string value for searching.", in = ParameterIn.QUERY) @QueryParam("codeValue") final String codeSchemeCodeValue,
-                                               @Parameter(description = "CodeScheme PrefLabel as string value for searching.", in = ParameterIn.QUERY) @QueryParam("prefLabel") final String codeSchemePrefLabel,
-                                               @Parameter(description = "Language code for sorting results.", in = ParameterIn.QUERY) @QueryParam("language") @DefaultValue("fi") final String language,
-                                               @Parameter(description = "Search term for matching codeValue and prefLabel.", in = ParameterIn.QUERY) @QueryParam("searchTerm") final String searchTerm,
-                                               @Parameter(description = "Status enumerations in CSL format.", in = ParameterIn.QUERY) @QueryParam("status") final String status,
-                                               @Parameter(description = "Extension PropertyType localName as string value for searching.", in = ParameterIn.QUERY) @QueryParam("extensionPropertyType") final String extensionPropertyType,
-                                               @Parameter(description = "Format for content.", in = ParameterIn.QUERY) @QueryParam("format") @DefaultValue(FORMAT_JSON) final String format,
-                                               @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
-                                               @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
-                                               @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                               @Parameter(description = "Sort mode for response values.", in = ParameterIn.QUERY) @QueryParam("sortMode") @DefaultValue("default") final String sortMode,
-                                               @Parameter(description = "User organizations filtering parameter, for filtering unfinished code schemes") @QueryParam("userOrganizations") final String userOrganizationsCsv,
-                                               @Parameter(description = "Include INCOMPLETE statused code schemes.", in = ParameterIn.QUERY) @QueryParam("includeIncomplete") @DefaultValue("false") final boolean includeIncomplete,
-                                               @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+    public void getCodeRegistryCodeSchemes(@Suspended final AsyncResponse asyncResponse,
+                                           @Parameter(description = "CodeRegistry CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeRegistryCodeValue") final String codeRegistryCodeValue,
+                                           @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
+                                           @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
+                                           @Parameter(description = "Service information domain classifications in CSL format.", in = ParameterIn.QUERY) @QueryParam("infoDomain") final String infoDomain,
+                                           @Parameter(description = "CodeRegistry PrefLabel as string value for searching.", in = ParameterIn.QUERY) @QueryParam("codeRegistryPrefLabel") final String codeRegistryPrefLabel,
+                                           @Parameter(description = "CodeScheme codeValue as string value for searching.", in = ParameterIn.QUERY) @QueryParam("codeValue") final String codeSchemeCodeValue,
+                                           @Parameter(description = "CodeScheme PrefLabel as string value for searching.", in = ParameterIn.QUERY) @QueryParam("prefLabel") final String codeSchemePrefLabel,
+                                           @Parameter(description = "Language code for sorting results.", in = ParameterIn.QUERY) @QueryParam("language") @DefaultValue("fi") final String language,
+                                           @Parameter(description = "Search term for matching codeValue and prefLabel.", in = ParameterIn.QUERY) @QueryParam("searchTerm") final String searchTerm,
+                                           @Parameter(description = "Status enumerations in CSL format.", in = ParameterIn.QUERY) @QueryParam("status") final String status,
+                                           @Parameter(description = "Extension PropertyType localName as string value for searching.", in = ParameterIn.QUERY) @QueryParam("extensionPropertyType") final String extensionPropertyType,
+                                           @Parameter(description = "Format for content.", in = ParameterIn.QUERY) @QueryParam("format") @DefaultValue(FORMAT_JSON) final String format,
+                                           @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
+                                           @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
+                                           @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                                           @Parameter(description = "Sort mode for response values.", in = ParameterIn.QUERY) @QueryParam("sortMode") @DefaultValue("default") final String sortMode,
+                                           @Parameter(description = "User organizations filtering parameter, for filtering unfinished code schemes") @QueryParam("userOrganizations") final String userOrganizationsCsv,
+                                           @Parameter(description = "Include INCOMPLETE statused code schemes.", in = ParameterIn.QUERY) @QueryParam("includeIncomplete") @DefaultValue("false") final boolean includeIncomplete,
+                                           @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                           @Context final Request request,
+                                           @Context final UriInfo uriInfo) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final List<String> userOrganizations = userOrganizationsCsv == null ? null : asList(userOrganizationsCsv.toLowerCase().split(","));
         final List<String> infoDomainsList = parseInfoDomainsCls(infoDomain);
         final List<String> statusList = parseStatusCsl(status);
         final CodeRegistryDTO codeRegistry = domain.getCodeRegistry(codeRegistryCodeValue);
         if (codeRegistry != null) {
-            final Set<CodeSchemeDTO> codeSchemes = domain.getCodeSchemes(sortMode, null, userOrganizations, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemePrefLabel, language, searchTerm, false, false, statusList, infoDomainsList, extensionPropertyType, meta);
-            if (FORMAT_CSV.equalsIgnoreCase(format.toLowerCase())) {
-                final String csv = codeSchemeExporter.createCsv(codeSchemes);
-                return streamCsvCodeSchemesOutput(csv);
-            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = codeSchemeExporter.createExcel(codeSchemes, format);
-                return streamExcelCodeSchemesOutput(workbook);
-            } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
-                final ResponseWrapper<CodeSchemeDTO> wrapper = new ResponseWrapper<>();
-                wrapper.setResults(codeSchemes);
-                wrapper.setMeta(meta);
-                return Response.ok(wrapper).build();
+            final ResponseValidators validators = ResponseValidators.forVersions(uriInfo, indexRegistry.getContentWatermark(ELASTIC_INDEX_CODESCHEME), indexRegistry.getContentWatermark(ELASTIC_INDEX_CODEREGISTRY));
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                asyncResponse.resume(notModified);
+                return;
             }
+            resumeAsync(asyncResponse, asyncDomain.getCodeSchemesAsync(sortMode, null, userOrganizations, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemePrefLabel, language, searchTerm, false, false, statusList, infoDomainsList, extensionPropertyType, meta), codeSchemes -> {
+                if (FORMAT_CSV.equalsIgnoreCase(format.toLowerCase())) {
+                    return validators.apply(streamCsvCodeSchemesOutput(output -> codeSchemeExporter.writeCsv(codeSchemes, output)));
+                } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+                    final Workbook workbook = codeSchemeExporter.createExcel(codeSchemes, format);
+                    return validators.apply(streamExcelCodeSchemesOutput(workbook));
+                } else {
+                    ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
+                    final ResponseWrapper<CodeSchemeDTO> wrapper = new ResponseWrapper<>();
+                    wrapper.setResults(codeSchemes);
+                    wrapper.setMeta(meta);
+                    return validators.apply(Response.ok(wrapper).build());
+                }
+            });
         } else {
             throw new NotFoundException();
         }
@@ -203,58 +251,55 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                               @Parameter(description = "Boolean that controls whether to embed Codes in the payload or not.", in = ParameterIn.QUERY) @QueryParam("embedCodes") @DefaultValue("false") final boolean embedCodes,
                                               @Parameter(description = "Boolean that controls whether to embed Extensions in the payload or not.", in = ParameterIn.QUERY) @QueryParam("embedExtensions") @DefaultValue("false") final boolean embedExtensions,
                                               @Parameter(description = "Boolean that controls whether to embed embedMembers in the payload or not.", in = ParameterIn.QUERY) @QueryParam("embedMembers") @DefaultValue("false") final boolean embedMembers,
-                                              @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                              @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                              @Context final Request request,
+                                              @Context final UriInfo uriInfo) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
         final CodeRegistryDTO codeRegistry = domain.getCodeRegistry(codeRegistryCodeValue);
-        if (codeRegistry != null) {
-            if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-                if (codeScheme != null) {
-                    final Workbook workbook = codeSchemeExporter.createExcel(codeScheme, format);
-                    return streamExcelCodeSchemeOutput(workbook, "codelist_" + codeScheme.getCodeValue());
-                } else {
-                    throw new NotFoundException();
-                }
-            } else if (FORMAT_CSV.equalsIgnoreCase(format)) {
-                final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-                if (codeScheme != null) {
-                    final String csv = codeSchemeExporter.createCsv(codeScheme);
-                    return streamCsvCodeSchemeOutput(csv, "codelist_" + codeScheme.getCodeValue());
-                } else {
-                    throw new NotFoundException();
-                }
-            } else {
-                final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-                if (codeScheme != null) {
-                    if (embedCodes) {
-                        final Set<CodeDTO> codes = domain.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeRegistryCodeValue, codeSchemeCodeValue);
-                        filterCodes(codes);
-                        codeScheme.setCodes(codes);
-                    }
-                    if (embedExtensions) {
-                        Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme);
-                        filterExtensions(extensions);
-                        if (embedMembers) {
-                            for (ExtensionDTO extension : extensions) {
-                                final Set<MemberDTO> members = domain.getMembers(extension, null);
-                                filterMembers(members);
-                                extension.setMembers(members);
-                            }
-                        }
-                        codeScheme.setExtensions(extensions);
-                    }
-                    Response response = Response.ok(codeScheme).build();
-                    if (downloadFile) {
-                        response.getHeaders().putSingle(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + "codelist_" + codeScheme.getCodeValue() + ".json");
+        if (codeRegistry == null) {
+            throw new NotFoundException();
+        }
+        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
+        if (codeScheme == null) {
+            throw new NotFoundException();
+        }
+        final ResponseValidators validators = ResponseValidators.forDates(uriInfo, codeScheme.getModified(), codeScheme.getContentModified(), codeScheme.getStatusModified());
+        final Response notModified = validators.evaluate(request);
+        if (notModified != null) {
+            return notModified;
+        }
+        if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final String artifactKey = exportArtifactStore.createKey(ARTIFACT_CODESCHEME, codeScheme.getId(), format, false, codeScheme.getContentModified(), codeScheme.getModified());
+            final StreamingOutput excel = exportArtifactStore.get(artifactKey, output -> writeExcel(codeSchemeExporter.createExcel(codeScheme, format), output));
+            return validators.apply(streamExcelCodeSchemeOutput(excel, "codelist_" + codeScheme.getCodeValue()));
+        } else if (FORMAT_CSV.equalsIgnoreCase(format)) {
+            final String artifactKey = exportArtifactStore.createKey(ARTIFACT_CODESCHEME, codeScheme.getId(), format, false, codeScheme.getContentModified(), codeScheme.getModified());
+            final StreamingOutput csv = exportArtifactStore.get(artifactKey, output -> codeSchemeExporter.writeCsv(codeScheme, output));
+            return validators.apply(streamCsvCodeSchemeOutput(csv, "codelist_" + codeScheme.getCodeValue()));
+        } else {
+            if (embedCodes) {
+                final Set<CodeDTO> codes = domain.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeRegistryCodeValue, codeSchemeCodeValue);
+                filterCodes(codes);
+                codeScheme.setCodes(codes);
+            }
+            if (embedExtensions) {
+                Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme);
+                filterExtensions(extensions);
+                if (embedMembers) {
+                    for (ExtensionDTO extension : extensions) {
+                        final Set<MemberDTO> members = domain.getMembers(extension, null);
+                        filterMembers(members);
+                        extension.setMembers(members);
                     }
-                    response.getHeaders().putSingle("Content-Type", MediaType.APPLICATION_JSON + ";charset=utf-8");
-                    return response;
-                } else {
-                    throw new NotFoundException();
                 }
+                codeScheme.setExtensions(extensions);
             }
-        } else {
-            throw new NotFoundException();
+            Response response = Response.ok(codeScheme).build();
+            if (downloadFile) {
+                response.getHeaders().putSingle(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + "codelist_" + codeScheme.getCodeValue() + ".json");
+            }
+            response.getHeaders().putSingle("Content-Type", MediaType.APPLICATION_JSON + ";charset=utf-8");
+            return validators.apply(response);
         }
     }
 
@@ -278,20 +323,44 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                    @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
                                                    @Parameter(description = "Language code for sorting results.", in = ParameterIn.QUERY) @QueryParam("language") final String language,
                                                    @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                                                   @Parameter(description = "Field names (csl) to include in JSON results.", in = ParameterIn.QUERY) @QueryParam("fields") final String fields,
                                                    @Parameter(description = "Returns code codeValues in JSON array format") @QueryParam("array") final String array,
                                                    @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
-                                                   @Parameter(description = "True if the JSON array should be downloaded as file", in = ParameterIn.QUERY) @QueryParam("downloadArray") final boolean downloadArray) {
+                                                   @Parameter(description = "True if the JSON array should be downloaded as file", in = ParameterIn.QUERY) @QueryParam("downloadArray") final boolean downloadArray,
+                                                   @Context final Request request,
+                                                   @Context final UriInfo uriInfo) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final List<String> statusList = parseStatusCsl(status);
         final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
         if (codeScheme != null) {
-            final Set<CodeDTO> codes = domain.getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statusList, meta);
+            final ResponseValidators validators = ResponseValidators.forDates(uriInfo, codeScheme.getModified(), codeScheme.getContentModified(), codeScheme.getStatusModified());
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
+            final boolean export = FORMAT_CSV.equalsIgnoreCase(format) || FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format);
+            final SourceProjection projection;
+            if (export) {
+                projection = SourceProjection.FULL;
+            } else if (array != null) {
+                projection = SourceProjection.of(Collections.singletonList("codeValue"), null);
+            } else {
+                projection = createSourceProjection(FILTER_NAME_CODE, expand, fields);
+            }
+            if (export && pageSize == null) {
+                final Iterable<CodeDTO> codeLanguages = domain.iterateCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statusList, meta, SourceProjection.of(CodeExporter.LANGUAGE_FIELDS, null));
+                final Iterable<CodeDTO> codes = domain.iterateCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statusList, meta, projection);
+                if (FORMAT_CSV.equalsIgnoreCase(format)) {
+                    return validators.apply(streamCsvCodesOutput(output -> codeExporter.writeCsv(codeLanguages, codes, output)));
+                }
+                return validators.apply(streamExcelCodesOutput(codeExporter.createExcel(codeLanguages, codes, format)));
+            }
+            final Set<CodeDTO> codes = domain.getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statusList, meta, projection);
             if (FORMAT_CSV.equalsIgnoreCase(format)) {
-                final String csv = codeExporter.createCsv(codes);
-                return streamCsvCodesOutput(csv);
-            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+                return validators.apply(streamCsvCodesOutput(output -> codeExporter.writeCsv(codes, output)));
+            } else if (export) {
                 final Workbook workbook = codeExporter.createExcel(codes, format);
-                return streamExcelCodesOutput(workbook);
+                return validators.apply(streamExcelCodesOutput(workbook));
             } else if (array != null) {
                 final ObjectMapper mapper = new ObjectMapper();
                 final ArrayNode arrayNode = mapper.createArrayNode();
@@ -300,9 +369,9 @@ public class CodeRegistryResource extends AbstractBaseResource {
                 if (downloadArray) {
                     response.getHeaders().putSingle(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + "codelist_" + codeScheme.getCodeValue() + "_codes.json");
                 }
-                return response;
+                return validators.apply(response);
             } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
+                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand, fields), pretty));
                 if (pageSize != null && from + pageSize < meta.getTotalResults()) {
                     meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_CODES, after, pageSize, from + pageSize));
                 }
@@ -312,7 +381,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
                     throw new NotFoundException();
                 }
                 wrapper.setResults(codes);
-                return Response.ok(wrapper).build();
+                return validators.apply(Response.ok(wrapper).build());
             }
         } else {
             throw new NotFoundException();
@@ -334,17 +403,23 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                         @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
                                                         @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
                                                         @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                                        @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                                        @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                                        @Context final Request request,
+                                                        @Context final UriInfo uriInfo) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
         if (codeScheme != null) {
+            final ResponseValidators validators = ResponseValidators.forDates(uriInfo, codeScheme.getModified(), codeScheme.getContentModified(), codeScheme.getStatusModified());
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
             final Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme, prefLabel, meta);
             if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-                final String csv = extensionExporter.createCsv(extensions);
-                return streamCsvExtensionsOutput(csv);
+                return validators.apply(streamCsvExtensionsOutput(output -> extensionExporter.writeCsv(extensions, output)));
             } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
                 final Workbook workbook = extensionExporter.createExcel(extensions, format);
-                return streamExcelExtensionsOutput(workbook);
+                return validators.apply(streamExcelExtensionsOutput(workbook));
             } else {
                 ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTENSION, expand), pretty));
                 if (pageSize != null && from + pageSize < meta.getTotalResults()) {
@@ -356,7 +431,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
                     throw new NotFoundException();
                 }
                 wrapper.setResults(extensions);
-                return Response.ok(wrapper).build();
+                return validators.apply(Response.ok(wrapper).build());
             }
         } else {
             throw new NotFoundException();
@@ -375,24 +450,31 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                        @Parameter(description = "Format for content.", in = ParameterIn.QUERY) @QueryParam("format") @DefaultValue(FORMAT_JSON) final String format,
                                                        @Parameter(description = "Is this a Cross-Refence List or not.", in = ParameterIn.QUERY) @QueryParam("crossreferencelist") @DefaultValue("false") final boolean exportAsSimplifiedCrossReferenceList,
                                                        @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                                       @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                                       @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                                       @Context final Request request,
+                                                       @Context final UriInfo uriInfo) {
         final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
         if (extension != null) {
+            final ResponseValidators validators = ResponseValidators.forDates(uriInfo, extension.getModified(), extension.getStatusModified(), getParentContentModified(extension));
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
             if (FORMAT_CSV.startsWith(format.toLowerCase())) {
                 final Set<ExtensionDTO> extensions = new HashSet<>();
                 extensions.add(extension);
-                final String csv = extensionExporter.createCsv(extensions);
-                return streamCsvExtensionsOutput(csv);
+                return validators.apply(streamCsvExtensionsOutput(output -> extensionExporter.writeCsv(extensions, output)));
             } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = extensionExporter.createExcel(extension, format, exportAsSimplifiedCrossReferenceList);
+                final String artifactKey = exportArtifactStore.createKey(ARTIFACT_EXTENSION, extension.getId(), format, exportAsSimplifiedCrossReferenceList, extension.getModified(), getParentContentModified(extension));
+                final StreamingOutput excel = exportArtifactStore.get(artifactKey, output -> writeExcel(extensionExporter.createExcel(extension, format, exportAsSimplifiedCrossReferenceList), output));
                 if (exportAsSimplifiedCrossReferenceList) {
-                    return streamExcelCrossReferenceListOutput(workbook);
+                    return validators.apply(streamExcelCrossReferenceListOutput(excel));
                 } else {
-                    return streamExcelExtensionsOutput(workbook);
+                    return validators.apply(streamExcelExtensionsOutput(excel));
                 }
             } else {
                 ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTENSION, expand), pretty));
-                return Response.ok(extension).build();
+                return validators.apply(Response.ok(extension).build());
             }
         } else {
             throw new NotFoundException();
@@ -416,22 +498,31 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                               @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
                                                               @Parameter(description = "Is this a Cross-Refence List or not.", in = ParameterIn.QUERY) @QueryParam("crossreferencelist") @DefaultValue("false") final boolean exportAsSimplifiedCrossReferenceList,
                                                               @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                                              @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                                              @Parameter(description = "Field names (csl) to include in JSON results.", in = ParameterIn.QUERY) @QueryParam("fields") final String fields,
+                                                              @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                                              @Context final Request request,
+                                                              @Context final UriInfo uriInfo) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
         if (extension != null) {
-            final Set<MemberDTO> members = domain.getMembers(extension, meta);
+            final ResponseValidators validators = ResponseValidators.forDates(uriInfo, extension.getModified(), extension.getStatusModified(), getParentContentModified(extension));
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
+            final boolean exportFormat = FORMAT_CSV.startsWith(format.toLowerCase()) || FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format);
+            final Set<MemberDTO> members = domain.getMembers(extension, meta, exportFormat ? SourceProjection.FULL : createSourceProjection(FILTER_NAME_MEMBER, expand, fields));
             if (FORMAT_CSV.startsWith(format.toLowerCase())) {
                 if (exportAsSimplifiedCrossReferenceList) {
-                    return streamCsvCrossReferenceListOutput(memberExporter.createSimplifiedCsvForCrossReferenceList(extension, members));
+                    return validators.apply(streamCsvCrossReferenceListOutput(output -> memberExporter.writeSimplifiedCsvForCrossReferenceList(extension, members, output)));
                 } else {
-                    return streamCsvMembersOutput(memberExporter.createCsv(extension, members));
+                    return validators.apply(streamCsvMembersOutput(output -> memberExporter.writeCsv(extension, members, output)));
                 }
             } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
                 final Workbook workbook = memberExporter.createExcel(extension, members, format);
-                return streamExcelMembersOutput(workbook);
+                return validators.apply(streamExcelMembersOutput(workbook));
             } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
+                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand, fields), pretty));
                 if (pageSize != null && from + pageSize < meta.getTotalResults()) {
                     meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTENSIONS + "/" + extensionCodeValue + API_PATH_MEMBERS, after, pageSize, from + pageSize));
                 }
@@ -441,7 +532,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
                     throw new NotFoundException();
                 }
                 wrapper.setResults(members);
-                return Response.ok(wrapper).build();
+                return validators.apply(Response.ok(wrapper).build());
             }
         } else {
             throw new NotFoundException();
@@ -459,13 +550,20 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                              @Parameter(description = "Extension CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("extensionCodeValue") final String extensionCodeValue,
                                                              @Parameter(description = "Member ID.", in = ParameterIn.PATH, required = true) @PathParam("memberId") final String memberId,
                                                              @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                                             @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                                             @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                                             @Context final Request request,
+                                                             @Context final UriInfo uriInfo) {
         final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
         if (extension != null) {
             final MemberDTO member = domain.getMember(memberId, extensionCodeValue, codeSchemeCodeValue);
             if (member != null) {
+                final ResponseValidators validators = ResponseValidators.forDates(uriInfo, member.getModified());
+                final Response notModified = validators.evaluate(request);
+                if (notModified != null) {
+                    return notModified;
+                }
                 ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
-                return Response.ok(member).build();
+                return validators.apply(Response.ok(member).build());
             } else {
                 throw new NotFoundException();
             }
@@ -519,11 +617,18 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                   @Parameter(description = "CodeScheme CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeSchemeCodeValue") final String codeSchemeCodeValue,
                                                   @Parameter(description = "Code code.", in = ParameterIn.PATH, required = true) @Encoded @PathParam("codeCodeValue") final String codeCodeValue,
                                                   @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                                  @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                                  @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                                  @Context final Request request,
+                                                  @Context final UriInfo uriInfo) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
         final CodeDTO code = domain.getCode(codeRegistryCodeValue, codeSchemeCodeValue, urlDecodeCodeValue(codeCodeValue));
         if (code != null) {
-            return Response.ok(code).build();
+            final ResponseValidators validators = ResponseValidators.forDates(uriInfo, code.getModified(), code.getStatusModified());
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
+            return validators.apply(Response.ok(code).build());
         }
         throw new NotFoundException();
     }
@@ -550,8 +655,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
         if (code != null) {
             final Set<MemberDTO> members = domain.getMembers(code, meta);
             if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-                final String csv = memberExporter.createCsv(null, members);
-                return streamCsvMembersOutput(csv);
+                return streamCsvMembersOutput(output -> memberExporter.writeCsv(null, members, output));
             } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
                 final Workbook workbook = memberExporter.createExcel(null, members, format);
                 return streamExcelMembersOutput(workbook);
@@ -593,7 +697,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
         if (allVersions == null || allVersions.isEmpty()) {
             results.add(codeScheme);
         } else {
-            allVersions.forEach(version -> results.add(domain.getCodeScheme(version.getId().toString())));
+            results.addAll(domain.getCodeSchemesByIds(allVersions.stream().map(CodeSchemeListItem::getId).collect(Collectors.toList())));
         }
         final Meta meta = new Meta(200, null, null, null, null);
         final ResponseWrapper<CodeSchemeDTO> wrapper = new ResponseWrapper<>();
@@ -621,7 +725,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
         final LinkedHashSet<CodeSchemeDTO> result = new LinkedHashSet<>();
         final LinkedHashSet<CodeSchemeListItem> variants = codeScheme.getVariantsOfThisCodeScheme();
         if (variants != null && !variants.isEmpty()) {
-            variants.forEach(variant -> result.add(domain.getCodeScheme(variant.getId().toString())));
+            result.addAll(domain.getCodeSchemesByIds(variants.stream().map(CodeSchemeListItem::getId).collect(Collectors.toList())));
         }
         final Meta meta = new Meta(200, null, null, null, null);
         meta.setResultCount(result.size());
@@ -650,7 +754,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
         final LinkedHashSet<CodeSchemeDTO> result = new LinkedHashSet<>();
 
         if (variantMothers != null && !variantMothers.isEmpty()) {
-            variantMothers.forEach(variantMother -> result.add(domain.getCodeScheme(variantMother.getId().toString())));
+            result.addAll(domain.getCodeSchemesByIds(variantMothers.stream().map(CodeSchemeListItem::getId).collect(Collectors.toList())));
         }
         final Meta meta = new Meta(200, null, null, null, null);
         meta.setResultCount(result.size());
@@ -660,6 +764,14 @@ public class CodeRegistryResource extends AbstractBaseResource {
         return Response.ok(wrapper).build();
     }
 
+    private Date getParentContentModified(final ExtensionDTO extension) {
+        if (extension.getParentCodeScheme() == null || extension.getParentCodeScheme().getId() == null) {
+            return null;
+        }
+        final CodeSchemeDTO parentCodeScheme = domain.getCodeScheme(extension.getParentCodeScheme().getId().toString());
+        return parentCodeScheme != null ? parentCodeScheme.getContentModified() : null;
+    }
+
     private void filterCodes(final Set<CodeDTO> codes) {
         codes.forEach(code -> code.setCodeScheme(null));
     }
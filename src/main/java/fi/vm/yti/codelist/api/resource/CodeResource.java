@@ -6,8 +6,11 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
 import org.springframework.stereotype.Component;
@@ -42,11 +45,18 @@ public class CodeResource extends AbstractBaseResource {
     @Tag(name = "Code")
     public Response getCode(@Parameter(description = "Code Id.", in = ParameterIn.PATH, required = true) @PathParam("codeId") final String codeId,
                             @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                            @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                            @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                            @Context final Request request,
+                            @Context final UriInfo uriInfo) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
         final CodeDTO code = domain.getCode(codeId);
         if (code != null) {
-            return Response.ok(code).build();
+            final ResponseValidators validators = ResponseValidators.forDates(uriInfo, code.getModified(), code.getStatusModified());
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
+            return validators.apply(Response.ok(code).build());
         } else {
             throw new NotFoundException();
         }
@@ -9,8 +9,11 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.apache.poi.ss.usermodel.Workbook;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
@@ -60,8 +63,7 @@ public class ExtensionResource extends AbstractBaseResource {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final Set<ExtensionDTO> extensions = domain.getExtensions(prefLabel, meta);
         if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-            final String csv = extensionExporter.createCsv(extensions);
-            return streamCsvExtensionsOutput(csv);
+            return streamCsvExtensionsOutput(output -> extensionExporter.writeCsv(extensions, output));
         } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
             final Workbook workbook = extensionExporter.createExcel(extensions, format);
             return streamExcelExtensionsOutput(workbook);
@@ -81,11 +83,18 @@ public class ExtensionResource extends AbstractBaseResource {
     @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
     public Response getExtension(@Parameter(description = "Extension UUID.", in = ParameterIn.PATH, required = true) @PathParam("extensionId") final String extensionId,
                                  @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
-                                 @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+                                 @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                                 @Context final Request request,
+                                 @Context final UriInfo uriInfo) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTENSION, expand), pretty));
         final ExtensionDTO extension = domain.getExtension(extensionId);
         if (extension != null) {
-            return Response.ok(extension).build();
+            final ResponseValidators validators = ResponseValidators.forDates(uriInfo, extension.getModified(), extension.getStatusModified());
+            final Response notModified = validators.evaluate(request);
+            if (notModified != null) {
+                return notModified;
+            }
+            return validators.apply(Response.ok(extension).build());
         } else {
             throw new NotFoundException();
         }
@@ -70,8 +70,7 @@ public class ExternalReferenceResource extends AbstractBaseResource {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final Set<ExternalReferenceDTO> externalReferences = domain.getExternalReferences(name, codeScheme, all, meta);
         if (FORMAT_CSV.equalsIgnoreCase(format)) {
-            final String csv = externalReferenceExporter.createCsv(externalReferences);
-            return streamCsvExternalReferencesOutput(csv);
+            return streamCsvExternalReferencesOutput(output -> externalReferenceExporter.writeCsv(externalReferences, output));
         } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
             final Workbook workbook = externalReferenceExporter.createExcel(externalReferences, format);
             return streamExcelExternalReferencesOutput(workbook);
@@ -2,7 +2,6 @@ package fi.vm.yti.codelist.api.resource;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -13,23 +12,29 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RequestBody;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import fi.vm.yti.codelist.api.api.ApiUtils;
+import fi.vm.yti.codelist.api.api.ChangesResponseWrapper;
 import fi.vm.yti.codelist.api.api.ResponseWrapper;
-import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.AsyncDomain;
+import fi.vm.yti.codelist.api.domain.ObjectReaders;
 import fi.vm.yti.codelist.api.dto.IntegrationResourceRequestDTO;
 import fi.vm.yti.codelist.api.dto.ResourceDTO;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.api.util.EncodingUtils;
 import fi.vm.yti.codelist.common.dto.ErrorModel;
 import fi.vm.yti.codelist.common.dto.Meta;
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,6 +42,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import static fi.vm.yti.codelist.api.util.EncodingUtils.urlEncodeString;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 import static java.util.Arrays.asList;
 
@@ -46,14 +52,19 @@ import static java.util.Arrays.asList;
 @Tag(name = "Integration")
 public class IntegrationResource extends AbstractBaseResource {
 
-    private final Domain domain;
+    private static final String API_PATH_CHANGES = "/changes";
+
+    private final AsyncDomain asyncDomain;
     private final ApiUtils apiUtils;
+    private final ObjectReaders objectReaders;
 
     @Inject
-    public IntegrationResource(final Domain domain,
-                               final ApiUtils apiUtils) {
-        this.domain = domain;
+    public IntegrationResource(final AsyncDomain asyncDomain,
+                               final ApiUtils apiUtils,
+                               final ObjectReaders objectReaders) {
+        this.asyncDomain = asyncDomain;
         this.apiUtils = apiUtils;
+        this.objectReaders = objectReaders;
     }
 
     @GET
@@ -61,32 +72,36 @@ public class IntegrationResource extends AbstractBaseResource {
     @Operation(description = "API for fetching container resources")
     @ApiResponse(responseCode = "200", description = "Returns container resources with meta element that shows details and a results list.")
     @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
-    public Response getContainers(@Parameter(description = "Language code for sorting results.", in = ParameterIn.QUERY) @QueryParam("language") @DefaultValue("fi") final String language,
-                                  @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
-                                  @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
-                                  @Parameter(description = "Status enumerations in CSL format.", in = ParameterIn.QUERY) @QueryParam("status") final String status,
-                                  @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
-                                  @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
-                                  @Parameter(description = "Search term used to filter results based on partial prefLabel or codeValue match.", in = ParameterIn.QUERY) @QueryParam("searchTerm") final String searchTerm,
-                                  @Parameter(description = "Container URIs that are included.", in = ParameterIn.QUERY) @Encoded @QueryParam("uri") final String uri,
-                                  @Parameter(description = "Container URIs that are excluded.", in = ParameterIn.QUERY) @Encoded @QueryParam("filter") final String filter,
-                                  @Parameter(description = "User organizations filtering parameter, for filtering incomplete code lists", in = ParameterIn.QUERY) @QueryParam("includeIncompleteFrom") final String includeIncompleteFrom,
-                                  @Parameter(description = "Control boolean for returning all incomplete containers.", in = ParameterIn.QUERY) @QueryParam("includeIncomplete") @DefaultValue("false") final boolean includeIncomplete,
-                                  @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
-        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+    public void getContainers(@Suspended final AsyncResponse asyncResponse,
+                              @Parameter(description = "Language code for sorting results.", in = ParameterIn.QUERY) @QueryParam("language") @DefaultValue("fi") final String language,
+                              @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
+                              @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
+                              @Parameter(description = "Status enumerations in CSL format.", in = ParameterIn.QUERY) @QueryParam("status") final String status,
+                              @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
+                              @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
+                              @Parameter(description = "Search term used to filter results based on partial prefLabel or codeValue match.", in = ParameterIn.QUERY) @QueryParam("searchTerm") final String searchTerm,
+                              @Parameter(description = "Container URIs that are included.", in = ParameterIn.QUERY) @Encoded @QueryParam("uri") final String uri,
+                              @Parameter(description = "Container URIs that are excluded.", in = ParameterIn.QUERY) @Encoded @QueryParam("filter") final String filter,
+                              @Parameter(description = "User organizations filtering parameter, for filtering incomplete code lists", in = ParameterIn.QUERY) @QueryParam("includeIncompleteFrom") final String includeIncompleteFrom,
+                              @Parameter(description = "Control boolean for returning all incomplete containers.", in = ParameterIn.QUERY) @QueryParam("includeIncomplete") @DefaultValue("false") final boolean includeIncomplete,
+                              @Parameter(description = "Opaque pagination cursor from the nextPage link of the previous page.", in = ParameterIn.QUERY) @QueryParam("cursor") final String cursor,
+                              @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                              @Context final UriInfo uriInfo) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final List<String> includedContainerUris = parseAndDecodeUrisFromCsl(uri);
         final List<String> excludedContainerUris = parseAndDecodeUrisFromCsl(filter);
         final List<String> statusList = parseStatusCsl(status);
         final List<String> includeIncompleteFromList = includeIncompleteFrom == null ? null : asList(includeIncompleteFrom.toLowerCase().split(","));
-        final Set<ResourceDTO> containers = domain.getContainers(includedContainerUris, excludedContainerUris, language, statusList, searchTerm, includeIncompleteFromList, includeIncomplete, meta);
-        if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-            meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_CONTAINERS, after, pageSize, from + pageSize));
-        }
-        final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
-        wrapper.setResults(containers);
-        wrapper.setMeta(meta);
-        return Response.ok(wrapper).build();
+        resumeAsync(asyncResponse, asyncDomain.getContainersAsync(includedContainerUris, excludedContainerUris, language, statusList, searchTerm, includeIncompleteFromList, includeIncomplete, cursor, meta), page -> {
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+            if (page.getNextCursor() != null) {
+                meta.setNextPage(apiUtils.createNextCursorPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_CONTAINERS, uriInfo.getQueryParameters(false), page.getNextCursor()));
+            }
+            final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setResults(page.getResults());
+            wrapper.setMeta(meta);
+            return Response.ok(wrapper).build();
+        });
     }
 
     @POST
@@ -94,9 +109,9 @@ public class IntegrationResource extends AbstractBaseResource {
     @Operation(description = "API for fetching container resources")
     @ApiResponse(responseCode = "200", description = "Returns container resources with meta element that shows details and a results list.")
     @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
-    public Response getContainersPost(@Parameter(description = "Integration resource request parameters as JSON payload.") @RequestBody final String integrationRequestData) {
+    public void getContainersPost(@Suspended final AsyncResponse asyncResponse,
+                                  @Parameter(description = "Integration resource request parameters as JSON payload.") @RequestBody final String integrationRequestData) {
         final IntegrationResourceRequestDTO request = parseIntegrationRequestDto(integrationRequestData);
-        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), request.getPretty()));
         final List<String> statusList = parseStatusList(request.getStatus());
         final List<String> excludedContainerUris = convertListToLowerCase(request.getFilter());
         final List<String> includedContainerUris = convertListToLowerCase(request.getUri());
@@ -109,14 +124,16 @@ public class IntegrationResource extends AbstractBaseResource {
         final String language = request.getLanguage();
         final boolean includeIncomplete = request.getIncludeIncomplete();
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final Set<ResourceDTO> containers = domain.getContainers(includedContainerUris, excludedContainerUris, language, statusList, searchTerm, includeIncompleteFromList, includeIncomplete, meta);
-        if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-            meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_CONTAINERS, after, pageSize, from + pageSize));
-        }
-        final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
-        wrapper.setResults(containers);
-        wrapper.setMeta(meta);
-        return Response.ok(wrapper).build();
+        resumeAsync(asyncResponse, asyncDomain.getContainersAsync(includedContainerUris, excludedContainerUris, language, statusList, searchTerm, includeIncompleteFromList, includeIncomplete, request.getCursor(), meta), page -> {
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), request.getPretty()));
+            if (page.getNextCursor() != null) {
+                meta.setNextPage(apiUtils.createNextCursorPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_CONTAINERS, createQueryParameters(request, false), page.getNextCursor()));
+            }
+            final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setResults(page.getResults());
+            wrapper.setMeta(meta);
+            return Response.ok(wrapper).build();
+        });
     }
 
     @GET
@@ -124,38 +141,39 @@ public class IntegrationResource extends AbstractBaseResource {
     @Operation(description = "API for fetching resources for a container")
     @ApiResponse(responseCode = "200", description = "Returns resources for a specific container with meta element that shows details and a results list.")
     @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
-    public Response getResources(@Parameter(description = "Language code for sorting results.", in = ParameterIn.QUERY) @DefaultValue("fi") final String language,
-                                 @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
-                                 @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
-                                 @Parameter(description = "Status enumerations in CSL format.", in = ParameterIn.QUERY) @QueryParam("status") final String status,
-                                 @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
-                                 @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
-                                 @Parameter(description = "Container URIs.", in = ParameterIn.QUERY) @QueryParam("container") final String container,
-                                 @Parameter(description = "Type for filtering resources.", in = ParameterIn.QUERY) @QueryParam("type") final String type,
-                                 @Parameter(description = "Resource URIs that are included.", in = ParameterIn.QUERY) @Encoded @QueryParam("uri") final String uri,
-                                 @Parameter(description = "Resource URIs that are filtered.", in = ParameterIn.QUERY) @Encoded @QueryParam("filter") final String filter,
-                                 @Parameter(description = "Search term used to filter results based on partial prefLabel or codeValue match.", in = ParameterIn.QUERY) @QueryParam("searchTerm") final String searchTerm,
-                                 @Parameter(description = "User organizations filtering parameter, for filtering incomplete code lists", in = ParameterIn.QUERY) @QueryParam("includeIncompleteFrom") final String includeIncompleteFrom,
-                                 @Parameter(description = "Control boolean for returning resources from incomplete code lists.", in = ParameterIn.QUERY) @QueryParam("includeIncomplete") @DefaultValue("false") final boolean includeIncomplete,
-                                 @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
-        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+    public void getResources(@Suspended final AsyncResponse asyncResponse,
+                             @Parameter(description = "Language code for sorting results.", in = ParameterIn.QUERY) @QueryParam("language") @DefaultValue("fi") final String language,
+                             @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
+                             @Parameter(description = "Pagination parameter for start index.", in = ParameterIn.QUERY) @QueryParam("from") @DefaultValue("0") final Integer from,
+                             @Parameter(description = "Status enumerations in CSL format.", in = ParameterIn.QUERY) @QueryParam("status") final String status,
+                             @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
+                             @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
+                             @Parameter(description = "Container URIs.", in = ParameterIn.QUERY) @QueryParam("container") final String container,
+                             @Parameter(description = "Type for filtering resources.", in = ParameterIn.QUERY) @QueryParam("type") final String type,
+                             @Parameter(description = "Resource URIs that are included.", in = ParameterIn.QUERY) @Encoded @QueryParam("uri") final String uri,
+                             @Parameter(description = "Resource URIs that are filtered.", in = ParameterIn.QUERY) @Encoded @QueryParam("filter") final String filter,
+                             @Parameter(description = "Search term used to filter results based on partial prefLabel or codeValue match.", in = ParameterIn.QUERY) @QueryParam("searchTerm") final String searchTerm,
+                             @Parameter(description = "User organizations filtering parameter, for filtering incomplete code lists", in = ParameterIn.QUERY) @QueryParam("includeIncompleteFrom") final String includeIncompleteFrom,
+                             @Parameter(description = "Control boolean for returning resources from incomplete code lists.", in = ParameterIn.QUERY) @QueryParam("includeIncomplete") @DefaultValue("false") final boolean includeIncomplete,
+                             @Parameter(description = "Opaque pagination cursor from the nextPage link of the previous page.", in = ParameterIn.QUERY) @QueryParam("cursor") final String cursor,
+                             @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty,
+                             @Context final UriInfo uriInfo) {
         final List<String> containerUris = container == null ? null : asList(container.toLowerCase().split(","));
         final List<String> includedResourceUris = parseAndDecodeUrisFromCsl(uri);
         final List<String> excludedResourceUris = parseAndDecodeUrisFromCsl(filter);
         final List<String> includeIncompleteFromList = includeIncompleteFrom == null ? null : asList(includeIncompleteFrom.toLowerCase().split(","));
         final List<String> statusList = parseStatusCsl(status);
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final Set<ResourceDTO> resources = domain.getResources(containerUris, includedResourceUris, excludedResourceUris, language, statusList, searchTerm, type, includeIncompleteFromList, includeIncomplete, meta);
-        if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-            if (container != null) {
-                meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_RESOURCES, after, pageSize, from + pageSize) + "&container=" + container);
+        resumeAsync(asyncResponse, asyncDomain.getResourcesAsync(containerUris, includedResourceUris, excludedResourceUris, language, statusList, searchTerm, type, includeIncompleteFromList, includeIncomplete, cursor, meta), page -> {
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+            if (page.getNextCursor() != null) {
+                meta.setNextPage(apiUtils.createNextCursorPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_RESOURCES, uriInfo.getQueryParameters(false), page.getNextCursor()));
             }
-            meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_RESOURCES, after, pageSize, from + pageSize) + "&container=" + container);
-        }
-        final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
-        wrapper.setResults(resources);
-        wrapper.setMeta(meta);
-        return Response.ok(wrapper).build();
+            final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setResults(page.getResults());
+            wrapper.setMeta(meta);
+            return Response.ok(wrapper).build();
+        });
     }
 
     @POST
@@ -163,9 +181,9 @@ public class IntegrationResource extends AbstractBaseResource {
     @Operation(description = "API for fetching resources for a container")
     @ApiResponse(responseCode = "200", description = "Returns resources for a specific container with meta element that shows details and a results list.")
     @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
-    public Response getResourcesPost(@Parameter(description = "Integration resource request parameters as JSON payload.") @RequestBody final String integrationRequestData) {
+    public void getResourcesPost(@Suspended final AsyncResponse asyncResponse,
+                                 @Parameter(description = "Integration resource request parameters as JSON payload.") @RequestBody final String integrationRequestData) {
         final IntegrationResourceRequestDTO request = parseIntegrationRequestDto(integrationRequestData);
-        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), request.getPretty()));
         final List<String> containerUris = convertListToLowerCase(request.getContainer());
         final List<String> excludedResourceUris = convertListToLowerCase(request.getFilter());
         final List<String> includedResourceUris = convertListToLowerCase(request.getUri());
@@ -180,11 +198,40 @@ public class IntegrationResource extends AbstractBaseResource {
         final String type = request.getType();
         final String searchTerm = request.getSearchTerm();
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final Set<ResourceDTO> resources = domain.getResources(containerUris, includedResourceUris, excludedResourceUris, language, statusList, searchTerm, type, includeIncompleteFromList, includeIncomplete, meta);
-        final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
-        wrapper.setResults(resources);
-        wrapper.setMeta(meta);
-        return Response.ok(wrapper).build();
+        resumeAsync(asyncResponse, asyncDomain.getResourcesAsync(containerUris, includedResourceUris, excludedResourceUris, language, statusList, searchTerm, type, includeIncompleteFromList, includeIncomplete, request.getCursor(), meta), page -> {
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), request.getPretty()));
+            if (page.getNextCursor() != null) {
+                meta.setNextPage(apiUtils.createNextCursorPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_RESOURCES, createQueryParameters(request, true), page.getNextCursor()));
+            }
+            final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setResults(page.getResults());
+            wrapper.setMeta(meta);
+            return Response.ok(wrapper).build();
+        });
+    }
+
+    @GET
+    @Path("/changes")
+    @Operation(description = "API for fetching code lists, codes and extensions changed since a watermark in modification order")
+    @ApiResponse(responseCode = "200", description = "Returns changed resources in ascending modification order with a watermark for resuming the feed.")
+    @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
+    public void getChanges(@Suspended final AsyncResponse asyncResponse,
+                           @Parameter(description = "Watermark returned by the previous change feed response.", in = ParameterIn.QUERY) @QueryParam("watermark") final String watermark,
+                           @Parameter(description = "After date filtering parameter for starting the feed without a watermark, ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
+                           @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") final Integer pageSize,
+                           @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        final Meta meta = new Meta(200, pageSize, 0, parseDateFromString(after), null);
+        resumeAsync(asyncResponse, asyncDomain.getChangesAsync(watermark, meta), page -> {
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+            if (page.getNextCursor() != null && meta.getTotalResults() != null && meta.getResultCount() != null && meta.getResultCount() < meta.getTotalResults()) {
+                meta.setNextPage(apiUtils.createChangesPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_CHANGES, pageSize, page.getNextCursor()));
+            }
+            final ChangesResponseWrapper<ResourceDTO> wrapper = new ChangesResponseWrapper<>();
+            wrapper.setResults(page.getResults());
+            wrapper.setWatermark(page.getNextCursor());
+            wrapper.setMeta(meta);
+            return Response.ok(wrapper).build();
+        });
     }
 
     private List<String> convertListToLowerCase(final List<String> list) {
@@ -194,11 +241,46 @@ public class IntegrationResource extends AbstractBaseResource {
         return null;
     }
 
+    private MultivaluedMap<String, String> createQueryParameters(final IntegrationResourceRequestDTO request,
+                                                               final boolean resources) {
+        final MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        addQueryParameter(parameters, "pageSize", request.getPageSize() != null ? request.getPageSize().toString() : null);
+        addQueryParameter(parameters, "language", request.getLanguage() != null ? request.getLanguage() : "");
+        addQueryParameter(parameters, "status", request.getStatus());
+        addQueryParameter(parameters, "after", request.getAfter());
+        addQueryParameter(parameters, "before", request.getBefore());
+        addQueryParameter(parameters, "searchTerm", request.getSearchTerm());
+        addQueryParameter(parameters, "uri", request.getUri());
+        addQueryParameter(parameters, "filter", request.getFilter());
+        addQueryParameter(parameters, "includeIncompleteFrom", request.getIncludeIncompleteFrom());
+        addQueryParameter(parameters, "includeIncomplete", String.valueOf(request.getIncludeIncomplete()));
+        addQueryParameter(parameters, "pretty", request.getPretty());
+        if (resources) {
+            addQueryParameter(parameters, "container", request.getContainer());
+            addQueryParameter(parameters, "type", request.getType());
+        }
+        return parameters;
+    }
+
+    private void addQueryParameter(final MultivaluedMap<String, String> parameters,
+                                   final String name,
+                                   final List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            parameters.add(name, values.stream().map(EncodingUtils::urlEncodeString).collect(Collectors.joining(",")));
+        }
+    }
+
+    private void addQueryParameter(final MultivaluedMap<String, String> parameters,
+                                   final String name,
+                                   final String value) {
+        if (value != null) {
+            parameters.add(name, urlEncodeString(value));
+        }
+    }
+
     private IntegrationResourceRequestDTO parseIntegrationRequestDto(final String integrationRequestData) {
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(integrationRequestData, new TypeReference<IntegrationResourceRequestDTO>() {
-            });
+            return objectReaders.forType(IntegrationResourceRequestDTO.class).readValue(integrationRequestData);
         } catch (IOException e) {
             throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Malformed resources in request body!"));
         }
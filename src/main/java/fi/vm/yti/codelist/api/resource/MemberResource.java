@@ -18,6 +18,7 @@ import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.api.api.ResponseWrapper;
 import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.SourceProjection;
 import fi.vm.yti.codelist.api.exception.NotFoundException;
 import fi.vm.yti.codelist.api.export.MemberExporter;
 import fi.vm.yti.codelist.common.dto.MemberDTO;
@@ -55,17 +56,18 @@ public class MemberResource extends AbstractBaseResource {
                                @Parameter(description = "After date filtering parameter, results will be codes with modified date after this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("after") final String after,
                                @Parameter(description = "Before date filtering parameter, results will be codes with modified date before this ISO 8601 formatted date string.", in = ParameterIn.QUERY) @QueryParam("before") final String before,
                                @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                               @Parameter(description = "Field names (csl) to include in JSON results.", in = ParameterIn.QUERY) @QueryParam("fields") final String fields,
                                @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final Set<MemberDTO> members = domain.getMembers(meta);
+        final boolean exportFormat = FORMAT_CSV.startsWith(format.toLowerCase()) || FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format);
+        final Set<MemberDTO> members = domain.getMembers(meta, exportFormat ? SourceProjection.FULL : createSourceProjection(FILTER_NAME_MEMBER, expand, fields));
         if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-            final String csv = memberExporter.createCsv(null, members);
-            return streamCsvMembersOutput(csv);
+            return streamCsvMembersOutput(output -> memberExporter.writeCsv(null, members, output));
         } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
             final Workbook workbook = memberExporter.createExcel(null, members, format);
             return streamExcelMembersOutput(workbook);
         } else {
-            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand, fields), pretty));
             final ResponseWrapper<MemberDTO> wrapper = new ResponseWrapper<>();
             wrapper.setResults(members);
             wrapper.setMeta(meta);
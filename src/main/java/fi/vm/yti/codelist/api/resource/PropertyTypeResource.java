@@ -63,8 +63,7 @@ public class PropertyTypeResource extends AbstractBaseResource {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final Set<PropertyTypeDTO> propertyTypes = domain.getPropertyTypes(name, context, language, type, meta);
         if (FORMAT_CSV.equalsIgnoreCase(format)) {
-            final String csv = propertyTypeExporter.createCsv(propertyTypes);
-            return streamCsvPropertyTypesOutput(csv);
+            return streamCsvPropertyTypesOutput(output -> propertyTypeExporter.writeCsv(propertyTypes, output));
         } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
             final Workbook workbook = propertyTypeExporter.createExcel(propertyTypes, format);
             return streamExcelPropertyTypesOutput(workbook);
@@ -0,0 +1,88 @@
+package fi.vm.yti.codelist.api.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+final class ResponseValidators {
+
+    private final EntityTag entityTag;
+    private final Date lastModified;
+
+    private ResponseValidators(final EntityTag entityTag,
+                               final Date lastModified) {
+        this.entityTag = entityTag;
+        this.lastModified = lastModified;
+    }
+
+    static ResponseValidators forDates(final UriInfo uriInfo,
+                                       final Date... dates) {
+        Date lastModified = null;
+        for (final Date date : dates) {
+            if (date != null && (lastModified == null || date.after(lastModified))) {
+                lastModified = date;
+            }
+        }
+        if (lastModified == null) {
+            return new ResponseValidators(null, null);
+        }
+        final Date truncated = new Date(lastModified.getTime() / 1000 * 1000);
+        return new ResponseValidators(createEntityTag(uriInfo, String.valueOf(lastModified.getTime())), truncated);
+    }
+
+    // Organization data embedded in documents has no index of its own here, so
+    // organization-only changes are picked up when the embedding document is reindexed.
+    static ResponseValidators forVersions(final UriInfo uriInfo,
+                                          final String... versions) {
+        return new ResponseValidators(createEntityTag(uriInfo, versions), null);
+    }
+
+    private static EntityTag createEntityTag(final UriInfo uriInfo,
+                                             final String... versions) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putString(uriInfo.getRequestUri().getRawPath(), StandardCharsets.UTF_8);
+        final String query = uriInfo.getRequestUri().getRawQuery();
+        if (query != null) {
+            hasher.putString(query, StandardCharsets.UTF_8);
+        }
+        for (final String version : versions) {
+            hasher.putString(String.valueOf(version), StandardCharsets.UTF_8);
+        }
+        return new EntityTag(hasher.hash().toString(), true);
+    }
+
+    Response evaluate(final Request request) {
+        if (entityTag == null) {
+            return null;
+        }
+        final Response.ResponseBuilder builder = lastModified != null ? request.evaluatePreconditions(lastModified, entityTag) : request.evaluatePreconditions(entityTag);
+        return builder != null ? apply(builder).build() : null;
+    }
+
+    Response apply(final Response response) {
+        if (entityTag == null) {
+            return response;
+        }
+        response.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+        if (lastModified != null) {
+            response.getHeaders().putSingle(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        return response;
+    }
+
+    private Response.ResponseBuilder apply(final Response.ResponseBuilder builder) {
+        builder.tag(entityTag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
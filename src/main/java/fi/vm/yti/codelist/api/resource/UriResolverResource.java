@@ -1,15 +1,24 @@
 package fi.vm.yti.codelist.api.resource;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Encoded;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
@@ -20,7 +29,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -28,6 +39,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import fi.vm.yti.codelist.api.api.ApiUtils;
 import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.UriIndex;
 import fi.vm.yti.codelist.api.exception.NotFoundException;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
@@ -42,6 +54,7 @@ import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import static fi.vm.yti.codelist.api.util.EncodingUtils.*;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 
 @Component
 @Path("/v1/uris")
@@ -53,15 +66,19 @@ public class UriResolverResource extends AbstractBaseResource {
     private static final String API_PATH_CODELIST = "/codelist";
     private static final String PATH_CODE = "code";
     private static final String PATH_EXTENSION = "extension";
+    private static final String SUOMI_URI_HOST_NAME = URI.create(SUOMI_URI_HOST).getHost();
 
     private final ApiUtils apiUtils;
     private final Domain domain;
+    private final UriIndex uriIndex;
 
     @Inject
     public UriResolverResource(final ApiUtils apiUtils,
-                               final Domain domain) {
+                               final Domain domain,
+                               final UriIndex uriIndex) {
         this.apiUtils = apiUtils;
         this.domain = domain;
+        this.uriIndex = uriIndex;
     }
 
     @GET
@@ -73,10 +90,7 @@ public class UriResolverResource extends AbstractBaseResource {
         final URI resolveUri = parseUriFromString(uri);
         ensureSuomiFiUriHost(uri);
         final String uriPath = resolveUri.getPath();
-        final ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        objectMapper.registerModule(new JavaTimeModule());
-        final ObjectNode json = objectMapper.createObjectNode();
+        final ObjectNode json = createObjectMapper().createObjectNode();
         json.put("uri", uri);
         checkResourceValidity(uriPath);
         final String resourcePath = uriPath.substring(API_PATH_CODELIST.length() + 1);
@@ -85,6 +99,43 @@ public class UriResolverResource extends AbstractBaseResource {
         return Response.ok().entity(json).build();
     }
 
+    @POST
+    @Path("resolve")
+    @Operation(description = "Resolve multiple URI resources.")
+    @ApiResponse(responseCode = "200", description = "Returns a map from the given codelist resource URIs to API urls, null for URIs that do not resolve.")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
+    public Response resolveUris(@Parameter(description = "Resource URIs as a JSON array.", required = true) @RequestBody final String urisData) {
+        final List<String> uris = parseUris(urisData);
+        final Map<String, List<String>> resourceCodeValuesByUri = new LinkedHashMap<>();
+        final Map<String, Set<String>> urisByIndex = new HashMap<>();
+        final Set<String> existingUris = new HashSet<>();
+        for (final String uri : uris) {
+            final List<String> resourceCodeValues = parseResolvableResourceCodeValues(uri);
+            if (resourceCodeValues != null) {
+                resourceCodeValuesByUri.put(uri, resourceCodeValues);
+                final String indexName = resolveIndexName(resourceCodeValues);
+                final String resourceUri = createResourceUri(resourceCodeValues).toLowerCase();
+                if (uriIndex.contains(indexName, resourceUri)) {
+                    existingUris.add(resourceUri);
+                } else {
+                    urisByIndex.computeIfAbsent(indexName, key -> new HashSet<>()).add(resourceUri);
+                }
+            }
+        }
+        urisByIndex.forEach((indexName, indexUris) -> existingUris.addAll(domain.getExistingUris(indexName, indexUris)));
+        final ObjectNode json = createObjectMapper().createObjectNode();
+        for (final String uri : uris) {
+            final List<String> resourceCodeValues = resourceCodeValuesByUri.get(uri);
+            if (resourceCodeValues != null && existingUris.contains(createResourceUri(resourceCodeValues).toLowerCase())) {
+                json.put(uri, createApiResourceUrl(resourceCodeValues));
+            } else {
+                json.putNull(uri);
+            }
+        }
+        return Response.ok().entity(json).build();
+    }
+
     @GET
     @Path("redirect")
     @Operation(description = "Redirect URI resource.")
@@ -121,6 +172,48 @@ public class UriResolverResource extends AbstractBaseResource {
         }
     }
 
+    private List<String> parseUris(final String urisData) {
+        try {
+            final List<String> uris = createObjectMapper().readValue(urisData, new TypeReference<List<String>>() {
+            });
+            if (uris == null) {
+                throw new IOException("URI list missing.");
+            }
+            return uris.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        } catch (final IOException e) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Malformed URIs in request body!"));
+        }
+    }
+
+    private List<String> parseResolvableResourceCodeValues(final String uri) {
+        try {
+            final URI resourceUri = URI.create(uri.trim().replace(" ", "%20"));
+            final String uriPath = resourceUri.getPath();
+            if (!SUOMI_URI_HOST_NAME.equalsIgnoreCase(resourceUri.getHost()) || uriPath == null || !uriPath.toLowerCase().startsWith(API_PATH_CODELIST + "/")) {
+                LOG.debug("URI not resolvable: " + uri);
+                return null;
+            }
+            final List<String> resourceCodeValues = parseResourcePathIdentifiers(uriPath.substring(API_PATH_CODELIST.length() + 1));
+            if (resourceCodeValues.stream().anyMatch(String::isEmpty)) {
+                LOG.debug("URI not resolvable: " + uri);
+                return null;
+            }
+            resolveIndexName(resourceCodeValues);
+            createApiResourceUrl(resourceCodeValues);
+            return resourceCodeValues;
+        } catch (final YtiCodeListException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            LOG.debug("URI not resolvable: " + uri);
+            return null;
+        }
+    }
+
+    private ObjectMapper createObjectMapper() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper;
+    }
+
     private List<String> parseResourcePathIdentifiers(final String resourcePath) {
         if (resourcePath.contains("?")) {
             return Arrays.asList(resourcePath.substring(0, resourcePath.indexOf('?')).split("/"));
@@ -141,18 +234,88 @@ public class UriResolverResource extends AbstractBaseResource {
     }
 
     private String resolveApiResourceUrl(final List<String> resourceCodeValues) {
+        checkResourceExists(resourceCodeValues);
+        return createApiResourceUrl(resourceCodeValues);
+    }
+
+    private String resolveWebResourceUrl(final List<String> resourceCodeValues) {
+        checkResourceExists(resourceCodeValues);
+        return createWebResourceUrl(resourceCodeValues);
+    }
+
+    private void checkResourceExists(final List<String> resourceCodeValues) {
+        if (uriIndex.contains(resolveIndexName(resourceCodeValues), createResourceUri(resourceCodeValues))) {
+            return;
+        }
+        switch (resourceCodeValues.size()) {
+            case 1: {
+                checkCodeRegistryExists(checkNotEmpty(resourceCodeValues.get(0)));
+                break;
+            }
+            case 2: {
+                checkCodeSchemeExists(checkNotEmpty(resourceCodeValues.get(0)), checkNotEmpty(resourceCodeValues.get(1)));
+                break;
+            }
+            case 4: {
+                final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
+                final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
+                final String pathIdentifier = checkNotEmpty(resourceCodeValues.get(2));
+                if (PATH_CODE.equalsIgnoreCase(pathIdentifier)) {
+                    checkCodeExists(codeRegistryCodeValue, codeSchemeCodeValue, decodeDotCodeValues(checkNotEmpty(resourceCodeValues.get(3))));
+                    break;
+                } else if (PATH_EXTENSION.equalsIgnoreCase(pathIdentifier)) {
+                    checkExtensionExists(codeRegistryCodeValue, codeSchemeCodeValue, checkNotEmpty(resourceCodeValues.get(3)));
+                    break;
+                } else {
+                    throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Codelist resource URI not resolvable!"));
+                }
+            }
+            case 6: {
+                checkMemberExists(checkNotEmpty(resourceCodeValues.get(0)), checkNotEmpty(resourceCodeValues.get(1)), checkNotEmpty(resourceCodeValues.get(3)), checkNotEmpty(resourceCodeValues.get(5)));
+                break;
+            }
+            default:
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Codelist resource URI not resolvable!"));
+        }
+    }
+
+    private String createResourceUri(final List<String> resourceCodeValues) {
+        return SUOMI_URI_HOST + API_PATH_CODELIST + "/" + String.join("/", resourceCodeValues);
+    }
+
+    private String resolveIndexName(final List<String> resourceCodeValues) {
+        switch (resourceCodeValues.size()) {
+            case 1:
+                return ELASTIC_INDEX_CODEREGISTRY;
+            case 2:
+                return ELASTIC_INDEX_CODESCHEME;
+            case 4: {
+                final String pathIdentifier = checkNotEmpty(resourceCodeValues.get(2));
+                if (PATH_CODE.equalsIgnoreCase(pathIdentifier)) {
+                    return ELASTIC_INDEX_CODE;
+                } else if (PATH_EXTENSION.equalsIgnoreCase(pathIdentifier)) {
+                    return ELASTIC_INDEX_EXTENSION;
+                }
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Codelist resource URI not resolvable!"));
+            }
+            case 6:
+                return ELASTIC_INDEX_MEMBER;
+            default:
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Codelist resource URI not resolvable!"));
+        }
+    }
+
+    private String createApiResourceUrl(final List<String> resourceCodeValues) {
         final String url;
         switch (resourceCodeValues.size()) {
             case 1: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
-                checkCodeRegistryExists(codeRegistryCodeValue);
                 url = apiUtils.createCodeRegistryUrl(codeRegistryCodeValue);
                 break;
             }
             case 2: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
-                checkCodeSchemeExists(codeRegistryCodeValue, codeSchemeCodeValue);
                 url = apiUtils.createCodeSchemeUrl(codeRegistryCodeValue, codeSchemeCodeValue);
                 break;
             }
@@ -162,12 +325,10 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String pathIdentifier = checkNotEmpty(resourceCodeValues.get(2));
                 if (PATH_CODE.equalsIgnoreCase(pathIdentifier)) {
                     final String codeCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkCodeExists(codeRegistryCodeValue, codeSchemeCodeValue, decodeDotCodeValues(codeCodeValue));
                     url = apiUtils.createCodeUrl(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue);
                     break;
                 } else if (PATH_EXTENSION.equalsIgnoreCase(pathIdentifier)) {
                     final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkExtensionExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
                     url = apiUtils.createExtensionUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
                     break;
                 } else {
@@ -179,7 +340,6 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
                 final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
                 final String memberId = checkNotEmpty(resourceCodeValues.get(5));
-                checkMemberExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
                 url = apiUtils.createMemberUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
                 break;
             }
@@ -189,19 +349,17 @@ public class UriResolverResource extends AbstractBaseResource {
         return url;
     }
 
-    private String resolveWebResourceUrl(final List<String> resourceCodeValues) {
+    private String createWebResourceUrl(final List<String> resourceCodeValues) {
         final String url;
         switch (resourceCodeValues.size()) {
             case 1: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
-                checkCodeRegistryExists(codeRegistryCodeValue);
                 url = apiUtils.createCodeRegistryWebUrl(codeRegistryCodeValue);
                 break;
             }
             case 2: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
-                checkCodeSchemeExists(codeRegistryCodeValue, codeSchemeCodeValue);
                 url = apiUtils.createCodeSchemeWebUrl(codeRegistryCodeValue, codeSchemeCodeValue);
                 break;
             }
@@ -211,12 +369,10 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String pathIdentifier = checkNotEmpty(resourceCodeValues.get(2));
                 if (PATH_CODE.equalsIgnoreCase(pathIdentifier)) {
                     final String codeCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkCodeExists(codeRegistryCodeValue, codeSchemeCodeValue, decodeDotCodeValues(codeCodeValue));
                     url = apiUtils.createCodeWebUrl(codeRegistryCodeValue, codeSchemeCodeValue, urlEncodeCodeValue(codeCodeValue));
                     break;
                 } else if (PATH_EXTENSION.equalsIgnoreCase(pathIdentifier)) {
                     final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkExtensionExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
                     url = apiUtils.createExtensionWebUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
                     break;
                 } else {
@@ -228,7 +384,6 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
                 final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
                 final String memberId = checkNotEmpty(resourceCodeValues.get(5));
-                checkMemberExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
                 url = apiUtils.createMemberWebUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
                 break;
             }
@@ -60,8 +60,7 @@ public class ValueTypeResource extends AbstractBaseResource {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final Set<ValueTypeDTO> valueTypes = domain.getValueTypes(localName, meta);
         if (FORMAT_CSV.equalsIgnoreCase(format)) {
-            final String csv = valueTypeExporter.createCsv(valueTypes);
-            return streamCsvValueTypesOutput(csv);
+            return streamCsvValueTypesOutput(output -> valueTypeExporter.writeCsv(valueTypes, output));
         } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
             final Workbook workbook = valueTypeExporter.createExcel(valueTypes, format);
             return streamExcelValueTypesOutput(workbook);
@@ -29,6 +29,14 @@ public interface EncodingUtils {
         }
     }
 
+    static String urlEncodeString(final String string) {
+        try {
+            return URLEncoder.encode(string, UTF_8_ENCODING);
+        } catch (final UnsupportedEncodingException e) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), ERR_MSG_USER_ERROR_ENCODING_STRING));
+        }
+    }
+
     static String decodeDotCodeValues(final String codeValue) {
         if (codeValue.equalsIgnoreCase(DOT_VALUE_ENCODED)) {
             return DOT_VALUE_DECODED;
@@ -249,6 +249,7 @@ abstract public class AbstractTestBase {
         codeRegistry.setDescription(LANGUAGE_CODE_SV, "Test upplösning");
         codeRegistry.setDescription(LANGUAGE_CODE_EN, "Test definition");
         codeRegistry.setModified(new Date(System.currentTimeMillis()));
+        codeRegistry.setUri("http://uri.suomi.fi/codelist/" + codeValue);
         codeRegistry.setUrl("http://localhost:9601/codelist-api/api/v1/coderegistries/" + codeValue + "/");
         return codeRegistry;
     }
@@ -265,6 +266,7 @@ abstract public class AbstractTestBase {
         codeScheme.setDefinition(LANGUAGE_CODE_FI, "Testi määritelmä");
         codeScheme.setDefinition(LANGUAGE_CODE_SV, "Test upplösning");
         codeScheme.setDefinition(LANGUAGE_CODE_EN, "Test definition");
+        codeScheme.setUri("http://uri.suomi.fi/codelist/" + codeRegistry.getCodeValue() + "/" + codeScheme.getCodeValue());
         codeScheme.setUrl("http://localhost:9601/codelist-api/api/v1/coderegistries/" + codeRegistry.getCodeValue() + "/codeschemes/" + codeScheme.getCodeValue() + "/");
         codeScheme.setCodeRegistry(codeRegistry);
         codeScheme.setSource(SOURCE_TEST);
@@ -292,6 +294,7 @@ abstract public class AbstractTestBase {
         code.setShortName("ABR");
         code.setCodeScheme(codeScheme);
         code.setModified(new Date(System.currentTimeMillis()));
+        code.setUri("http://uri.suomi.fi/codelist/" + codeScheme.getCodeRegistry().getCodeValue() + "/" + codeScheme.getCodeValue() + "/code/" + code.getCodeValue());
         code.setUrl("http://localhost:9601/codelist-api/api/v1/coderegistries/" + codeScheme.getCodeRegistry().getCodeValue() + "/codeschemes/" + codeScheme.getCodeValue() + "/codes/" + code.getCodeValue() + "/");
         return code;
     }
@@ -0,0 +1,86 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class IntegrationCursorTest {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        final IntegrationCursor cursor = new IntegrationCursor("codescheme_v1", "query", 42L, new Object[]{ "testscheme1", 1577836800000L, 7, 1.5d, true });
+        final IntegrationCursor decoded = IntegrationCursor.decode(cursor.encode());
+        assertEquals("codescheme_v1", decoded.getGeneration());
+        assertEquals("query", decoded.getQuery());
+        assertEquals(42L, decoded.getOffset());
+        final Object[] sortValues = decoded.getSortValues();
+        assertEquals(5, sortValues.length);
+        assertEquals("testscheme1", sortValues[0]);
+        assertEquals(1577836800000L, ((Number) sortValues[1]).longValue());
+        assertEquals(7, ((Number) sortValues[2]).intValue());
+        assertEquals(1.5d, ((Number) sortValues[3]).doubleValue(), 0d);
+        assertEquals(true, sortValues[4]);
+    }
+
+    @Test
+    public void testEncodeDecodeRoundTripWithoutGeneration() {
+        final IntegrationCursor cursor = new IntegrationCursor(null, null, 0L, new Object[]{ 1577836800000L, "" });
+        final IntegrationCursor decoded = IntegrationCursor.decode(cursor.encode());
+        assertEquals(null, decoded.getGeneration());
+        assertEquals(1577836800000L, ((Number) decoded.getSortValues()[0]).longValue());
+        assertEquals("", decoded.getSortValues()[1]);
+    }
+
+    @Test
+    public void testMalformedTokenIsNotAcceptable() {
+        assertDecodeFails("not a cursor");
+        assertDecodeFails(Base64.getUrlEncoder().encodeToString("{\"g\":\"codescheme_v1\"".getBytes(StandardCharsets.UTF_8)));
+        assertDecodeFails(Base64.getUrlEncoder().encodeToString("{\"g\":\"codescheme_v1\",\"o\":10}".getBytes(StandardCharsets.UTF_8)));
+        assertDecodeFails(Base64.getUrlEncoder().encodeToString("{\"g\":\"codescheme_v1\",\"o\":10,\"s\":[]}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testGenerationMismatchIsGone() {
+        final IntegrationCursor cursor = IntegrationCursor.decode(new IntegrationCursor("codescheme_v1", "query", 10L, new Object[]{ "testscheme1" }).encode());
+        cursor.validateGeneration("codescheme_v1");
+        try {
+            cursor.validateGeneration("codescheme_v2");
+            fail("Generation mismatch was accepted.");
+        } catch (final YtiCodeListException e) {
+            assertEquals(HttpStatus.GONE.value(), (int) e.getErrorModel().getHttpStatusCode());
+        }
+    }
+
+    @Test
+    public void testQueryMismatchIsBadRequest() {
+        final IntegrationCursor cursor = IntegrationCursor.decode(new IntegrationCursor("codescheme_v1", "query", 10L, new Object[]{ "testscheme1" }).encode());
+        cursor.validateQuery("query");
+        assertQueryRejected(cursor, "other");
+        assertQueryRejected(IntegrationCursor.decode(new IntegrationCursor("codescheme_v1", null, 10L, new Object[]{ "testscheme1" }).encode()), "query");
+    }
+
+    private static void assertQueryRejected(final IntegrationCursor cursor,
+                                            final String query) {
+        try {
+            cursor.validateQuery(query);
+            fail("Query mismatch was accepted.");
+        } catch (final YtiCodeListException e) {
+            assertEquals(HttpStatus.BAD_REQUEST.value(), (int) e.getErrorModel().getHttpStatusCode());
+        }
+    }
+
+    private static void assertDecodeFails(final String token) {
+        try {
+            IntegrationCursor.decode(token);
+            fail("Malformed cursor was accepted: " + token);
+        } catch (final YtiCodeListException e) {
+            assertEquals(HttpStatus.NOT_ACCEPTABLE.value(), (int) e.getErrorModel().getHttpStatusCode());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.Meta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestCoalescerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private BlockingCodes delegate;
+
+    public interface Codes {
+
+        Set<CodeDTO> getCodes(final List<String> statuses,
+                              final Meta meta);
+    }
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+        delegate = new BlockingCodes();
+    }
+
+    @After
+    public void tearDown() {
+        delegate.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFollowerReceivesCopyOfLeaderResult() throws Exception {
+        final Codes codes = coalesce(10000);
+        final Meta leaderMeta = new Meta();
+        final Future<Set<CodeDTO>> leader = executor.submit(() -> codes.getCodes(statuses(), leaderMeta));
+        assertTrue(delegate.entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        final Meta followerMeta = new Meta();
+        final Future<Set<CodeDTO>> follower = executor.submit(() -> codes.getCodes(statuses(), followerMeta));
+        awaitFollowers(1);
+        delegate.release.countDown();
+        final Set<CodeDTO> leaderResult = leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        final Set<CodeDTO> followerResult = follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(1, delegate.invocations.get());
+        assertNotSame(leaderResult, followerResult);
+        assertNotSame(leaderResult.iterator().next(), followerResult.iterator().next());
+        assertEquals(leaderResult.iterator().next().getId(), followerResult.iterator().next().getId());
+        assertEquals(leaderResult.iterator().next().getCodeValue(), followerResult.iterator().next().getCodeValue());
+        assertEquals(Integer.valueOf(1), followerMeta.getTotalResults());
+        assertEquals(Integer.valueOf(1), followerMeta.getResultCount());
+    }
+
+    @Test
+    public void testLeaderFailurePropagatesToFollower() throws Exception {
+        final Codes codes = coalesce(10000);
+        delegate.failure = new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failure"));
+        final Future<Set<CodeDTO>> leader = executor.submit(() -> codes.getCodes(statuses(), new Meta()));
+        assertTrue(delegate.entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        final Future<Set<CodeDTO>> follower = executor.submit(() -> codes.getCodes(statuses(), new Meta()));
+        awaitFollowers(1);
+        delegate.release.countDown();
+        assertFailure(leader);
+        assertFailure(follower);
+        assertEquals(1, delegate.invocations.get());
+    }
+
+    @Test
+    public void testFollowerFallsBackToDelegateOnTimeout() throws Exception {
+        final Codes codes = coalesce(50);
+        final Future<Set<CodeDTO>> leader = executor.submit(() -> codes.getCodes(statuses(), new Meta()));
+        assertTrue(delegate.entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        final Future<Set<CodeDTO>> follower = executor.submit(() -> codes.getCodes(statuses(), new Meta()));
+        awaitCount("fallback", 1);
+        delegate.release.countDown();
+        assertEquals(1, leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+        assertEquals(1, follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+        assertEquals(2, delegate.invocations.get());
+    }
+
+    @Test
+    public void testCallAfterCompletionInvokesDelegate() throws Exception {
+        final Codes codes = coalesce(10000);
+        delegate.release.countDown();
+        codes.getCodes(statuses(), new Meta());
+        codes.getCodes(statuses(), new Meta());
+        assertEquals(2, delegate.invocations.get());
+        assertEquals(0d, count("follower"), 0d);
+    }
+
+    @Test
+    public void testDelegateMutatingArgumentsDoesNotChangeFlightKey() throws Exception {
+        final Codes codes = coalesce(10000);
+        delegate.mutateStatuses = true;
+        final Future<Set<CodeDTO>> leader = executor.submit(() -> codes.getCodes(statuses(), new Meta()));
+        assertTrue(delegate.entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        final Future<Set<CodeDTO>> follower = executor.submit(() -> codes.getCodes(statuses(), new Meta()));
+        awaitFollowers(1);
+        delegate.release.countDown();
+        leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(1, delegate.invocations.get());
+    }
+
+    private Codes coalesce(final long awaitTimeoutMillis) {
+        final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, new String[]{ "getCodes" }, awaitTimeoutMillis);
+        return coalescer.coalesce(Codes.class, delegate);
+    }
+
+    private static List<String> statuses() {
+        return new ArrayList<>(Arrays.asList("VALID", "DRAFT"));
+    }
+
+    private void awaitFollowers(final int followers) throws InterruptedException {
+        awaitCount("follower", followers);
+    }
+
+    private void awaitCount(final String role,
+                            final int expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (count(role) < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + role + " count " + expected);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private double count(final String role) {
+        return meterRegistry.counter("yti.codelist.domain.coalescing", "method", "getCodes", "role", role).count();
+    }
+
+    private static void assertFailure(final Future<Set<CodeDTO>> future) throws Exception {
+        try {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("Expected failure");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof YtiCodeListException);
+        }
+    }
+
+    private static final class BlockingCodes implements Codes {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile RuntimeException failure;
+        private volatile boolean mutateStatuses;
+
+        @Override
+        public Set<CodeDTO> getCodes(final List<String> statuses,
+                                     final Meta meta) {
+            invocations.incrementAndGet();
+            if (mutateStatuses) {
+                statuses.remove("DRAFT");
+            }
+            entered.countDown();
+            try {
+                release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            final CodeDTO code = new CodeDTO();
+            code.setId(UUID.randomUUID());
+            code.setCodeValue("code1");
+            final Set<CodeDTO> codes = new LinkedHashSet<>();
+            codes.add(code);
+            meta.setTotalResults(1);
+            meta.setResultCount(1);
+            return codes;
+        }
+    }
+}
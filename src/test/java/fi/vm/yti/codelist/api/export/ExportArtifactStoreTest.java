@@ -0,0 +1,157 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static fi.vm.yti.codelist.api.export.ExportArtifactStore.ARTIFACT_CODESCHEME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExportArtifactStoreTest {
+
+    private static final String CONTENT = "export";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedArtifactIsEvicted() throws IOException {
+        final ExportArtifactStore store = createStore(2L * CONTENT.length(), "1.0-abc");
+        final String first = createKey(store);
+        final String second = createKey(store);
+        final String third = createKey(store);
+        final AtomicInteger writes = new AtomicInteger();
+        read(store.get(first, countingWriter(writes)));
+        read(store.get(second, countingWriter(writes)));
+        read(store.get(first, countingWriter(writes)));
+        read(store.get(third, countingWriter(writes)));
+        assertEquals(3, writes.get());
+        assertTrue(Files.exists(directory.resolve(first)));
+        assertFalse(Files.exists(directory.resolve(second)));
+        assertTrue(Files.exists(directory.resolve(third)));
+        read(store.get(second, countingWriter(writes)));
+        assertEquals(4, writes.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneBuild() throws Exception {
+        final ExportArtifactStore store = createStore(1024L, "1.0-abc");
+        final String key = createKey(store);
+        final AtomicInteger writes = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final StreamingOutput blockingWriter = output -> {
+            writes.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            output.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        };
+        final AtomicReference<String> leaderResult = new AtomicReference<>();
+        final AtomicReference<String> followerResult = new AtomicReference<>();
+        final Thread leader = new Thread(() -> leaderResult.set(readQuietly(store.get(key, blockingWriter))));
+        leader.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final Thread follower = new Thread(() -> followerResult.set(readQuietly(store.get(key, blockingWriter))));
+        follower.start();
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (follower.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        leader.join(10000);
+        follower.join(10000);
+        assertEquals(1, writes.get());
+        assertEquals(CONTENT, leaderResult.get());
+        assertEquals(CONTENT, followerResult.get());
+    }
+
+    @Test
+    public void testArtifactEvictedBeforeTransferIsWrittenDirectly() throws IOException {
+        final ExportArtifactStore store = createStore(1024L, "1.0-abc");
+        final String key = createKey(store);
+        final AtomicInteger writes = new AtomicInteger();
+        final StreamingOutput output = store.get(key, countingWriter(writes));
+        Files.delete(directory.resolve(key));
+        assertEquals(CONTENT, read(output));
+        assertEquals(2, writes.get());
+    }
+
+    @Test
+    public void testArtifactsFromAnotherBuildAreDiscarded() throws IOException {
+        final ExportArtifactStore previous = createStore(1024L, "1.0-abc");
+        final UUID id = UUID.randomUUID();
+        final String previousKey = previous.createKey(ARTIFACT_CODESCHEME, id, "csv", false, new Date(1000L));
+        read(previous.get(previousKey, countingWriter(new AtomicInteger())));
+        assertTrue(Files.exists(directory.resolve(previousKey)));
+
+        final ExportArtifactStore current = createStore(1024L, "1.1-def");
+        final String currentKey = current.createKey(ARTIFACT_CODESCHEME, id, "csv", false, new Date(1000L));
+        assertNotEquals(previousKey, currentKey);
+        assertFalse(Files.exists(directory.resolve(previousKey)));
+        final AtomicInteger writes = new AtomicInteger();
+        read(current.get(currentKey, countingWriter(writes)));
+        assertEquals(1, writes.get());
+    }
+
+    private ExportArtifactStore createStore(final long maxBytes,
+                                            final String buildId) {
+        final ExportArtifactStore store = new ExportArtifactStore(new SimpleMeterRegistry(), directory.toString(), maxBytes, true, buildId);
+        store.initialize();
+        return store;
+    }
+
+    private static String createKey(final ExportArtifactStore store) {
+        return store.createKey(ARTIFACT_CODESCHEME, UUID.randomUUID(), "csv", false, new Date(1000L));
+    }
+
+    private static StreamingOutput countingWriter(final AtomicInteger writes) {
+        return output -> {
+            writes.incrementAndGet();
+            output.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static String read(final StreamingOutput output) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        output.write(stream);
+        return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String readQuietly(final StreamingOutput output) {
+        try {
+            return read(output);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package fi.vm.yti.codelist.api.integration;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -9,8 +11,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
@@ -28,7 +32,15 @@ import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.API_PATH_CODES;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.API_PATH_CODESCHEMES;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.API_PATH_INTEGRATION;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.API_PATH_VERSION_V1;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.FORMAT_CSV;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.FORMAT_EXCEL_XLSX;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = { PublicApiServiceApplication.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -138,4 +150,202 @@ public class ResourceIntegrationT2 extends AbstractTestBase {
             Assert.fail("Exception " + e);
         }
     }
+
+    @Test
+    public void getChangesTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + API_PATH_INTEGRATION + "/changes") + "?pageSize=10";
+        final LinkedMultiValueMap<String, Object> parameters = new LinkedMultiValueMap<>();
+        final HttpEntity<LinkedMultiValueMap<String, Object>> entity = new HttpEntity<>(parameters, null);
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, entity, String.class, "");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+            final ArrayNode changesArray = (ArrayNode) jsonObject.get("results");
+            assertEquals(10, changesArray.size());
+            final String watermark = jsonObject.get("watermark").asText();
+            assertNotNull(watermark);
+            final Set<String> firstPageUris = new HashSet<>();
+            changesArray.forEach(change -> firstPageUris.add(change.get("uri").asText()));
+            final ResponseEntity<String> nextResponse = restTemplate.exchange(apiUrl + "&watermark=" + watermark, HttpMethod.GET, entity, String.class, "");
+            assertEquals(HttpStatus.OK, nextResponse.getStatusCode());
+            final ArrayNode nextChangesArray = (ArrayNode) mapper.readTree(nextResponse.getBody()).get("results");
+            assertTrue(nextChangesArray.size() > 0);
+            nextChangesArray.forEach(change -> assertFalse(firstPageUris.contains(change.get("uri").asText())));
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+    }
+
+    @Test
+    public void resolveUrisTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/uris/resolve");
+        final String codeSchemeUri = "http://uri.suomi.fi/codelist/" + TEST_CODEREGISTRY_CODEVALUE + "/" + TEST_CODESCHEME_CODEVALUE;
+        final String variantCodeSchemeUri = "https://uri.suomi.fi/codelist/" + TEST_CODEREGISTRY_CODEVALUE.toUpperCase() + "/" + TEST_CODESCHEME_CODEVALUE + "/?lang=fi";
+        final String codeUri = "http://uri.suomi.fi/codelist/" + TEST_CODEREGISTRY_CODEVALUE + "/" + TEST_CODESCHEME_CODEVALUE + "/code/" + TEST_CODE_CODEVALUE;
+        final String missingUri = "http://uri.suomi.fi/codelist/" + TEST_CODEREGISTRY_CODEVALUE + "/missingscheme";
+        final String foreignUri = "http://example.com/codelist/" + TEST_CODEREGISTRY_CODEVALUE;
+        final String body = "[\"" + codeSchemeUri + "\",\"" + variantCodeSchemeUri + "\",\"" + codeUri + "\",\"" + missingUri + "\",\"" + foreignUri + "\",\"not a uri\"]";
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        final HttpEntity<String> entity = new HttpEntity<>(body, headers);
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.POST, entity, String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+            assertEquals(6, jsonObject.size());
+            assertTrue(jsonObject.get(codeSchemeUri).asText().contains("/codeschemes/" + TEST_CODESCHEME_CODEVALUE));
+            assertTrue(jsonObject.get(variantCodeSchemeUri).isTextual());
+            assertTrue(jsonObject.get(codeUri).asText().contains("/codes/" + TEST_CODE_CODEVALUE));
+            assertTrue(jsonObject.get(missingUri).isNull());
+            assertTrue(jsonObject.get(foreignUri).isNull());
+            assertTrue(jsonObject.get("not a uri").isNull());
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+    }
+
+    @Test
+    public void getContainersWithCursorTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + API_PATH_INTEGRATION + "/containers") + "?pageSize=5";
+        assertCursorPaging(apiUrl);
+    }
+
+    @Test
+    public void getResourcesWithCursorTest() {
+        final String containerUri = "http://uri.suomi.fi/codelist/" + TEST_CODEREGISTRY_CODEVALUE + "/" + TEST_CODESCHEME_CODEVALUE;
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + API_PATH_INTEGRATION + "/resources") + "?pageSize=5&container=" + containerUri;
+        assertCursorPaging(apiUrl);
+    }
+
+    @Test
+    public void getContainersWithMalformedCursorTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + API_PATH_INTEGRATION + "/containers") + "?pageSize=5&cursor=malformed";
+        final HttpEntity<LinkedMultiValueMap<String, Object>> entity = new HttpEntity<>(new LinkedMultiValueMap<>(), null);
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, entity, String.class, "");
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+    }
+
+    @Test
+    public void getContainersWithCursorAndFiltersTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + API_PATH_INTEGRATION + "/containers");
+        final HttpEntity<LinkedMultiValueMap<String, Object>> entity = new HttpEntity<>(new LinkedMultiValueMap<>(), null);
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl + "?pageSize=5&language=en&status=VALID", HttpMethod.GET, entity, String.class, "");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+            final ArrayNode resultsArray = (ArrayNode) jsonObject.get("results");
+            assertEquals(5, resultsArray.size());
+            final String nextPage = jsonObject.get("meta").get("nextPage").asText();
+            assertTrue(nextPage.contains("language=en"));
+            assertTrue(nextPage.contains("status=VALID"));
+            final Set<String> firstPageUris = new HashSet<>();
+            resultsArray.forEach(result -> firstPageUris.add(result.get("uri").asText()));
+            final String nextPageQuery = nextPage.substring(nextPage.indexOf('?'));
+            final ResponseEntity<String> nextResponse = restTemplate.exchange(apiUrl + nextPageQuery, HttpMethod.GET, entity, String.class, "");
+            assertEquals(HttpStatus.OK, nextResponse.getStatusCode());
+            final ArrayNode nextResultsArray = (ArrayNode) mapper.readTree(nextResponse.getBody()).get("results");
+            assertTrue(nextResultsArray.size() > 0);
+            nextResultsArray.forEach(result -> {
+                assertFalse(firstPageUris.contains(result.get("uri").asText()));
+                assertEquals("VALID", result.get("status").asText());
+            });
+            final String cursor = nextPage.substring(nextPage.indexOf("cursor=") + "cursor=".length()).split("&")[0];
+            final ResponseEntity<String> mismatchResponse = restTemplate.exchange(apiUrl + "?pageSize=5&cursor=" + cursor, HttpMethod.GET, entity, String.class, "");
+            assertEquals(HttpStatus.BAD_REQUEST, mismatchResponse.getStatusCode());
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+    }
+
+    @Test
+    public void getCodesConditionalGetTest() {
+        final String apiUrl = createApiUrl(randomServerPort) + "/" + TEST_CODEREGISTRY_CODEVALUE + API_PATH_CODESCHEMES + "/" + TEST_CODESCHEME_CODEVALUE + API_PATH_CODES + "/";
+        assertNotModifiedWithEntityTag(apiUrl);
+    }
+
+    @Test
+    public void getRegistriesConditionalGetTest() {
+        assertNotModifiedWithEntityTag(createApiUrl(randomServerPort) + "/");
+    }
+
+    @Test
+    public void getCodesEntityTagVariesWithQueryTest() {
+        final String apiUrl = createApiUrl(randomServerPort) + "/" + TEST_CODEREGISTRY_CODEVALUE + API_PATH_CODESCHEMES + "/" + TEST_CODESCHEME_CODEVALUE + API_PATH_CODES + "/";
+        final ResponseEntity<byte[]> firstResponse = conditionalGet(apiUrl + "?pageSize=2", null);
+        final ResponseEntity<byte[]> secondResponse = conditionalGet(apiUrl + "?pageSize=3", null);
+        assertEquals(HttpStatus.OK, firstResponse.getStatusCode());
+        assertEquals(HttpStatus.OK, secondResponse.getStatusCode());
+        final String firstEntityTag = firstResponse.getHeaders().getETag();
+        final String secondEntityTag = secondResponse.getHeaders().getETag();
+        assertNotNull(firstEntityTag);
+        assertNotNull(secondEntityTag);
+        assertNotEquals(firstEntityTag, secondEntityTag);
+        final ResponseEntity<byte[]> crossResponse = conditionalGet(apiUrl + "?pageSize=3", firstEntityTag);
+        assertEquals(HttpStatus.OK, crossResponse.getStatusCode());
+        assertEquals(secondEntityTag, crossResponse.getHeaders().getETag());
+    }
+
+    @Test
+    public void getCodesCsvConditionalGetTest() {
+        final String apiUrl = createApiUrl(randomServerPort) + "/" + TEST_CODEREGISTRY_CODEVALUE + API_PATH_CODESCHEMES + "/" + TEST_CODESCHEME_CODEVALUE + API_PATH_CODES + "/?format=" + FORMAT_CSV;
+        final String entityTag = assertNotModifiedWithEntityTag(apiUrl);
+        final ResponseEntity<byte[]> jsonResponse = conditionalGet(createApiUrl(randomServerPort) + "/" + TEST_CODEREGISTRY_CODEVALUE + API_PATH_CODESCHEMES + "/" + TEST_CODESCHEME_CODEVALUE + API_PATH_CODES + "/", entityTag);
+        assertEquals(HttpStatus.OK, jsonResponse.getStatusCode());
+    }
+
+    @Test
+    public void getCodesExcelConditionalGetTest() {
+        final String apiUrl = createApiUrl(randomServerPort) + "/" + TEST_CODEREGISTRY_CODEVALUE + API_PATH_CODESCHEMES + "/" + TEST_CODESCHEME_CODEVALUE + API_PATH_CODES + "/?format=" + FORMAT_EXCEL_XLSX;
+        assertNotModifiedWithEntityTag(apiUrl);
+    }
+
+    private String assertNotModifiedWithEntityTag(final String apiUrl) {
+        final ResponseEntity<byte[]> response = conditionalGet(apiUrl, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().length > 0);
+        final String entityTag = response.getHeaders().getETag();
+        assertNotNull(entityTag);
+        final ResponseEntity<byte[]> notModifiedResponse = conditionalGet(apiUrl, entityTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModifiedResponse.getStatusCode());
+        assertEquals(entityTag, notModifiedResponse.getHeaders().getETag());
+        assertTrue(notModifiedResponse.getBody() == null || notModifiedResponse.getBody().length == 0);
+        return entityTag;
+    }
+
+    private ResponseEntity<byte[]> conditionalGet(final String apiUrl,
+                                                  final String entityTag) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (entityTag != null) {
+            headers.setIfNoneMatch(entityTag);
+        }
+        return restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private void assertCursorPaging(final String apiUrl) {
+        final HttpEntity<LinkedMultiValueMap<String, Object>> entity = new HttpEntity<>(new LinkedMultiValueMap<>(), null);
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, entity, String.class, "");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+            final ArrayNode resultsArray = (ArrayNode) jsonObject.get("results");
+            assertEquals(5, resultsArray.size());
+            final String nextPage = jsonObject.get("meta").get("nextPage").asText();
+            assertTrue(nextPage.contains("cursor="));
+            final String cursor = nextPage.substring(nextPage.indexOf("cursor=") + "cursor=".length()).split("&")[0];
+            final Set<String> firstPageUris = new HashSet<>();
+            resultsArray.forEach(result -> firstPageUris.add(result.get("uri").asText()));
+            final ResponseEntity<String> nextResponse = restTemplate.exchange(apiUrl + "&cursor=" + cursor, HttpMethod.GET, entity, String.class, "");
+            assertEquals(HttpStatus.OK, nextResponse.getStatusCode());
+            final ArrayNode nextResultsArray = (ArrayNode) mapper.readTree(nextResponse.getBody()).get("results");
+            assertTrue(nextResultsArray.size() > 0);
+            nextResultsArray.forEach(result -> assertFalse(firstPageUris.contains(result.get("uri").asText())));
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+    }
 }